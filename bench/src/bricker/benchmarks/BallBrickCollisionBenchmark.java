@@ -0,0 +1,61 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.ball.BallType;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures testing a single ball against the brick grid with BrickHandler.collideBall.
+ * The ball sits on top of the grid's bricks, whose strategy does nothing, so every
+ * call finds the same hits. The score should not depend on the size of the grid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BallBrickCollisionBenchmark {
+
+    private static final Vector2 BALL_CENTER = new Vector2(300, 60);
+    private static final CollisionStrategy NO_OP_STRATEGY = (thisObj, otherObj) -> { };
+
+    @Param({"8x7", "100x100", "100x1000"})
+    private String gridSize;
+
+    private GameFixture fixture;
+    private Ball ball;
+
+    /**
+     * Sets up a full grid of bricks that are never destroyed, and a ball over them.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] size = GameFixture.parseGridSize(gridSize);
+        fixture = new GameFixture();
+        fixture.brickHandler.initEmptyGrid(size[0], size[1]);
+        for (int row = 0; row < size[1]; row++) {
+            for (int col = 0; col < size[0]; col++) {
+                fixture.brickHandler.buildBrick(col, row, NO_OP_STRATEGY);
+            }
+        }
+        ball = fixture.ballFactory.build(BallType.MAIN, BALL_CENTER);
+    }
+
+    /**
+     * Tests the ball against the grid.
+     */
+    @Benchmark
+    public void collideBall() {
+        fixture.brickHandler.collideBall(ball);
+    }
+}
@@ -0,0 +1,86 @@
+package bricker.benchmarks;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.ball.BallFactory;
+import bricker.gameobjects.ball.BallType;
+import bricker.main.BrickerGameManager;
+import bricker.physics.ParallelBallUpdate;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures advancing every ball of a puck storm by a physics step, one after another on
+ * the calling thread versus split across a ForkJoinPool of the given amount of threads by
+ * ParallelBallUpdate. The parallel score should grow with the amount of cores once there
+ * are more than ParallelBallUpdate.BALLS_PER_TASK pucks; below that, both should score
+ * the same, since ParallelBallUpdate doesn't hand the pucks to the pool at all.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BallUpdateBenchmark {
+
+    private static final Vector2 SPAWN_CENTER = new Vector2(500, 300);
+
+    @Param({"16", "64", "256", "1024", "16384"})
+    private int puckCount;
+
+    @Param({"1", "4", "16"})
+    private int threads;
+
+    private final ArrayList<Ball> pucks = new ArrayList<>();
+    private ForkJoinPool pool;
+    private ParallelBallUpdate ballUpdate;
+
+    /**
+     * Sets up the game, the pool, and builds the pucks, once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        ballUpdate = new ParallelBallUpdate(pool);
+        BallFactory ballFactory = new GameFixture().ballFactory;
+        for (int i = 0; i < puckCount; i++) {
+            pucks.add(ballFactory.build(BallType.PUCK, SPAWN_CENTER));
+        }
+    }
+
+    /**
+     * Shuts the pool down once the trial is over.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Advances every puck on the calling thread.
+     */
+    @Benchmark
+    public void advanceSequentially() {
+        for (int i = 0; i < pucks.size(); i++) {
+            pucks.get(i).advance(BrickerGameManager.PHYSICS_STEP);
+        }
+    }
+
+    /**
+     * Advances every puck with ParallelBallUpdate.
+     */
+    @Benchmark
+    public void advanceInParallel() {
+        ballUpdate.advance(pucks, BrickerGameManager.PHYSICS_STEP);
+    }
+}
@@ -0,0 +1,40 @@
+package bricker.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark module. Runs every benchmark of the game (or only
+ * the ones matching a given regular expression) with the GC profiler attached, so
+ * that each result reports both throughput and allocation rate.
+ */
+public class BenchmarkRunner {
+
+    private static final String ALL_BENCHMARKS = "bricker\\.benchmarks\\..*";
+    private static final int FORKS = 1;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args Command-line arguments where:
+     *             args[0] is a regular expression selecting the benchmarks to run (optional).
+     * @throws RunnerException If JMH fails to run the benchmarks.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length >= 1 ? args[0] : ALL_BENCHMARKS;
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .forks(FORKS)
+                .warmupIterations(WARMUP_ITERATIONS)
+                .measurementIterations(MEASUREMENT_ITERATIONS)
+                .jvmArgsAppend("-Djava.awt.headless=true")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,52 @@
+package bricker.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a whole brick grid with BrickHandler.initBrickGrid.
+ * A fresh game is set up before every invocation, so that the grid is always
+ * built into an empty game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BrickGridBenchmark {
+
+    @Param({"7x8", "100x100", "1000x1000"})
+    private String gridSize;
+
+    private GameFixture fixture;
+    private int cols;
+    private int rows;
+
+    /**
+     * Sets up a fresh headless game for the next invocation, with no game object
+     * left queued.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        int[] size = GameFixture.parseGridSize(gridSize);
+        cols = size[0];
+        rows = size[1];
+        fixture = new GameFixture();
+        fixture.gameManager.flushItems();
+    }
+
+    /**
+     * Builds the whole grid.
+     */
+    @Benchmark
+    public void initBrickGrid() {
+        fixture.brickHandler.initBrickGrid(cols, rows);
+    }
+}
@@ -0,0 +1,74 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.ExplodingBrickStrategy;
+import danogl.GameObject;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full chain reaction through ExplodingBrickStrategy.onCollision:
+ * the grid is filled with exploding bricks only, and hitting the top-left one
+ * blows up the whole grid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChainReactionBenchmark {
+
+    @Param({"10x10", "30x30", "100x100"})
+    private String gridSize;
+
+    private GameFixture fixture;
+    private ExplodingBrickStrategy explodingStrategy;
+    private GameObject ball;
+    private int cols;
+    private int rows;
+
+    /**
+     * Sets up the game and the strategy once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        int[] size = GameFixture.parseGridSize(gridSize);
+        cols = size[0];
+        rows = size[1];
+        fixture = new GameFixture();
+        explodingStrategy = new ExplodingBrickStrategy(fixture.gameManager,
+                fixture.brickHandler,
+                fixture.session.getSoundReader());
+        ball = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+    }
+
+    /**
+     * Fills the grid with exploding bricks for the next invocation, and applies the
+     * game objects the last invocation and the new grid queued.
+     */
+    @Setup(Level.Invocation)
+    public void setUpInvocation() {
+        fixture.brickHandler.initEmptyGrid(cols, rows);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                fixture.brickHandler.buildBrick(col, row, explodingStrategy);
+            }
+        }
+        fixture.gameManager.flushItems();
+    }
+
+    /**
+     * Hits the top-left brick and lets the explosion spread over the whole grid.
+     */
+    @Benchmark
+    public void chainReaction() {
+        explodingStrategy.onCollision(0, 0, ball);
+    }
+}
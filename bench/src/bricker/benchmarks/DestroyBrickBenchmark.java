@@ -0,0 +1,50 @@
+package bricker.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures BrickHandler.destroyBrick by clearing a full 100x100 grid brick by brick.
+ * The score is per destroyed brick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DestroyBrickBenchmark {
+
+    private static final int COLS = 100;
+    private static final int ROWS = 100;
+
+    private GameFixture fixture;
+
+    /**
+     * Sets up a fresh, full grid for the next invocation.
+     */
+    @Setup(Level.Invocation)
+    public void setUp() {
+        fixture = new GameFixture();
+        fixture.brickHandler.initBrickGrid(COLS, ROWS);
+    }
+
+    /**
+     * Destroys every brick of the grid, row by row.
+     */
+    @Benchmark
+    @OperationsPerInvocation(COLS * ROWS)
+    public void destroyBrick() {
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                fixture.brickHandler.destroyBrick(col, row);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.StrategyHandler;
+import bricker.gameobjects.ball.BallFactory;
+import bricker.gameobjects.brick.BrickHandler;
+import bricker.gameobjects.paddle.PaddleHandler;
+import bricker.headless.HeadlessSession;
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+
+/**
+ * A headless game with freshly built handlers, shared by the benchmarks so that
+ * each of them measures the game code on its own, away from the window and the
+ * audio device.
+ */
+class GameFixture {
+
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(1050, 750);
+    //A view edge wider and taller than the grid of any benchmark.
+    private static final float WHOLE_GRID_VIEW = 1e7f;
+
+    final HeadlessSession session;
+    final BrickerGameManager gameManager;
+    final BallFactory ballFactory;
+    final PaddleHandler paddleHandler;
+    final BrickHandler brickHandler;
+
+    /**
+     * Builds a headless game whose own grid is a single brick, and a separate
+     * BrickHandler (with an uninitialized grid) for the benchmark to work on.
+     */
+    GameFixture() {
+        session = new HeadlessSession(WINDOW_DIMENSIONS, 1, 1);
+        gameManager = session.getGameManager();
+        ballFactory = gameManager.getBallFactory();
+        paddleHandler = new PaddleHandler(gameManager,
+                WINDOW_DIMENSIONS,
+                session.getInputListener(),
+                session.getImageReader());
+        brickHandler = new BrickHandler(gameManager,
+                ballFactory,
+                paddleHandler,
+                session.getSoundReader(),
+                session.getImageReader());
+    }
+
+    /**
+     * @return A new StrategyHandler wired to this fixture's handlers.
+     */
+    StrategyHandler newStrategyHandler() {
+        return new StrategyHandler(gameManager,
+                brickHandler,
+                ballFactory,
+                paddleHandler,
+                session.getSoundReader());
+    }
+
+    /**
+     * Brings every brick of the benchmark's grid into the game, however large the grid is.
+     * The BrickHandler only does so for the chunks near the view on its own.
+     */
+    void streamInGrid() {
+        brickHandler.streamChunks(0, 0, WHOLE_GRID_VIEW, WHOLE_GRID_VIEW);
+    }
+
+    /**
+     * Parses a grid size given as "COLSxROWS".
+     *
+     * @param gridSize The grid size string.
+     * @return An array holding the amount of columns and then the amount of rows.
+     */
+    static int[] parseGridSize(String gridSize) {
+        String[] parts = gridSize.split("x");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+}
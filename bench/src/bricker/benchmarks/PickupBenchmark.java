@@ -0,0 +1,84 @@
+package bricker.benchmarks;
+
+import bricker.gameobjects.pickup.PickupSystem;
+import bricker.gameobjects.pickup.PickupType;
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the life cycle of a pickup in the PickupSystem's pool: a pickup of every type
+ * is dropped right onto the main paddle, and caught (and recycled) by the next update.
+ * The power-ups the game doesn't drop yet go through the same slots as the hearts; the
+ * setup checks that every type is taken in and recycled, and refuses to run otherwise.
+ * Run it with "-prof gc": the pool allocates nothing, so whatever is allocated comes from
+ * the effects of the caught pickups (a resized paddle, a ball with a new speed).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PickupBenchmark {
+
+    private static final PickupType[] TYPES = PickupType.values();
+    //Far more pickups than the pool has slots, so that a slot that isn't recycled shows.
+    private static final int CHECKED_CYCLES = 1000;
+
+    private PickupSystem pickupSystem;
+    private Vector2 paddleCenter;
+
+    /**
+     * Sets up the game once per trial, and checks that pickups of every type are
+     * activated and recycled through the pool.
+     *
+     * @throws IllegalStateException if a pickup isn't activated, isn't recycled once
+     *                               caught, or is dropped for lack of a free slot.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        BrickerGameManager gameManager = new GameFixture().gameManager;
+        pickupSystem = gameManager.getPickupSystem();
+        paddleCenter = gameManager.getUserPaddle().getCenter();
+
+        for (int cycle = 0; cycle < CHECKED_CYCLES; cycle++) {
+            for (PickupType type : TYPES) {
+                pickupSystem.spawn(type, paddleCenter);
+                if (pickupSystem.getActiveCount() != 1 || pickupSystem.getActiveType(0) != type) {
+                    throw new IllegalStateException("A " + type + " pickup wasn't activated");
+                }
+                pickupSystem.update(BrickerGameManager.PHYSICS_STEP);
+                if (pickupSystem.getActiveCount() != 0) {
+                    throw new IllegalStateException("A caught " + type + " pickup wasn't recycled");
+                }
+            }
+            //Catching hearts adds hearts to the panel, until the player's HP are full.
+            gameManager.flushItems();
+        }
+        if (pickupSystem.getDroppedCount() != 0) {
+            throw new IllegalStateException(pickupSystem.getDroppedCount() + " pickups found no free slot");
+        }
+    }
+
+    /**
+     * Drops a pickup of every type onto the main paddle, and catches them all in a single
+     * update.
+     *
+     * @return The amount of pickups still falling, so that the work is not optimized away.
+     */
+    @Benchmark
+    public int spawnAndCatch() {
+        for (PickupType type : TYPES) {
+            pickupSystem.spawn(type, paddleCenter);
+        }
+        pickupSystem.update(BrickerGameManager.PHYSICS_STEP);
+        return pickupSystem.getActiveCount();
+    }
+}
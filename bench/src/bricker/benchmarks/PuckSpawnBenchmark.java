@@ -0,0 +1,52 @@
+package bricker.benchmarks;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.ball.BallFactory;
+import bricker.gameobjects.ball.BallType;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the life cycle of a puck as ExtraPucksStrategy drives it: two pucks are
+ * built by the BallFactory, and both are handed back once they leave the screen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PuckSpawnBenchmark {
+
+    private static final Vector2 SPAWN_CENTER = new Vector2(500, 300);
+
+    private BallFactory ballFactory;
+
+    /**
+     * Sets up the game, and with it the BallFactory, once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        ballFactory = new GameFixture().ballFactory;
+    }
+
+    /**
+     * Builds two pucks and releases them.
+     *
+     * @return The second puck, so that the work is not optimized away.
+     */
+    @Benchmark
+    public Ball spawnAndReleasePucks() {
+        Ball firstPuck = ballFactory.build(BallType.PUCK, SPAWN_CENTER);
+        Ball secondPuck = ballFactory.build(BallType.PUCK, SPAWN_CENTER);
+        ballFactory.release(firstPuck);
+        ballFactory.release(secondPuck);
+        return secondPuck;
+    }
+}
@@ -0,0 +1,173 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.CollisionStrategy;
+import bricker.brick_strategies.DoubleStrategy;
+import bricker.brick_strategies.StrategyHandler;
+import bricker.gameobjects.Brick;
+import bricker.snapshot.GameSnapshot;
+import danogl.GameObject;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures picking a strategy for a new brick with StrategyHandler.generate, and
+ * hitting a brick that holds a DoubleStrategy: either through the DoubleStrategy itself,
+ * which chooses its strategies on every hit, or the way the game does, through a brick
+ * whose strategies were chosen when it was built.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StrategyBenchmark {
+
+    private static final int GRID_EDGE = 100;
+    private static final int DOUBLE_BRICKS_PER_EDGE = GRID_EDGE / 2;
+
+    private StrategyHandler strategyHandler;
+    private final GameObject ball = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+
+    /**
+     * Sets up the game and the strategies once per trial.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        strategyHandler = new GameFixture().newStrategyHandler();
+    }
+
+    /**
+     * Draws a single strategy for a new brick.
+     *
+     * @return The drawn strategy.
+     */
+    @Benchmark
+    public CollisionStrategy generate() {
+        return strategyHandler.generate();
+    }
+
+    /**
+     * Hits every brick of the grid with a DoubleStrategy.
+     *
+     * @param grid The freshly built grid of the invocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DOUBLE_BRICKS_PER_EDGE * DOUBLE_BRICKS_PER_EDGE)
+    public void doubleStrategyOnCollision(SparseGrid grid) {
+        for (Brick brick : grid.bricks) {
+            grid.doubleStrategy.onCollision(brick, ball);
+        }
+    }
+
+    /**
+     * Hits every brick of a grid built with the DoubleStrategy, through BrickHandler.hitBrick.
+     *
+     * @param grid The freshly built grid of the invocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(DOUBLE_BRICKS_PER_EDGE * DOUBLE_BRICKS_PER_EDGE)
+    public void resolvedDoubleOnCollision(ResolvedDoubleGrid grid) {
+        for (Brick brick : grid.bricks) {
+            grid.fixture.brickHandler.hitBrick(brick, ball);
+        }
+    }
+
+    /**
+     * A grid with a brick on every other column of every other row, so that no two
+     * bricks are neighbors and an explosion never spreads to another brick.
+     * The grid lives in a game of its own, and is rebuilt before every invocation of the
+     * benchmarks that use it, along with the game, so that the pucks and paddles the hits
+     * spawned don't pile up.
+     */
+    @State(Scope.Thread)
+    public static class SparseGrid {
+
+        final Brick[] bricks = new Brick[DOUBLE_BRICKS_PER_EDGE * DOUBLE_BRICKS_PER_EDGE];
+        GameFixture fixture;
+        DoubleStrategy doubleStrategy;
+        private GameSnapshot emptyRound;
+
+        /**
+         * Sets up the grid's game once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUpTrial() {
+            fixture = new GameFixture();
+            doubleStrategy = new DoubleStrategy(fixture.gameManager,
+                    fixture.brickHandler,
+                    fixture.ballFactory,
+                    fixture.paddleHandler,
+                    fixture.session.getSoundReader());
+            emptyRound = fixture.gameManager.takeSnapshot();
+        }
+
+        /**
+         * Rebuilds the grid with basic bricks, and brings them into the game.
+         */
+        @Setup(Level.Invocation)
+        public void setUp() {
+            build(fixture.brickHandler.getStrategyHandler().getStrategy(StrategyHandler.BASIC_ID));
+        }
+
+        /**
+         * Puts the game back as it was, and rebuilds the grid with bricks of a strategy.
+         *
+         * @param strategy The strategy every brick is built with.
+         */
+        void build(CollisionStrategy strategy) {
+            fixture.gameManager.restoreSnapshot(emptyRound);
+            fixture.brickHandler.initEmptyGrid(GRID_EDGE, GRID_EDGE);
+            int i = 0;
+            for (int row = 0; row < GRID_EDGE; row += 2) {
+                for (int col = 0; col < GRID_EDGE; col += 2) {
+                    fixture.brickHandler.buildBrick(col, row, strategy);
+                }
+            }
+            fixture.streamInGrid();
+            for (int row = 0; row < GRID_EDGE; row += 2) {
+                for (int col = 0; col < GRID_EDGE; col += 2) {
+                    bricks[i++] = fixture.brickHandler.getBrick(col, row);
+                }
+            }
+        }
+    }
+
+    /**
+     * A SparseGrid whose bricks are built with the DoubleStrategy, so that each of them
+     * has its strategies chosen once, when it is built.
+     */
+    @State(Scope.Thread)
+    public static class ResolvedDoubleGrid {
+
+        final SparseGrid grid = new SparseGrid();
+        Brick[] bricks;
+        GameFixture fixture;
+
+        /**
+         * Sets up the grid's game once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUpTrial() {
+            grid.setUpTrial();
+            bricks = grid.bricks;
+            fixture = grid.fixture;
+        }
+
+        /**
+         * Rebuilds the grid, and brings its bricks into the game.
+         */
+        @Setup(Level.Invocation)
+        public void setUp() {
+            StrategyHandler strategyHandler = fixture.brickHandler.getStrategyHandler();
+            grid.build(strategyHandler.getStrategy(StrategyHandler.DOUBLE_ID));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package bricker.benchmarks;
+
+import bricker.brick_strategies.StrategyHandler;
+import bricker.gameobjects.Brick;
+import bricker.gameobjects.brick.BrickHandler;
+import danogl.GameObject;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatching brick hits by the bricks' strategy ids. switchDispatch goes through
+ * BrickHandler.hitBrick, like the game does, and interfaceDispatch calls the strategy
+ * objects through the CollisionStrategy interface, like the bricks did when each of them
+ * held its strategy. The bricks' strategies are mixed, so the interface call site sees
+ * several classes. materialize brings the bricks of a dormant grid into the game; run it
+ * with "-prof gc", whose alloc.rate.norm is then the bytes allocated per live brick (a
+ * dormant brick takes a single byte, its strategy id). The same figure for the dispatch
+ * benchmarks is their setup's, which brings the bricks in. emptyCellDispatch has no setup
+ * per invocation, so its alloc.rate.norm is that of a dispatch alone: the StrategyEvent
+ * every hit runs in, which with no recording never escapes and is scalar-replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StrategyDispatchBenchmark {
+
+    private static final int GRID_EDGE = 100;
+    private static final int SPARSE_BRICKS = (GRID_EDGE / 2) * (GRID_EDGE / 2);
+    //Strategies whose hits add at most a single object to the game, so invocations don't pile them up.
+    private static final byte[] STRATEGY_IDS = {
+            StrategyHandler.BASIC_ID,
+            StrategyHandler.EXPLODING_ID,
+            StrategyHandler.BASIC_ID,
+            StrategyHandler.EXTRA_PADDLE_ID
+    };
+
+    private final GameObject ball = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+
+    /**
+     * Hits every brick of the grid through BrickHandler.hitBrick.
+     *
+     * @param grid The freshly built grid of the invocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SPARSE_BRICKS)
+    public void switchDispatch(LiveGrid grid) {
+        for (Brick brick : grid.bricks) {
+            grid.brickHandler.hitBrick(brick, ball);
+        }
+    }
+
+    /**
+     * Hits every brick of the grid through the CollisionStrategy interface.
+     *
+     * @param grid The freshly built grid of the invocation.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SPARSE_BRICKS)
+    public void interfaceDispatch(LiveGrid grid) {
+        for (Brick brick : grid.bricks) {
+            grid.strategyHandler.getStrategy(brick.getStrategyId()).onCollision(brick, ball);
+        }
+    }
+
+    /**
+     * Brings every brick of a dormant grid into the game.
+     *
+     * @param grid The freshly built grid of the invocation, which is still dormant.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SPARSE_BRICKS)
+    public void materialize(SparseGrid grid) {
+        grid.fixture.streamInGrid();
+    }
+
+    /**
+     * Dispatches a hit on every cell of an empty grid through StrategyHandler.onCollision,
+     * so that only the dispatch itself, and the StrategyEvent it runs the strategy in, is
+     * measured.
+     *
+     * @param grid The empty grid.
+     */
+    @Benchmark
+    @OperationsPerInvocation(GRID_EDGE * GRID_EDGE)
+    public void emptyCellDispatch(EmptyGrid grid) {
+        for (int row = 0; row < GRID_EDGE; row++) {
+            for (int col = 0; col < GRID_EDGE; col++) {
+                grid.strategyHandler.onCollision(StrategyHandler.BASIC_ID, col, row, ball);
+            }
+        }
+    }
+
+    /**
+     * A grid with a brick on every other column of every other row, so that no two bricks
+     * are neighbors and an explosion never spreads to another brick. The grid lives in a
+     * game of its own, and is rebuilt before every invocation of the benchmarks that use it,
+     * with none of its bricks in the game yet.
+     */
+    @State(Scope.Thread)
+    public static class SparseGrid {
+
+        GameFixture fixture;
+
+        /**
+         * Sets up the grid's game once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUpTrial() {
+            fixture = new GameFixture();
+        }
+
+        /**
+         * Rebuilds the grid, and applies the game objects queued since the last invocation.
+         */
+        @Setup(Level.Invocation)
+        public void setUp() {
+            StrategyHandler strategyHandler = fixture.brickHandler.getStrategyHandler();
+            fixture.brickHandler.initEmptyGrid(GRID_EDGE, GRID_EDGE);
+            int i = 0;
+            for (int row = 0; row < GRID_EDGE; row += 2) {
+                for (int col = 0; col < GRID_EDGE; col += 2) {
+                    byte id = STRATEGY_IDS[i % STRATEGY_IDS.length];
+                    fixture.brickHandler.buildBrick(col, row, strategyHandler.getStrategy(id));
+                    i++;
+                }
+            }
+            fixture.gameManager.flushItems();
+        }
+    }
+
+    /**
+     * A SparseGrid whose bricks are all brought into the game when it is rebuilt.
+     */
+    @State(Scope.Thread)
+    public static class LiveGrid {
+
+        final SparseGrid grid = new SparseGrid();
+        final Brick[] bricks = new Brick[SPARSE_BRICKS];
+        BrickHandler brickHandler;
+        StrategyHandler strategyHandler;
+
+        /**
+         * Sets up the grid's game once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUpTrial() {
+            grid.setUpTrial();
+            brickHandler = grid.fixture.brickHandler;
+            strategyHandler = brickHandler.getStrategyHandler();
+        }
+
+        /**
+         * Rebuilds the grid, and brings its bricks in.
+         */
+        @Setup(Level.Invocation)
+        public void setUp() {
+            grid.setUp();
+            grid.fixture.streamInGrid();
+            int i = 0;
+            for (int row = 0; row < GRID_EDGE; row += 2) {
+                for (int col = 0; col < GRID_EDGE; col += 2) {
+                    bricks[i++] = brickHandler.getBrick(col, row);
+                }
+            }
+        }
+    }
+
+    /**
+     * A grid without bricks, which stays empty however many times it's hit.
+     */
+    @State(Scope.Thread)
+    public static class EmptyGrid {
+
+        StrategyHandler strategyHandler;
+
+        /**
+         * Sets up the grid's game once per trial.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            GameFixture fixture = new GameFixture();
+            fixture.brickHandler.initEmptyGrid(GRID_EDGE, GRID_EDGE);
+            strategyHandler = fixture.brickHandler.getStrategyHandler();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package bricker.assets;
+
+import danogl.gui.ImageReader;
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AssetCache keeps every image and sound the game reads for the whole run of the program,
+ * so resetting the game ("Play again?") reads nothing from the disk again, and an asset
+ * used in several places (like the explosion sound) is only read once.
+ * Assets are keyed by their path (and, for images, by whether their top-left pixel is
+ * transparent). Images can also be preloaded: every image in a directory is decoded in
+ * parallel, in the background, and reading an image still being decoded waits for it.
+ * Preloaded sprites are packed into a single TextureAtlas, so reading one of them returns
+ * its AtlasRegion, and every sprite is drawn from the same image.
+ * Sounds can only be made by a SoundReader, which doesn't exist before the game window
+ * does, so they are read (once) the first time they are requested.
+ */
+public class AssetCache {
+
+    private static final String[] IMAGE_EXTENSIONS = {".png", ".jpg", ".jpeg"};
+
+    private static final ConcurrentHashMap<String, CompletableFuture<Renderable>> images =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Sound> sounds = new ConcurrentHashMap<>();
+
+    private AssetCache() {
+    }
+
+    /**
+     * Starts decoding every image in a directory in parallel, without waiting for them.
+     * Every image is preloaded with its top-left pixel transparent, which is how the game
+     * reads all of its images. Once all the given sprites are decoded, they are packed
+     * into a texture atlas.
+     *
+     * @param directoryPath The path of the directory holding the images, such as "assets".
+     * @param spriteNames   The file names of the images to pack into the atlas.
+     */
+    public static void preloadImages(String directoryPath, String... spriteNames) {
+        List<String> spriteNameList = Arrays.asList(spriteNames);
+        ArrayList<String> spritePaths = new ArrayList<>();
+        ArrayList<CompletableFuture<BufferedImage>> decodedSprites = new ArrayList<>();
+
+        File[] files = new File(directoryPath).listFiles();
+        if (files == null) {
+            System.err.println("The asset directory " + directoryPath + " couldn't be listed.");
+            return;
+        }
+        for (File file : files) {
+            if (!isImage(file.getName())) {
+                continue;
+            }
+            String path = directoryPath + "/" + file.getName();
+            String key = imageKey(path, true);
+            if (images.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<BufferedImage> decoded =
+                    CompletableFuture.supplyAsync(() -> decodeImage(file));
+            if (spriteNameList.contains(file.getName())) {
+                spritePaths.add(path);
+                decodedSprites.add(decoded);
+            } else {
+                images.put(key, decoded.thenApply(ImageRenderable::new));
+            }
+        }
+
+        //Every sprite waits for the atlas, which waits for all of the sprites to be decoded.
+        CompletableFuture<TextureAtlas> atlas = CompletableFuture
+                .allOf(decodedSprites.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> {
+                    HashMap<String, BufferedImage> sprites = new HashMap<>();
+                    for (int i = 0; i < spritePaths.size(); i++) {
+                        sprites.put(spritePaths.get(i), decodedSprites.get(i).join());
+                    }
+                    return TextureAtlas.pack(sprites);
+                });
+        for (String spritePath : spritePaths) {
+            images.put(imageKey(spritePath, true),
+                    atlas.thenApply(packed -> packed.region(spritePath)));
+        }
+    }
+
+    /**
+     * Reads an image, or returns it from the cache if it was read (or preloaded) before.
+     *
+     * @param imageReader               The reader to read the image with if it isn't cached.
+     * @param imageFilePath             The path of the image file.
+     * @param isTopLeftPixelTransparent Whether the color of the top-left pixel should be
+     *                                  transparent throughout the image.
+     * @return The image.
+     */
+    public static Renderable readImage(ImageReader imageReader,
+                                       String imageFilePath,
+                                       boolean isTopLeftPixelTransparent) {
+        String key = imageKey(imageFilePath, isTopLeftPixelTransparent);
+        CompletableFuture<Renderable> image = images.computeIfAbsent(key,
+                k -> CompletableFuture.completedFuture(
+                        imageReader.readImage(imageFilePath, isTopLeftPixelTransparent)));
+        try {
+            return image.join();
+        } catch (CompletionException e) {
+            //The preloader failed to decode the image, so the reader gets to try instead.
+            Renderable renderable = imageReader.readImage(imageFilePath, isTopLeftPixelTransparent);
+            images.put(key, CompletableFuture.completedFuture(renderable));
+            return renderable;
+        }
+    }
+
+    /**
+     * Reads a sound, or returns it from the cache if it was read before.
+     *
+     * @param soundReader   The reader to read the sound with if it isn't cached.
+     * @param soundFilePath The path of the sound file.
+     * @return The sound, or null if the reader couldn't provide it.
+     */
+    public static Sound readSound(SoundReader soundReader, String soundFilePath) {
+        Sound sound = sounds.get(soundFilePath);
+        if (sound == null) {
+            sound = soundReader.readSound(soundFilePath);
+            if (sound != null) {
+                sounds.put(soundFilePath, sound);
+            }
+        }
+        return sound;
+    }
+
+    private static String imageKey(String imageFilePath, boolean isTopLeftPixelTransparent) {
+        return isTopLeftPixelTransparent ? imageFilePath + "#transparent" : imageFilePath;
+    }
+
+    private static boolean isImage(String fileName) {
+        String lowerCaseName = fileName.toLowerCase();
+        for (String extension : IMAGE_EXTENSIONS) {
+            if (lowerCaseName.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BufferedImage decodeImage(File file) {
+        BufferedImage decoded;
+        try {
+            decoded = ImageIO.read(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (decoded == null) {
+            throw new UncheckedIOException(new IOException("Unsupported image format: " + file));
+        }
+
+        //Every pixel of the top-left pixel's color becomes transparent.
+        BufferedImage image = new BufferedImage(decoded.getWidth(),
+                decoded.getHeight(),
+                BufferedImage.TYPE_INT_ARGB);
+        image.getGraphics().drawImage(decoded, 0, 0, null);
+        int transparentColor = image.getRGB(0, 0);
+        int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+        for (int i = 0; i < pixels.length; i++) {
+            if (pixels[i] == transparentColor) {
+                pixels[i] = 0;
+            }
+        }
+        image.setRGB(0, 0, image.getWidth(), image.getHeight(), pixels, 0, image.getWidth());
+        return image;
+    }
+}
@@ -0,0 +1,104 @@
+package bricker.assets;
+
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * A single sprite within a TextureAtlas. It's drawn by copying its part of the
+ * atlas' image, so every region of an atlas draws from the same image.
+ */
+public class AtlasRegion implements Renderable {
+
+    private final BufferedImage atlasImage;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+
+    /**
+     * Constructs a region of an atlas' image.
+     *
+     * @param atlasImage The image of the atlas.
+     * @param x          The left edge of the region within the image.
+     * @param y          The top edge of the region within the image.
+     * @param width      The width of the region.
+     * @param height     The height of the region.
+     */
+    AtlasRegion(BufferedImage atlasImage, int x, int y, int width, int height) {
+        this.atlasImage = atlasImage;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Draws the region, stretched over the given rectangle.
+     *
+     * @param g                       The graphics to draw on.
+     * @param topLeftCorner           The top-left corner of the drawn rectangle.
+     * @param dimensions              The dimensions of the drawn rectangle.
+     * @param degreesCounterClockwise The rotation of the drawn rectangle around its center.
+     * @param isFlippedHorizontally   Whether the region is drawn mirrored horizontally.
+     * @param isFlippedVertically     Whether the region is drawn mirrored vertically.
+     * @param opaqueness              The opaqueness of the drawing, between 0 and 1.
+     */
+    @Override
+    public void render(Graphics2D g,
+                       Vector2 topLeftCorner,
+                       Vector2 dimensions,
+                       double degreesCounterClockwise,
+                       boolean isFlippedHorizontally,
+                       boolean isFlippedVertically,
+                       double opaqueness) {
+        int left = Math.round(topLeftCorner.x());
+        int top = Math.round(topLeftCorner.y());
+        int right = Math.round(topLeftCorner.x() + dimensions.x());
+        int bottom = Math.round(topLeftCorner.y() + dimensions.y());
+
+        //The common case (no rotation, no transparency) draws without touching the graphics' state.
+        if (degreesCounterClockwise == 0 && opaqueness >= 1) {
+            draw(g, left, top, right, bottom, isFlippedHorizontally, isFlippedVertically);
+            return;
+        }
+
+        AffineTransform transform = g.getTransform();
+        Composite composite = g.getComposite();
+        if (degreesCounterClockwise != 0) {
+            g.rotate(-Math.toRadians(degreesCounterClockwise), (left + right) / 2.0, (top + bottom) / 2.0);
+        }
+        if (opaqueness < 1) {
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+                    (float) Math.max(0, opaqueness)));
+        }
+        draw(g, left, top, right, bottom, isFlippedHorizontally, isFlippedVertically);
+        g.setTransform(transform);
+        g.setComposite(composite);
+    }
+
+    private void draw(Graphics2D g,
+                      int left,
+                      int top,
+                      int right,
+                      int bottom,
+                      boolean isFlippedHorizontally,
+                      boolean isFlippedVertically) {
+        //Swapping the destination's edges mirrors the drawing.
+        g.drawImage(atlasImage,
+                isFlippedHorizontally ? right : left,
+                isFlippedVertically ? bottom : top,
+                isFlippedHorizontally ? left : right,
+                isFlippedVertically ? top : bottom,
+                x,
+                y,
+                x + width,
+                y + height,
+                null);
+    }
+}
@@ -0,0 +1,80 @@
+package bricker.assets;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A TextureAtlas packs several sprites into a single image, so that drawing any of them
+ * draws from the same image. Sprites are packed in rows (shelves): they are sorted from
+ * the tallest to the shortest, and placed left to right, starting a new row once a
+ * sprite doesn't fit the current one.
+ */
+public class TextureAtlas {
+
+    private static final int ATLAS_WIDTH = 512;
+    private static final int PADDING = 1;
+
+    private final HashMap<String, AtlasRegion> regions = new HashMap<>();
+
+    private TextureAtlas() {
+    }
+
+    /**
+     * Packs a set of sprites into a new atlas.
+     *
+     * @param sprites The sprites to pack, keyed by the name their region will be found by.
+     * @return The atlas holding every sprite.
+     */
+    public static TextureAtlas pack(Map<String, BufferedImage> sprites) {
+        ArrayList<String> names = new ArrayList<>(sprites.keySet());
+        names.sort((first, second) -> sprites.get(second).getHeight() - sprites.get(first).getHeight());
+
+        //Find every sprite's place first, to know how tall the atlas should be.
+        int width = ATLAS_WIDTH;
+        for (BufferedImage sprite : sprites.values()) {
+            width = Math.max(width, sprite.getWidth() + PADDING);
+        }
+        int[] xs = new int[names.size()];
+        int[] ys = new int[names.size()];
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        for (int i = 0; i < names.size(); i++) {
+            BufferedImage sprite = sprites.get(names.get(i));
+            if (x + sprite.getWidth() > width) {
+                x = 0;
+                y += rowHeight + PADDING;
+                rowHeight = 0;
+            }
+            xs[i] = x;
+            ys[i] = y;
+            x += sprite.getWidth() + PADDING;
+            rowHeight = Math.max(rowHeight, sprite.getHeight());
+        }
+
+        BufferedImage image = new BufferedImage(width,
+                Math.max(1, y + rowHeight),
+                BufferedImage.TYPE_INT_ARGB);
+        TextureAtlas atlas = new TextureAtlas();
+        Graphics2D g = image.createGraphics();
+        for (int i = 0; i < names.size(); i++) {
+            BufferedImage sprite = sprites.get(names.get(i));
+            g.drawImage(sprite, xs[i], ys[i], null);
+            atlas.regions.put(names.get(i),
+                    new AtlasRegion(image, xs[i], ys[i], sprite.getWidth(), sprite.getHeight()));
+        }
+        g.dispose();
+        return atlas;
+    }
+
+    /**
+     * @param name The name a sprite was packed by.
+     * @return The sprite's region in the atlas, or null if no such sprite was packed.
+     */
+    public AtlasRegion region(String name) {
+        return regions.get(name);
+    }
+}
@@ -0,0 +1,199 @@
+package bricker.audio;
+
+import danogl.gui.Sound;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * The AudioMixer plays the game's sound effects on its own thread, so the game's update
+ * loop never waits for audio. Sounds are requested throughout a frame and dispatched
+ * once the frame ends:
+ * - A sound requested several times in the same frame is only played once.
+ * - At most MAX_VOICES sounds are assumed to be playing at once. Every sound is counted
+ *   as playing for VOICE_DURATION_NANOS, and a sound requested while every voice is
+ *   taken is dropped.
+ * - While merging is on, a sound requested while it's still playing (on a voice that
+ *   isn't over yet) is merged into it rather than played again, which the game turns on
+ *   when its frames run over their budget (see bricker.main.FrameBudgetGovernor).
+ * The playback thread is only started once the first sound is dispatched, so a game
+ * without sounds (a headless one, for example) never starts it.
+ */
+public class AudioMixer {
+
+    /**
+     * The maximal amount of sounds playing at the same time.
+     */
+    public static final int MAX_VOICES = 8;
+    private static final long VOICE_DURATION_NANOS = 250_000_000L;
+    private static final int MAX_SOUNDS_PER_FRAME = 16;
+
+    private final Sound[] frameSounds = new Sound[MAX_SOUNDS_PER_FRAME];
+    private int frameSoundCount = 0;
+    private final long[] voiceEndTimes = new long[MAX_VOICES];
+    private final Sound[] voiceSounds = new Sound[MAX_VOICES];
+    private boolean merging = false;
+
+    private final ArrayBlockingQueue<Sound> playbackQueue = new ArrayBlockingQueue<>(MAX_VOICES);
+    private Thread playbackThread;
+
+    private long requestedCount = 0;
+    private long playedCount = 0;
+    private long droppedCount = 0;
+    private long mergedCount = 0;
+
+    /**
+     * Constructs an AudioMixer with every voice free.
+     */
+    public AudioMixer() {
+        long now = System.nanoTime();
+        for (int i = 0; i < MAX_VOICES; i++) {
+            voiceEndTimes[i] = now;
+        }
+    }
+
+    /**
+     * Requests a sound to be played once the current frame ends.
+     *
+     * @param sound The sound to play. Null sounds (sounds that couldn't be read) are ignored.
+     */
+    public void play(Sound sound) {
+        if (sound == null) {
+            return;
+        }
+        requestedCount++;
+        for (int i = 0; i < frameSoundCount; i++) {
+            if (frameSounds[i] == sound) {
+                return;
+            }
+        }
+        if (frameSoundCount == MAX_SOUNDS_PER_FRAME) {
+            droppedCount++;
+            return;
+        }
+        frameSounds[frameSoundCount++] = sound;
+    }
+
+    /**
+     * Dispatches the sounds requested during the frame to the playback thread, as long as
+     * there are free voices for them. Expected to be called once at the end of every frame.
+     */
+    public void endFrame() {
+        if (frameSoundCount == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < frameSoundCount; i++) {
+            if (merging && isPlaying(frameSounds[i], now)) {
+                mergedCount++;
+            } else {
+                int voice = freeVoice(now);
+                //A voice is only taken once the sound is actually queued for playback.
+                if (voice >= 0 && playbackQueue.offer(frameSounds[i])) {
+                    voiceEndTimes[voice] = now + VOICE_DURATION_NANOS;
+                    voiceSounds[voice] = frameSounds[i];
+                    playedCount++;
+                    startPlaybackThread();
+                } else {
+                    droppedCount++;
+                }
+            }
+            frameSounds[i] = null;
+        }
+        frameSoundCount = 0;
+    }
+
+    /**
+     * Drops the sounds requested during the current frame without playing them.
+     */
+    public void clearFrame() {
+        for (int i = 0; i < frameSoundCount; i++) {
+            frameSounds[i] = null;
+        }
+        frameSoundCount = 0;
+    }
+
+    /**
+     * Turns merging a sound into the same sound still playing on or off.
+     *
+     * @param merging True to merge the sounds from now on.
+     */
+    public void setMerging(boolean merging) {
+        this.merging = merging;
+    }
+
+    /**
+     * Stops the playback thread. Sounds requested afterwards start it again.
+     */
+    public void close() {
+        if (playbackThread != null) {
+            playbackThread.interrupt();
+            playbackThread = null;
+        }
+        playbackQueue.clear();
+    }
+
+    /**
+     * @return The amount of times a sound was requested.
+     */
+    public long getRequestedCount() {
+        return requestedCount;
+    }
+
+    /**
+     * @return The amount of sounds handed to the playback thread.
+     */
+    public long getPlayedCount() {
+        return playedCount;
+    }
+
+    /**
+     * @return The amount of sounds dropped because no voice was free for them.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * @return The amount of sounds merged into the same sound still playing.
+     */
+    public long getMergedCount() {
+        return mergedCount;
+    }
+
+    private int freeVoice(long now) {
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceEndTimes[i] - now <= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isPlaying(Sound sound, long now) {
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceSounds[i] == sound && voiceEndTimes[i] - now > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void startPlaybackThread() {
+        if (playbackThread != null) {
+            return;
+        }
+        playbackThread = new Thread(this::playbackLoop, "bricker-audio");
+        playbackThread.setDaemon(true);
+        playbackThread.start();
+    }
+
+    private void playbackLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                playbackQueue.take().play();
+            }
+        } catch (InterruptedException e) {
+            //The mixer was closed.
+        }
+    }
+}
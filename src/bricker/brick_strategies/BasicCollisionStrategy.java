@@ -29,9 +29,8 @@ public class BasicCollisionStrategy implements CollisionStrategy {
 
     /**
      * Handles the collision of a game object with another object in the game.
-     * We fully expect the object involved in the collision is a brick. This method destroys the brick
-     * by downcasting and giving the operation to the BrickHandler instance, based on the brick's row
-     * and column position in the game grid.
+     * We fully expect the object involved in the collision is a brick. This method hands the
+     * brick's row and column position in the game grid to onCollision(int, int, GameObject).
      *
      * @param thisObj The current game object involved in the collision, expected to be a Brick.
      *                If null, no action is performed.
@@ -47,6 +46,25 @@ public class BasicCollisionStrategy implements CollisionStrategy {
         }
 
         Brick brick = (Brick) thisObj;
-        brickHandler.destroyBrick(brick.getCol(), brick.getRow());
+        onCollision(brick.getCol(), brick.getRow(), otherObj);
+    }
+
+    /**
+     * Handles a hit on the brick in a cell of the grid. The brick doesn't need to exist as
+     * a Brick object (its chunk may be dormant), so this is how the BrickHandler dispatches
+     * hits. This method destroys the brick by giving the operation to the BrickHandler
+     * instance. Subclasses add their behavior by overriding this method.
+     *
+     * @param col      The column of the hit brick in the game grid.
+     * @param row      The row of the hit brick in the game grid.
+     * @param otherObj The other game object involved in the collision.
+     *                 If null, no action is performed.
+     */
+    public void onCollision(int col, int row, GameObject otherObj) {
+        if (otherObj == null) {
+            return;
+        }
+
+        brickHandler.destroyBrick(col, row);
     }
 }
@@ -5,10 +5,9 @@ import bricker.gameobjects.brick.BrickHandler;
 import bricker.gameobjects.paddle.PaddleHandler;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.gui.ImageReader;
 import danogl.gui.SoundReader;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -22,14 +21,15 @@ import java.util.Random;
  * - DoubleStrategy itself: Applies more strategies
  * When DoubleStrategy itself is selected as one of the strategies, it is replaced
  * with up to two new randomly chosen strategies, while ensuring the total number
- * of applied strategies never exceeds three (MAX_FEATURED_STRATEGIES).
+ * of applied strategies never exceeds the cap of the game's StrategyWeights (three,
+ * by default).
+ * A strategy chosen more than once is only executed once.
  */
 public class DoubleStrategy extends BasicCollisionStrategy {
 
-    private static final int MAX_FEATURED_STRATEGIES = 3;
-
-    private Random rand;
-    private final CollisionStrategy[] availableStrategies;
+    private final Random rand;
+    private final int maxFeaturedStrategies;
+    private final BasicCollisionStrategy[] availableStrategies;
 
     /**
      * Constructs a DoubleStrategy instance with a set of collision strategies
@@ -40,80 +40,109 @@ public class DoubleStrategy extends BasicCollisionStrategy {
      * @param ballFactory        the factory for creating and initializing ball instances
      * @param paddleHandler      the handler responsible for managing paddles in the game
      * @param soundReader        the reader for managing and playing sound effects
-     * @param imageReader        the reader for managing and rendering images
      */
     public DoubleStrategy(BrickerGameManager brickerGameManager,
                           BrickHandler brickHandler,
                           BallFactory ballFactory,
                           PaddleHandler paddleHandler,
-                          SoundReader soundReader,
-                          ImageReader imageReader) {
+                          SoundReader soundReader) {
         super(brickHandler);
 
-        rand = new Random();
-        availableStrategies = new CollisionStrategy[]{
+        rand = brickerGameManager.getRandom();
+        maxFeaturedStrategies = brickerGameManager.getStrategyWeights().getMaxFeaturedStrategies();
+        availableStrategies = new BasicCollisionStrategy[]{
                 new ExtraPucksStrategy(brickerGameManager,
                         brickHandler,
                         ballFactory),
                 new ExtraPaddleStrategy(brickerGameManager,
                         brickHandler,
                         paddleHandler),
-                new ExplodingBrickStrategy(brickHandler, soundReader),
+                new ExplodingBrickStrategy(brickerGameManager,
+                        brickHandler,
+                        soundReader),
                 new HealthBonusStrategy(brickHandler,
-                        brickerGameManager,
-                        imageReader),
+                        brickerGameManager),
                 this
         };
     }
 
     /**
-     * Handles the collision between the current game object and another game object
-     * by applying a combination of collision strategies.
-     * This method selects up to two random sub-strategies from the set of available strategies
-     * to define the behavior during a collision.
-     * If the current strategy is selected, it is replaced by additional strategies.
+     * Handles a hit on the brick in a cell of the grid by applying a combination of
+     * collision strategies, drawn anew for this hit.
+     * Bricks the game builds don't come here: their strategies are drawn once, when the
+     * brick is built (see StrategyHandler.resolve), so that a hit draws nothing.
      *
-     * @param thisObj The current game object involved in the collision, expected to be a brick.
-     *                If null, no action is performed.
+     * @param col      The column of the hit brick in the game grid.
+     * @param row      The row of the hit brick in the game grid.
      * @param otherObj The other game object involved in the collision.
      *                 If null, no action is performed.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        super.onCollision(thisObj, otherObj);
-
-        ArrayList<CollisionStrategy> strategies = new ArrayList<>();
-
-        //Randomly choose both sub-strategies of the DoubleStrategy.
-        while (strategies.size() < 2) {
-            int index = rand.nextInt(availableStrategies.length);
-            strategies.add(availableStrategies[index]);
+    public void onCollision(int col, int row, GameObject otherObj) {
+        super.onCollision(col, row, otherObj);
+        //A buffer of its own, since the chosen strategies may hit other bricks with this strategy.
+        int[] featured = new int[maxFeaturedStrategies];
+        int count = drawFeatured(featured);
+        for (int i = 0; i < count; i++) {
+            StrategyHandler.activate(availableStrategies[featured[i]], col, row, otherObj);
         }
+    }
 
-        //Count how many times we chose DoubleStrategy, and remove it
-        // from the ArrayList in order to later replace it with (at most)
-        // two actual strategies.
+    /**
+     * Randomly chooses the strategies a brick with this strategy activates once hit.
+     * Both sub-strategies are chosen first, and every one of them that is the
+     * DoubleStrategy itself is then replaced with (at most) two actual strategies,
+     * without exceeding the cap of the game's StrategyWeights.
+     *
+     * @param featured The buffer to write the indexes of the chosen strategies into (see
+     *                 getFeaturedStrategy), from the lowest up. A strategy chosen more than
+     *                 once is only activated once, so every index appears once at most.
+     *                 It must have room for the cap of the game's StrategyWeights.
+     * @return The amount of chosen strategies.
+     */
+    int drawFeatured(int[] featured) {
+        int count = 0;
         int doubleStrategyCounter = 0;
-        while (strategies.contains(this)) {
-            strategies.remove(this);
-            doubleStrategyCounter++;
+        for (int i = 0; i < 2; i++) {
+            int index = rand.nextInt(availableStrategies.length);
+            if (availableStrategies[index] == this) {
+                doubleStrategyCounter++;
+            } else {
+                featured[count++] = index;
+            }
         }
 
-        //For each DoubleStrategy chosen before (and then counted and
-        // removed), add to the ArrayList (at most) two actual strategies,
-        // without exceeding the MAX_FEATURED_STRATEGIES.
+        //For each DoubleStrategy chosen, add (at most) two actual strategies, which are
+        // every available strategy but the last, the DoubleStrategy itself.
         for (int i = 0; i < doubleStrategyCounter; i++) {
-                int curSize = strategies.size();
-                while (strategies.size() < MAX_FEATURED_STRATEGIES &&
-                        strategies.size() < curSize + 2) {
-                    int index = rand.nextInt(availableStrategies.length - 1);
-                    strategies.add(availableStrategies[index]);
-                }
+            int target = Math.min(maxFeaturedStrategies, count + 2);
+            while (count < target) {
+                featured[count++] = rand.nextInt(availableStrategies.length - 1);
+            }
         }
 
-        //After choosing strategies, we activate them.
-        for (CollisionStrategy strategy : strategies) {
-            strategy.onCollision(thisObj, otherObj);
+        Arrays.sort(featured, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || featured[distinct - 1] != featured[i]) {
+                featured[distinct++] = featured[i];
+            }
         }
+        return distinct;
+    }
+
+    /**
+     * @return The amount of actual strategies this strategy may choose from.
+     */
+    int getFeaturedStrategyCount() {
+        return availableStrategies.length - 1;
+    }
+
+    /**
+     * @param index The index of an actual strategy, as chosen by drawFeatured.
+     * @return The strategy with the given index.
+     */
+    BasicCollisionStrategy getFeaturedStrategy(int index) {
+        return availableStrategies[index];
     }
 }
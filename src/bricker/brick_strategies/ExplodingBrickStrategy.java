@@ -1,7 +1,8 @@
 package bricker.brick_strategies;
 
-import bricker.gameobjects.Brick;
+import bricker.assets.AssetCache;
 import bricker.gameobjects.brick.BrickHandler;
+import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 import danogl.gui.Sound;
 import danogl.gui.SoundReader;
@@ -10,55 +11,55 @@ import danogl.gui.SoundReader;
  * ExplodingBrickStrategy is an extension of BasicCollisionStrategy.
  * In addition to the default behavior, it triggers the destruction of adjacent bricks in the grid.
  * This strategy also has a chain-reaction effect where the collision with one brick
- * causes nearby exploding bricks to also be destroyed.
+ * causes nearby exploding bricks to also explode. The chain reaction is spread by the
+ * BrickHandler without recursion, so even a grid full of exploding bricks can blow up
+ * in a single frame.
  */
 public class ExplodingBrickStrategy extends BasicCollisionStrategy{
 
-    private static Sound explosionSound;
+    private final Sound explosionSound;
+    private final BrickerGameManager brickerGameManager;
 
     /**
      * Constructs an ExplodingBrickStrategy.
      *
+     * @param brickerGameManager The game manager, whose audio mixer plays the explosion sound.
      * @param brickHandler The BrickHandler used to manage and interact with the grid
      *                     of bricks. Needed to access neighboring bricks and
      *                     update their states during an explosion.
      * @param soundReader A sound reader for temporary use in order to read the
      *                    explosion sound.
      */
-    public ExplodingBrickStrategy(BrickHandler brickHandler, SoundReader soundReader) {
+    public ExplodingBrickStrategy(BrickerGameManager brickerGameManager,
+                                  BrickHandler brickHandler,
+                                  SoundReader soundReader) {
         super(brickHandler);
+        this.brickerGameManager = brickerGameManager;
 
-        ExplodingBrickStrategy.explosionSound = soundReader.readSound("assets/explosion.wav");
+        this.explosionSound = AssetCache.readSound(soundReader,
+                "assets/explosion.wav");
     }
 
     /**
-     * Handles the collision between two game objects.
-     * Specifically, we can expect that the first object is of type Brick.
-     * This method triggers additional collisions for
-     * neighboring bricks in the grid around the collided brick, invoking their collision strategies.
+     * Handles a hit on the brick in a cell of the grid.
+     * This method destroys the brick along with its neighboring bricks in the grid,
+     * invoking their collision strategies. Neighbors that are exploding bricks explode
+     * as well, and the explosion sound is played once for the whole chain reaction.
      *
-     * @param thisObj The primary game object involved in the collision.
-     *                    Expected to be an instance of Brick.
+     * @param col      The column of the hit brick in the game grid.
+     * @param row      The row of the hit brick in the game grid.
      * @param otherObj The secondary game object involved in the collision.
-     *                     Could be any game object.
+     *                 Could be any game object. If null, no action is performed.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        super.onCollision(thisObj, otherObj);
-        explosionSound.play();
-        Brick brick = (Brick) thisObj;
-        int col = brick.getCol();
-        int row = brick.getRow();
-
-        // top, bottom, right, left.
-        int[] rowIndexes = {-1, 1, 0, 0};
-        int[] colIndexes = {0, 0, 1, -1};
+    public void onCollision(int col, int row, GameObject otherObj) {
+        if (otherObj == null) {
+            return;
+        }
 
-        for (int i = 0; i < rowIndexes.length; i++) {
-            Brick curBrick = brickHandler.getBrick(col + colIndexes[i], row + rowIndexes[i]);
-            if(curBrick != null) {
-                curBrick.getStrategy().onCollision(curBrick, thisObj);
-            }
+        //The BrickHandler destroys this brick too, along with the rest of the blast.
+        if (brickHandler.explode(col, row, otherObj)) {
+            brickerGameManager.getAudioMixer().play(explosionSound);
         }
     }
-}
\ No newline at end of file
+}
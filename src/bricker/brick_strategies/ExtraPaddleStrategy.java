@@ -6,7 +6,6 @@ import bricker.gameobjects.paddle.PaddleHandler;
 import bricker.gameobjects.paddle.PaddleType;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.collisions.Layer;
 
 /**
  * ExtraPaddleStrategy is an extension of BasicCollisionStrategy.
@@ -17,8 +16,8 @@ import danogl.collisions.Layer;
  */
 public class ExtraPaddleStrategy extends BasicCollisionStrategy {
 
-    private static BrickerGameManager brickerGameManager;
-    private static PaddleHandler paddleHandler;
+    private final BrickerGameManager brickerGameManager;
+    private final PaddleHandler paddleHandler;
     private Paddle extraPaddle;
 
     /**
@@ -34,26 +33,25 @@ public class ExtraPaddleStrategy extends BasicCollisionStrategy {
 
         super(brickHandler);
 
-        ExtraPaddleStrategy.brickerGameManager = brickerGameManager;
-        ExtraPaddleStrategy.paddleHandler = paddleHandler;
+        this.brickerGameManager = brickerGameManager;
+        this.paddleHandler = paddleHandler;
 
     }
 
     /**
-     * Handles the collision between two game objects.
-     * Specifically, we can expect that the first object is of type Brick.
+     * Handles a hit on the brick in a cell of the grid.
      * If an extra paddle has not already been created, this method creates an additional paddle
      * at the center of the screen using the brickerGameManager and the paddleFactory.
      * Additionally, the paddle is reset to its default state upon creation.
-     * @param thisObj The primary game object involved in the collision.
-     *                    Expected to be an instance of Brick.
+     * @param col The column of the hit brick in the game grid.
+     * @param row The row of the hit brick in the game grid.
      * @param otherObj The secondary game object involved in the collision.
      *                     Could be any game object.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
+    public void onCollision(int col, int row, GameObject otherObj) {
 
-        super.onCollision(thisObj, otherObj);
+        super.onCollision(col, row, otherObj);
 
         if(extraPaddle == null || extraPaddle.getCollisionCount() >= 4) {
 
@@ -61,7 +59,7 @@ public class ExtraPaddleStrategy extends BasicCollisionStrategy {
 
         }
 
-        brickerGameManager.addItem(extraPaddle, Layer.DEFAULT);
+        brickerGameManager.addPaddle(extraPaddle);
 
     }
 
@@ -6,7 +6,6 @@ import bricker.gameobjects.ball.BallType;
 import bricker.gameobjects.brick.BrickHandler;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.collisions.Layer;
 
 
 /**
@@ -38,23 +37,22 @@ public class ExtraPucksStrategy extends BasicCollisionStrategy {
     }
 
     /**
-     * Handles the collision between two game objects.
-     * Specifically, we can expect that the first object is of type Brick.
+     * Handles a hit on the brick in a cell of the grid.
      * When a collision occurs, this method creates two additional puck balls
-     * at the position of the collided brick and adds them to the game's default layer.
-     * @param thisObj The primary game object involved in the collision.
-     *                Expected to be an instance of Brick.
+     * at the position of the collided brick and adds them to the game.
+     * @param col The column of the hit brick in the game grid.
+     * @param row The row of the hit brick in the game grid.
      * @param otherObj The secondary game object involved in the collision.
      *                 Could be any game object.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        super.onCollision(thisObj, otherObj);
+    public void onCollision(int col, int row, GameObject otherObj) {
+        super.onCollision(col, row, otherObj);
 
-        Ball firstPuck = ballFactory.build(BallType.PUCK, thisObj.getCenter());
-        Ball secondPuck = ballFactory.build(BallType.PUCK, thisObj.getCenter());
+        Ball firstPuck = ballFactory.build(BallType.PUCK, brickHandler.getCellCenter(col, row));
+        Ball secondPuck = ballFactory.build(BallType.PUCK, brickHandler.getCellCenter(col, row));
 
-        brickerGameManager.addItem(firstPuck, Layer.DEFAULT);
-        brickerGameManager.addItem(secondPuck, Layer.DEFAULT);
+        brickerGameManager.addBall(firstPuck);
+        brickerGameManager.addBall(secondPuck);
     }
 }
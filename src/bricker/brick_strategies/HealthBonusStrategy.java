@@ -1,13 +1,9 @@
 package bricker.brick_strategies;
 
 import bricker.gameobjects.brick.BrickHandler;
-import bricker.gameobjects.health_points.Heart;
-import bricker.gameobjects.health_points.HeartFactory;
+import bricker.gameobjects.pickup.PickupType;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
-import danogl.collisions.Layer;
-import danogl.gui.ImageReader;
-import danogl.util.Vector2;
 
 /**
  * HealthBonusStrategy is an extension of BasicCollisionStrategy.
@@ -19,46 +15,35 @@ import danogl.util.Vector2;
  */
 public class HealthBonusStrategy extends BasicCollisionStrategy{
 
-    private static HeartFactory heartFactory;
-    private static BrickerGameManager brickerGameManager;
-    private static Vector2 HEART_FALLING_VELOCITY;
+    private final BrickerGameManager brickerGameManager;
 
     /**
      * Constructs a HealthBonusStrategy.
      *
      * @param brickHandler BrickHandler instance responsible for managing the game’s bricks.
      * @param brickerGameManager the game manager responsible for overall game state and behavior.
-     * @param imageReader ImageReader instance used to load the heart image asset.
      */
     public HealthBonusStrategy(BrickHandler brickHandler,
-                               BrickerGameManager brickerGameManager,
-                               ImageReader imageReader) {
+                               BrickerGameManager brickerGameManager) {
         super(brickHandler);
-        HealthBonusStrategy.heartFactory = HeartFactory.getInstance(imageReader);
-        HealthBonusStrategy.brickerGameManager = brickerGameManager;
-        HEART_FALLING_VELOCITY = new Vector2(0,100);
+        this.brickerGameManager = brickerGameManager;
     }
 
     /**
-     * Handles the collision of a game object with another object in the game.
-     * In addition to the default collision behavior, this method generates a heart bonus
-     * at the location of the current game object involved in the collision.
+     * Handles a hit on the brick in a cell of the grid.
+     * In addition to the default collision behavior, this method drops a heart pickup
+     * from the center of the hit brick.
      * The heart falls down the screen and adds health points to the player if collected.
      *
-     * @param thisObj The current game object involved in the collision, expected to be a brick.
-     *                The heart bonus will appear at its location.
+     * @param col The column of the hit brick in the game grid. The heart bonus will appear
+     *            at the brick's location.
+     * @param row The row of the hit brick in the game grid.
      * @param otherObj The other game object involved in the collision. This parameter
      *                 does not directly influence the behavior in this method.
      */
     @Override
-    public void onCollision(GameObject thisObj, GameObject otherObj) {
-        super.onCollision(thisObj, otherObj);
-        Heart heart = heartFactory.build(brickerGameManager,
-                brickerGameManager.healthPointsPanel.getHealthPointsItemEdgeLength(),
-                Vector2.ZERO);
-        heart.setCenter(thisObj.getCenter());
-        heart.setVelocity(HEART_FALLING_VELOCITY);
-
-        brickerGameManager.addItem(heart, Layer.DEFAULT);
+    public void onCollision(int col, int row, GameObject otherObj) {
+        super.onCollision(col, row, otherObj);
+        brickerGameManager.getPickupSystem().spawn(PickupType.HEART, brickHandler.getCellCenter(col, row));
     }
 }
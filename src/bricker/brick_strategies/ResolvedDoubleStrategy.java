@@ -0,0 +1,55 @@
+package bricker.brick_strategies;
+
+import bricker.gameobjects.brick.BrickHandler;
+import danogl.GameObject;
+
+/**
+ * The strategy of a brick built with a DoubleStrategy, whose strategies were already
+ * chosen when the brick was built: once hit, the brick is destroyed, and every chosen
+ * strategy is activated in turn, with no random choice and no allocation.
+ * Every combination of strategies is made once, by StrategyHandler.resolve, and shared by
+ * all the bricks it was chosen for.
+ */
+class ResolvedDoubleStrategy extends BasicCollisionStrategy {
+
+    private final BasicCollisionStrategy[] featuredStrategies;
+    private final int featuredMask;
+
+    /**
+     * Constructs a ResolvedDoubleStrategy.
+     *
+     * @param brickHandler       The BrickHandler used to destroy the hit brick.
+     * @param featuredStrategies The strategies to activate once a brick is hit, in order.
+     *                           The array is kept, so it must not be changed afterwards.
+     * @param featuredMask       The combination the strategies make up (see
+     *                           StrategyHandler.resolveCombination).
+     */
+    ResolvedDoubleStrategy(BrickHandler brickHandler, BasicCollisionStrategy[] featuredStrategies, int featuredMask) {
+        super(brickHandler);
+        this.featuredStrategies = featuredStrategies;
+        this.featuredMask = featuredMask;
+    }
+
+    /**
+     * @return The combination the chosen strategies make up (see StrategyHandler.resolveCombination).
+     */
+    int getFeaturedMask() {
+        return featuredMask;
+    }
+
+    /**
+     * Destroys the brick and activates every chosen strategy.
+     *
+     * @param col      The column of the hit brick in the game grid.
+     * @param row      The row of the hit brick in the game grid.
+     * @param otherObj The other game object involved in the collision.
+     *                 If null, no action is performed.
+     */
+    @Override
+    public void onCollision(int col, int row, GameObject otherObj) {
+        super.onCollision(col, row, otherObj);
+        for (BasicCollisionStrategy strategy : featuredStrategies) {
+            StrategyHandler.activate(strategy, col, row, otherObj);
+        }
+    }
+}
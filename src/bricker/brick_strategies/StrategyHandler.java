@@ -4,21 +4,68 @@ import bricker.gameobjects.ball.BallFactory;
 import bricker.gameobjects.brick.BrickHandler;
 import bricker.gameobjects.paddle.PaddleHandler;
 import bricker.main.BrickerGameManager;
-import danogl.gui.ImageReader;
+import bricker.profiler.StrategyEvent;
+import danogl.GameObject;
 import danogl.gui.SoundReader;
 
+import java.util.ArrayList;
 import java.util.Random;
 
 /**
  * StrategyHandler is responsible for managing and generating collision strategies
  * used in the game. It initializes various predefined strategies and provides
- * a method to randomly select one based on specific probabilities.
+ * a method to randomly select one, with the probabilities of the game's StrategyWeights.
+ * Every strategy it knows has a small id (its index), so that bricks which aren't
+ * in the game yet can keep their strategy as a single byte.
+ * Bricks keep only that id, and a hit is dispatched by it through onCollision: each
+ * predefined strategy is called from a call site of its own, which only ever sees that
+ * strategy's class, so the JIT can inline every one of them instead of making a single
+ * interface call that sees six classes.
+ * A brick built with the DoubleStrategy has its strategies chosen right away (see resolve),
+ * and every combination that gets chosen is given an id of its own, after the predefined ones.
  */
 public class StrategyHandler {
 
-    private static CollisionStrategy[] strategies;
+    /**
+     * The id of the basic strategy, which only destroys the brick.
+     */
+    public static final byte BASIC_ID = 0;
+    /**
+     * The id of the strategy that adds pucks.
+     */
+    public static final byte EXTRA_PUCKS_ID = 1;
+    /**
+     * The id of the strategy that adds an extra paddle.
+     */
+    public static final byte EXTRA_PADDLE_ID = 2;
+    /**
+     * The id of the strategy that makes the brick explode.
+     */
+    public static final byte EXPLODING_ID = 3;
+    /**
+     * The id of the strategy that drops a heart.
+     */
+    public static final byte HEALTH_BONUS_ID = 4;
+    /**
+     * The id of the strategy that activates several other strategies.
+     */
+    public static final byte DOUBLE_ID = 5;
 
-    private static Random random;
+    private final ArrayList<CollisionStrategy> strategies = new ArrayList<>();
+    //The id of every combination of strategies a DoubleStrategy brick was resolved to, by
+    // the combination's mask (see resolveCombination), or 0 for a combination not resolved yet.
+    private final byte[] resolvedDoubleIds;
+    private final int[] drawnFeatured;
+    private final BrickHandler brickHandler;
+    private final BasicCollisionStrategy basicStrategy;
+    private final ExtraPucksStrategy extraPucksStrategy;
+    private final ExtraPaddleStrategy extraPaddleStrategy;
+    private final ExplodingBrickStrategy explodingStrategy;
+    private final HealthBonusStrategy healthBonusStrategy;
+    private final DoubleStrategy doubleStrategy;
+
+    private final Random random;
+    private final StrategyWeights weights;
 
 
     /**
@@ -30,57 +77,250 @@ public class StrategyHandler {
      * @param ballFactory the factory used for creating new ball instances.
      * @param paddleHandler the handler responsible for managing paddles in the game.
      * @param soundReader the utility for handling audio playback.
-     * @param imageReader the utility for handling image resources.
      */
     public StrategyHandler(BrickerGameManager brickerGameManager,
                            BrickHandler brickHandler,
                            BallFactory ballFactory,
                            PaddleHandler paddleHandler,
-                           SoundReader soundReader,
-                           ImageReader imageReader) {
-        random = new Random();
-        strategies = new CollisionStrategy[]{
-                new BasicCollisionStrategy(brickHandler),
-                new ExtraPucksStrategy(brickerGameManager,
-                        brickHandler,
-                        ballFactory),
-                new ExtraPaddleStrategy(brickerGameManager,
-                        brickHandler,
-                        paddleHandler),
-                new ExplodingBrickStrategy(brickHandler, soundReader),
-                new HealthBonusStrategy(brickHandler,
-                        brickerGameManager,
-                        imageReader),
-                new DoubleStrategy(brickerGameManager,
-                        brickHandler,
-                        ballFactory,
-                        paddleHandler,
-                        soundReader,
-                        imageReader)
-        };
+                           SoundReader soundReader) {
+        this.brickHandler = brickHandler;
+        random = brickerGameManager.getRandom();
+        weights = brickerGameManager.getStrategyWeights();
+        basicStrategy = new BasicCollisionStrategy(brickHandler);
+        extraPucksStrategy = new ExtraPucksStrategy(brickerGameManager,
+                brickHandler,
+                ballFactory);
+        extraPaddleStrategy = new ExtraPaddleStrategy(brickerGameManager,
+                brickHandler,
+                paddleHandler);
+        explodingStrategy = new ExplodingBrickStrategy(brickerGameManager,
+                brickHandler,
+                soundReader);
+        healthBonusStrategy = new HealthBonusStrategy(brickHandler,
+                brickerGameManager);
+        doubleStrategy = new DoubleStrategy(brickerGameManager,
+                brickHandler,
+                ballFactory,
+                paddleHandler,
+                soundReader);
+        drawnFeatured = new int[weights.getMaxFeaturedStrategies()];
+        resolvedDoubleIds = new byte[1 << doubleStrategy.getFeaturedStrategyCount()];
+        //Listed in the order of their ids.
+        strategies.add(basicStrategy);
+        strategies.add(extraPucksStrategy);
+        strategies.add(extraPaddleStrategy);
+        strategies.add(explodingStrategy);
+        strategies.add(healthBonusStrategy);
+        strategies.add(doubleStrategy);
+    }
+
+    /**
+     * Activates the strategy with the given id, for a brick that was hit, in a StrategyEvent.
+     * The brick is given by its cell, so it doesn't need to exist as a Brick object. Only a
+     * strategy a brick was explicitly built with, which may need the brick itself, gets one
+     * (see BrickHandler.getBrickObject).
+     *
+     * @param id       the id of a strategy known to this StrategyHandler.
+     * @param col      the column of the hit brick in the grid.
+     * @param row      the row of the hit brick in the grid.
+     * @param otherObj the game object that hit it.
+     */
+    public void onCollision(byte id, int col, int row, GameObject otherObj) {
+        //With no recording, the event never escapes and isn't allocated at all (see
+        // StrategyDispatchBenchmark.emptyCellDispatch).
+        StrategyEvent event = new StrategyEvent();
+        event.begin();
+        switch (id) {
+            case BASIC_ID:
+                basicStrategy.onCollision(col, row, otherObj);
+                break;
+            case EXTRA_PUCKS_ID:
+                extraPucksStrategy.onCollision(col, row, otherObj);
+                break;
+            case EXTRA_PADDLE_ID:
+                extraPaddleStrategy.onCollision(col, row, otherObj);
+                break;
+            case EXPLODING_ID:
+                explodingStrategy.onCollision(col, row, otherObj);
+                break;
+            case HEALTH_BONUS_ID:
+                healthBonusStrategy.onCollision(col, row, otherObj);
+                break;
+            case DOUBLE_ID:
+                doubleStrategy.onCollision(col, row, otherObj);
+                break;
+            default:
+                //A resolved DoubleStrategy, or a strategy a brick was explicitly built with.
+                CollisionStrategy strategy = strategies.get(id);
+                if (strategy instanceof BasicCollisionStrategy) {
+                    ((BasicCollisionStrategy) strategy).onCollision(col, row, otherObj);
+                } else {
+                    strategy.onCollision(brickHandler.getBrickObject(col, row, id), otherObj);
+                }
+        }
+        if (event.shouldCommit()) {
+            event.strategy = strategies.get(id).getClass();
+            event.commit();
+        }
+    }
+
+    /**
+     * Activates a strategy that another strategy runs (such as the ones a DoubleStrategy
+     * chose), in a StrategyEvent of its own.
+     *
+     * @param strategy the strategy to activate.
+     * @param col      the column of the hit brick in the grid.
+     * @param row      the row of the hit brick in the grid.
+     * @param otherObj the game object that hit it.
+     */
+    static void activate(BasicCollisionStrategy strategy, int col, int row, GameObject otherObj) {
+        StrategyEvent event = new StrategyEvent();
+        event.begin();
+        strategy.onCollision(col, row, otherObj);
+        if (event.shouldCommit()) {
+            event.strategy = strategy.getClass();
+            event.commit();
+        }
+    }
+
+    /**
+     * @param id the id of a strategy known to this StrategyHandler.
+     * @return true if the strategy makes its brick explode.
+     */
+    public boolean isExploding(byte id) {
+        return id == EXPLODING_ID || strategies.get(id) instanceof ExplodingBrickStrategy;
     }
 
     /**
      * Generates a CollisionStrategy instance based on a random selection algorithm.
-     * The algorithm ensures that the first strategy in the list has a higher probability
-     * of being chosen compared to the others.
+     * Every predefined strategy is chosen with a probability of its weight out of the
+     * sum of all weights (by default, the basic strategy half of the time, and every
+     * other strategy a tenth of the time).
      *
-     * @return a randomly selected CollisionStrategy instance, where the first strategy
-     * is selected 50% of the time, and each remaining strategy has an equal chance of
-     * being selected for the remaining 50%.
+     * @return a randomly selected CollisionStrategy instance.
      */
     public CollisionStrategy generate() {
-        //Generate a random index in the range (0,5) as following:
-        // * Generate a random integer in the range (1,10)
-        // * Substruct 5 from the chosen integer
-        // * If the result is less then or equal to 0, it means the original chosen integer
-        //   was in the range (1-5), and the chosen index is 0
-        // * Otherwise, the chosen index is the index we've got after the substraction.
-        //This way, the final index is 0 half (5 out of 10) of the times,
-        // and any other integer one out of 10 times, as the instructions
-        // required.
-        int rand = random.nextInt(10) + 1;
-        return strategies[Math.max(0, rand - (strategies.length - 1))];
+        return getStrategy(generateId());
+    }
+
+    /**
+     * Generates the id of a randomly selected predefined strategy, with the same
+     * probabilities as generate.
+     *
+     * @return the id of the selected strategy.
+     */
+    public byte generateId() {
+        return (byte) weights.draw(random);
+    }
+
+    /**
+     * Resolves the strategy a brick is built with. A brick built with the DoubleStrategy
+     * gets the strategies it activates chosen now, instead of on every hit, and is given
+     * the id of that combination; any other id is kept.
+     * If every id is taken, the brick keeps DOUBLE_ID, and its strategies are chosen anew
+     * on every hit.
+     *
+     * @param id the id of a strategy known to this StrategyHandler.
+     * @return the id the brick should be built with.
+     */
+    public byte resolve(byte id) {
+        if (id != DOUBLE_ID) {
+            return id;
+        }
+        //Building a grid resolves many bricks, so this draws into a reused buffer, and only
+        // allocates the first time a combination is drawn.
+        int count = doubleStrategy.drawFeatured(drawnFeatured);
+        int mask = 0;
+        for (int i = 0; i < count; i++) {
+            mask |= 1 << drawnFeatured[i];
+        }
+        return resolveCombination(mask);
+    }
+
+    /**
+     * Finds the id of a combination of the strategies a DoubleStrategy chooses from, giving
+     * it the next free id the first time it's asked for. This is how a snapshot's resolved
+     * bricks get their combinations back.
+     *
+     * @param mask the combination: bit i is set if the DoubleStrategy's strategy of index i
+     *             (see DoubleStrategy.getFeaturedStrategy) is part of it. At least one bit
+     *             must be set.
+     * @return the id of the combination, or DOUBLE_ID if every id is taken.
+     * @throws IllegalArgumentException if the mask isn't a combination of the DoubleStrategy's strategies.
+     */
+    public byte resolveCombination(int mask) {
+        if (mask <= 0 || mask >= resolvedDoubleIds.length) {
+            throw new IllegalArgumentException("Not a combination of strategies: " + mask);
+        }
+        if (resolvedDoubleIds[mask] != 0) {
+            return resolvedDoubleIds[mask];
+        }
+        if (strategies.size() > Byte.MAX_VALUE) {
+            return DOUBLE_ID;
+        }
+
+        BasicCollisionStrategy[] featuredStrategies = new BasicCollisionStrategy[Integer.bitCount(mask)];
+        int count = 0;
+        for (int index = 0; index < doubleStrategy.getFeaturedStrategyCount(); index++) {
+            if ((mask & (1 << index)) != 0) {
+                featuredStrategies[count++] = doubleStrategy.getFeaturedStrategy(index);
+            }
+        }
+        byte newId = idOf(new ResolvedDoubleStrategy(brickHandler, featuredStrategies, mask));
+        resolvedDoubleIds[mask] = newId;
+        return newId;
+    }
+
+    /**
+     * Finds the combination of strategies a brick built with the DoubleStrategy was
+     * resolved to, for saving it.
+     *
+     * @param id the id of a strategy known to this StrategyHandler.
+     * @return the combination's mask (see resolveCombination), or 0 if the strategy isn't
+     * a resolved DoubleStrategy.
+     */
+    public int getCombination(byte id) {
+        CollisionStrategy strategy = strategies.get(id);
+        if (strategy instanceof ResolvedDoubleStrategy) {
+            return ((ResolvedDoubleStrategy) strategy).getFeaturedMask();
+        }
+        return 0;
+    }
+
+    /**
+     * @return the amount of strategies known to this StrategyHandler, which is one more
+     * than the largest id given so far.
+     */
+    public int getStrategyCount() {
+        return strategies.size();
+    }
+
+    /**
+     * @param id the id of a strategy known to this StrategyHandler.
+     * @return the strategy with the given id.
+     */
+    public CollisionStrategy getStrategy(byte id) {
+        return strategies.get(id);
+    }
+
+    /**
+     * Finds the id of a strategy. A strategy that isn't known to this StrategyHandler yet
+     * (one that a brick was explicitly built with) is given the next free id.
+     *
+     * @param strategy the strategy to look up.
+     * @return the id of the strategy.
+     * @throws IllegalStateException if there is no free id left for a new strategy.
+     */
+    public byte idOf(CollisionStrategy strategy) {
+        int id = strategies.indexOf(strategy);
+        if (id < 0) {
+            if (strategies.size() > Byte.MAX_VALUE) {
+                throw new IllegalStateException("No free strategy id is left for " + strategy);
+            }
+            id = strategies.size();
+            strategies.add(strategy);
+        }
+        return (byte) id;
     }
 
 }
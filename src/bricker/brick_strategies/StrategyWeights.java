@@ -0,0 +1,276 @@
+package bricker.brick_strategies;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A probability table for the strategies bricks are built with.
+ * Every predefined strategy has a weight, and a brick gets a strategy with a probability
+ * of its weight out of the sum of all weights. The table also caps the amount of
+ * strategies a DoubleStrategy may activate at once.
+ * The default table gives the basic strategy half of the bricks, and every other
+ * strategy a tenth of them, with up to three strategies per DoubleStrategy.
+ * A table can be written as a string, such as "5,1,1,1,1,1/3": the weights, in the order
+ * of the predefined strategies (basic, extra pucks, extra paddle, exploding, health bonus,
+ * double), then optionally a slash and the cap. A table can also be kept in a weights file
+ * (see load), so that the game can be reweighted without touching the code.
+ * Strategies are drawn from the table with the alias method: every strategy owns a column
+ * of equal width, part of which may be lent to another strategy, so a draw takes a single
+ * random number and no search, however the weights are split.
+ */
+public class StrategyWeights {
+
+    /**
+     * The amount of predefined strategies, which is the amount of weights in a table.
+     */
+    public static final int STRATEGY_COUNT = 6;
+    /**
+     * The names of the predefined strategies in a weights file, by id.
+     */
+    public static final String[] STRATEGY_NAMES = {
+            "basic", "extra_pucks", "extra_paddle", "exploding", "health_bonus", "double"
+    };
+    /**
+     * The name of the cap of a DoubleStrategy in a weights file.
+     */
+    public static final String MAX_FEATURED_NAME = "max_featured";
+    /**
+     * The extension weights files are named with.
+     */
+    public static final String EXTENSION = ".weights";
+    /**
+     * The most strategies a DoubleStrategy can ever activate at once: it chooses two, and
+     * every one of them that is a DoubleStrategy again is replaced with two more.
+     */
+    public static final int MAX_FEATURED_STRATEGIES = 4;
+    private static final int DEFAULT_MAX_FEATURED_STRATEGIES = 3;
+    private static final char COMMENT = '#';
+
+    /**
+     * The table the game is balanced with.
+     */
+    public static final StrategyWeights DEFAULT =
+            new StrategyWeights(new int[]{5, 1, 1, 1, 1, 1}, DEFAULT_MAX_FEATURED_STRATEGIES);
+
+    private final int[] weights;
+    private final int totalWeight;
+    private final int maxFeaturedStrategies;
+    //The alias table: a draw lands in column i below aliasThresholds[i] for strategy i,
+    // and at or above it for strategy aliases[i]. Every column is totalWeight wide.
+    private final int[] aliasThresholds;
+    private final byte[] aliases;
+
+    /**
+     * Constructs a StrategyWeights table.
+     *
+     * @param weights               The weight of every predefined strategy, by id.
+     * @param maxFeaturedStrategies The largest amount of strategies a DoubleStrategy
+     *                              activates at once.
+     * @throws IllegalArgumentException if there isn't a weight for every predefined strategy,
+     *                                  a weight is negative, all of them are 0, the cap is
+     *                                  lower than 2 or above MAX_FEATURED_STRATEGIES, or the
+     *                                  weights are too large to draw from.
+     */
+    public StrategyWeights(int[] weights, int maxFeaturedStrategies) {
+        if (weights.length != STRATEGY_COUNT) {
+            throw new IllegalArgumentException("Expected " + STRATEGY_COUNT + " weights, got "
+                    + weights.length);
+        }
+        //Added up in a long, so that weights too large to draw from can't wrap around.
+        long sum = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative strategy weight: " + weight);
+            }
+            sum += weight;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("At least one strategy weight must be positive.");
+        }
+        if (maxFeaturedStrategies < 2 || maxFeaturedStrategies > MAX_FEATURED_STRATEGIES) {
+            throw new IllegalArgumentException("A DoubleStrategy activates between 2 and "
+                    + MAX_FEATURED_STRATEGIES + " strategies, not " + maxFeaturedStrategies);
+        }
+        if (sum > Integer.MAX_VALUE / STRATEGY_COUNT) {
+            throw new IllegalArgumentException("The strategy weights add up to too much: " + sum);
+        }
+        this.weights = weights.clone();
+        this.totalWeight = (int) sum;
+        this.maxFeaturedStrategies = maxFeaturedStrategies;
+        aliasThresholds = new int[STRATEGY_COUNT];
+        aliases = new byte[STRATEGY_COUNT];
+        buildAliasTable();
+    }
+
+    //Vose's alias method, in integers so that every strategy is drawn with exactly its weight.
+    // Each weight is scaled by the amount of columns, so a column is totalWeight wide. Columns
+    // of strategies that don't fill theirs are topped up by strategies that overflow theirs.
+    private void buildAliasTable() {
+        int[] scaled = new int[STRATEGY_COUNT];
+        ArrayDeque<Integer> small = new ArrayDeque<>();
+        ArrayDeque<Integer> large = new ArrayDeque<>();
+        for (int id = 0; id < STRATEGY_COUNT; id++) {
+            scaled[id] = weights[id] * STRATEGY_COUNT;
+            aliases[id] = (byte) id;
+            (scaled[id] < totalWeight ? small : large).push(id);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int lender = small.pop();
+            int donor = large.pop();
+            aliasThresholds[lender] = scaled[lender];
+            aliases[lender] = (byte) donor;
+            scaled[donor] -= totalWeight - scaled[lender];
+            (scaled[donor] < totalWeight ? small : large).push(donor);
+        }
+        //What is left fills its own column exactly.
+        for (int id : large) {
+            aliasThresholds[id] = totalWeight;
+        }
+        for (int id : small) {
+            aliasThresholds[id] = totalWeight;
+        }
+    }
+
+    /**
+     * Loads a table from a weights file. Every line of the file holds the name of a
+     * predefined strategy (see STRATEGY_NAMES) and its weight, or MAX_FEATURED_NAME and the
+     * cap of a DoubleStrategy, separated by spaces, such as "exploding 2". Strategies the
+     * file doesn't name get a weight of 0, and the cap is the default one if the file doesn't
+     * set it. Empty lines and lines starting with COMMENT ('#') are skipped.
+     *
+     * @param path The path of the weights file.
+     * @return The loaded table.
+     * @throws IOException              if the file can't be read.
+     * @throws IllegalArgumentException if a line isn't written correctly, or the table isn't valid.
+     */
+    public static StrategyWeights load(String path) throws IOException {
+        int[] weights = new int[STRATEGY_COUNT];
+        int maxFeaturedStrategies = DEFAULT_MAX_FEATURED_STRATEGIES;
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == COMMENT) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Malformed strategy weight: " + line);
+                }
+                int value = Integer.parseInt(parts[1]);
+                if (parts[0].equals(MAX_FEATURED_NAME)) {
+                    maxFeaturedStrategies = value;
+                } else {
+                    int id = Arrays.asList(STRATEGY_NAMES).indexOf(parts[0]);
+                    if (id < 0) {
+                        throw new IllegalArgumentException("Unknown strategy: " + parts[0]);
+                    }
+                    weights[id] = value;
+                }
+            }
+        }
+        return new StrategyWeights(weights, maxFeaturedStrategies);
+    }
+
+    /**
+     * Draws the id of a predefined strategy, each with a probability of its weight out of
+     * the sum of all weights, in constant time.
+     *
+     * @param random The generator to draw from. A single int is drawn from it.
+     * @return The id of the drawn strategy.
+     */
+    public int draw(Random random) {
+        int point = random.nextInt(STRATEGY_COUNT * totalWeight);
+        int column = point / totalWeight;
+        return point - (column * totalWeight) < aliasThresholds[column] ? column : aliases[column];
+    }
+
+    /**
+     * Parses a table written as its weights, separated by commas, optionally followed by a
+     * slash and the cap of a DoubleStrategy (for example, "5,1,1,1,1,1/3").
+     *
+     * @param table The written table.
+     * @return The parsed table.
+     * @throws IllegalArgumentException if the table isn't written correctly, or isn't valid.
+     */
+    public static StrategyWeights parse(String table) {
+        String[] parts = table.trim().split("/");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Malformed strategy weights: " + table);
+        }
+        String[] weightStrings = parts[0].split(",");
+        int[] weights = new int[weightStrings.length];
+        for (int i = 0; i < weightStrings.length; i++) {
+            weights[i] = Integer.parseInt(weightStrings[i].trim());
+        }
+        int maxFeaturedStrategies = parts.length == 2
+                ? Integer.parseInt(parts[1].trim())
+                : DEFAULT_MAX_FEATURED_STRATEGIES;
+        return new StrategyWeights(weights, maxFeaturedStrategies);
+    }
+
+    /**
+     * @param id The id of a predefined strategy.
+     * @return The weight of the strategy.
+     */
+    public int getWeight(int id) {
+        return weights[id];
+    }
+
+    /**
+     * @return The sum of the weights of every predefined strategy.
+     */
+    public int getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * @return The largest amount of strategies a DoubleStrategy activates at once.
+     */
+    public int getMaxFeaturedStrategies() {
+        return maxFeaturedStrategies;
+    }
+
+    /**
+     * @return The table, written the way parse reads it.
+     */
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        for (int i = 0; i < weights.length; i++) {
+            if (i > 0) {
+                table.append(',');
+            }
+            table.append(weights[i]);
+        }
+        return table.append('/').append(maxFeaturedStrategies).toString();
+    }
+
+    /**
+     * @param other Another object.
+     * @return True if the other object is a table with the same weights and cap.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof StrategyWeights)) {
+            return false;
+        }
+        StrategyWeights otherWeights = (StrategyWeights) other;
+        return maxFeaturedStrategies == otherWeights.maxFeaturedStrategies
+                && Arrays.equals(weights, otherWeights.weights);
+    }
+
+    /**
+     * @return A hash code consistent with equals.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(weights) + maxFeaturedStrategies;
+    }
+}
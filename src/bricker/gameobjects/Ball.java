@@ -4,7 +4,6 @@ import bricker.gameobjects.ball.BallType;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.collisions.Layer;
 import danogl.gui.Sound;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
@@ -23,16 +22,24 @@ import java.util.Random;
  * - MAIN: Allows random velocity directions on the diagonals.
  * - PUCK: Assigns a random angle within a semicircular arc.
  */
-public class Ball extends GameObject {
-
-    private BrickerGameManager brickerGameManager;
-
-    private static final Random rand = new Random();
+public class Ball extends InterpolatedGameObject {
 
     private static final float BALL_SPEED = 300;
+    private static final float MIN_SPEED = BALL_SPEED / 2;
+    private static final float MAX_SPEED = BALL_SPEED * 2;
     private final BallType ballType;
     private final Sound collisionSound;
-    private final Vector2 centerStartCoordinates;
+    private Vector2 centerStartCoordinates;
+    private boolean terminated = false;
+    //Set by advance, which may run off the game thread, and acted upon by update, which doesn't.
+    private boolean advanced = false;
+    private boolean fellOffScreen = false;
+
+    //The velocities the ball can bounce into off a horizontal or vertical surface without
+    // changing its speed, indexed by their signs. They are only rebuilt once the speed changes.
+    private final Vector2[] bounceVelocities = new Vector2[4];
+    private float bounceSpeedX = -1;
+    private float bounceSpeedY = -1;
 
     /**
      * Constructs a new Ball instance with the specified parameters.
@@ -49,7 +56,8 @@ public class Ball extends GameObject {
      * @param dimensions The width and height of the ball, determining its size in the game world.
      * @param renderable The renderable that defines the ball's visual appearance.
      * @param collisionSound The sound effect to be played when the ball collides with
-     *                       another object.
+     *                       another object, or null if the ball should stay silent
+     *                       (for example, in a headless session).
      */
     public Ball(BrickerGameManager brickerGameManager,
             BallType ballType,
@@ -60,8 +68,8 @@ public class Ball extends GameObject {
                 Sound collisionSound) {
         super(topLeftCorner,
                 dimensions,
-                renderable);
-        this.brickerGameManager = brickerGameManager;
+                renderable,
+                brickerGameManager);
         this.ballType = ballType;
         this.collisionSound = collisionSound;
         this.centerStartCoordinates = centerStartCoordinates;
@@ -80,28 +88,86 @@ public class Ball extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        Vector2 newVel = getVelocity().flipped(collision.getNormal());
-        setVelocity(newVel);
-        collisionSound.play();
+        bounce(collision.getNormal());
+    }
+
+    /**
+     * The engine only handles the collisions between balls. Everything else a ball bounces
+     * off (the walls, the paddles and the bricks) is swept along the ball's path by the game
+     * manager, so a fast ball can't pass through it between two physics steps.
+     *
+     * @param other The game object the ball might collide with.
+     * @return True if the other object is a ball.
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return other instanceof Ball;
+    }
+
+    /**
+     * Bounces the ball off a surface by reflecting its velocity around the surface's
+     * normal, and plays the collision sound. Bouncing allocates no velocity of its own:
+     * off horizontal and vertical surfaces the ball takes one of its cached bounce
+     * velocities, and off any other surface the reflection goes to the transform by
+     * its components.
+     *
+     * @param normal The normal of the surface the ball bounces off.
+     */
+    public void bounce(Vector2 normal) {
+        Vector2 velocity = getVelocity();
+        if (normal.x() == 0 || normal.y() == 0) {
+            //Reflecting around an axis only flips the signs of the velocity's components.
+            float newVelX = normal.x() == 0 ? velocity.x() : -velocity.x();
+            float newVelY = normal.y() == 0 ? velocity.y() : -velocity.y();
+            setVelocity(bounceVelocity(newVelX, newVelY));
+        } else {
+            //Only balls bounce off each other along other normals, into any direction at all,
+            // so there's nothing to cache: the reflection (the same as velocity.flipped(normal))
+            // is computed by components and handed to the transform as they are.
+            float twiceProjection = 2 * ((velocity.x() * normal.x()) + (velocity.y() * normal.y()));
+            transform().setVelocity(velocity.x() - (normal.x() * twiceProjection),
+                    velocity.y() - (normal.y() * twiceProjection));
+        }
+        brickerGameManager.getAudioMixer().play(collisionSound);
     }
 
     /**
      * Updates the state of the Ball object based on the time that has passed since the last frame.
-     * If the ball is of type PUCK, it checks whether it has reached the bottom of the screen,
-     * and if so, terminates the ball instance.
+     * The ball is advanced first, unless it was already advanced in this step. Then, if the
+     * ball is of type PUCK and it has reached the bottom of the screen, the ball instance
+     * is terminated.
      *
      * @param deltaTime The time (in seconds) elapsed since the previous frame,
      *                  used to update the game's state and physics.
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
+        if (!advanced) {
+            advance(deltaTime);
+        }
+        advanced = false;
 
-        if(ballType == BallType.PUCK) {
-            terminateIfReachedBottom();
+        if (fellOffScreen) {
+            terminate();
         }
     }
 
+    /**
+     * Moves the ball by its velocity over a physics step, and checks whether it's a puck
+     * that has fallen off the screen. Only the ball itself is changed, so different balls
+     * can be advanced at the same time on different threads; acting on the result (like
+     * terminating a fallen puck) is left to update, on the game thread.
+     * A ball advanced before the engine's update isn't moved again by it in the same step.
+     *
+     * @param deltaTime The time (in seconds) elapsed since the previous physics step.
+     */
+    @Override
+    public void advance(float deltaTime) {
+        super.advance(deltaTime);
+        fellOffScreen = ballType == BallType.PUCK && hasReachedBottom();
+        advanced = true;
+    }
+
     /**
      * Resets the ball to its initial state.
      * MAIN - one of the four diagonals is chosen at random.
@@ -111,6 +177,8 @@ public class Ball extends GameObject {
         float ballVelX = BALL_SPEED;
         float ballVelY = BALL_SPEED;
 
+        //Every game draws from its own random generator, so a seeded game plays the same every time.
+        Random rand = brickerGameManager.getRandom();
         switch (ballType) {
             case PUCK:
                 double angle = rand.nextDouble() * Math.PI;
@@ -128,16 +196,95 @@ public class Ball extends GameObject {
         }
 
         setCenter(centerStartCoordinates);
+        forgetPreviousPosition();
         setVelocity(new Vector2(ballVelX, ballVelY));
     }
 
-    private void terminate() {
-        brickerGameManager.removeItem(this, Layer.DEFAULT);
+    /**
+     * Moves the ball's starting point to new coordinates, then resets the ball to it.
+     * This is how a pooled ball is brought back into the game.
+     *
+     * @param centerStartCoordinates The new center coordinates the ball starts from.
+     */
+    public void reset(Vector2 centerStartCoordinates) {
+        this.centerStartCoordinates = centerStartCoordinates;
+        terminated = false;
+        fellOffScreen = false;
+        reset();
     }
 
-    private void terminateIfReachedBottom() {
-        if(BrickerGameManager.windowDimensions.y() < getCenter().y()) {
-            terminate();
+    /**
+     * Puts the ball back where a snapshot of the game found it, moving at the velocity it
+     * moved at then. Unlike reset, no random choice is made.
+     *
+     * @param topLeftCorner The ball's top-left corner.
+     * @param velocity      The ball's velocity.
+     */
+    public void restore(Vector2 topLeftCorner, Vector2 velocity) {
+        terminated = false;
+        fellOffScreen = false;
+        advanced = false;
+        setTopLeftCorner(topLeftCorner);
+        forgetPreviousPosition();
+        setVelocity(velocity);
+    }
+
+    /**
+     * Changes the speed of the ball by a factor, keeping its direction.
+     * The resulting speed is kept within the ball's minimal and maximal speeds,
+     * and goes back to normal once the ball is reset.
+     *
+     * @param speedFactor The factor to multiply the ball's speed by.
+     */
+    public void changeSpeed(float speedFactor) {
+        Vector2 velocity = getVelocity();
+        float speed = velocity.magnitude();
+        if (speed == 0) {
+            return;
         }
+        float newSpeed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed * speedFactor));
+        setVelocity(velocity.mult(newSpeed / speed));
+    }
+
+    /**
+     * @return The type of the ball.
+     */
+    public BallType getBallType() {
+        return ballType;
+    }
+
+    /**
+     * Takes the ball out of the game and hands it back to the BallFactory, the way a puck
+     * that fell off the screen leaves. The ball stays in the game's objects until the end
+     * of the step, and terminating it again in the meantime changes nothing, so it's never
+     * handed back twice.
+     */
+    public void terminate() {
+        if (terminated) {
+            return;
+        }
+        terminated = true;
+        brickerGameManager.removeBall(this);
+        brickerGameManager.getBallFactory().release(this);
+    }
+
+    private Vector2 bounceVelocity(float velX, float velY) {
+        float speedX = Math.abs(velX);
+        float speedY = Math.abs(velY);
+        if (speedX != bounceSpeedX || speedY != bounceSpeedY) {
+            bounceSpeedX = speedX;
+            bounceSpeedY = speedY;
+            bounceVelocities[0] = new Vector2(speedX, speedY);
+            bounceVelocities[1] = new Vector2(-speedX, speedY);
+            bounceVelocities[2] = new Vector2(speedX, -speedY);
+            bounceVelocities[3] = new Vector2(-speedX, -speedY);
+        }
+        int index = (velX < 0 ? 1 : 0) + (velY < 0 ? 2 : 0);
+        return bounceVelocities[index];
+    }
+
+    private boolean hasReachedBottom() {
+        float centerY = getTopLeftCorner().y() + (getDimensions().y() / 2);
+        return brickerGameManager.getWindowDimensions().y() < centerY;
     }
 }
@@ -1,8 +1,6 @@
 package bricker.gameobjects;
 
-import bricker.brick_strategies.CollisionStrategy;
 import danogl.GameObject;
-import danogl.collisions.Collision;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
@@ -10,12 +8,15 @@ import danogl.util.Vector2;
  * Represents a Brick object in the game, extending the GameObject class.
  * A brick is a static object in the game grid that can interact with
  * other game objects through collisions. Each brick is assigned a specific
- * row and column in the game's grid, along with a collision strategy
+ * row and column in the game's grid, along with the id of the collision strategy
  * defining its behavior when a collision occurs.
+ * A brick doesn't call its strategy itself: the BrickHandler, which detects the
+ * collisions between balls and bricks, dispatches every hit by the strategy's id
+ * (see BrickHandler.hitBrick), and the game engine never tests bricks for collisions.
  */
 public class Brick extends GameObject {
 
-    private CollisionStrategy strategy;
+    private final byte strategyId;
     private final int row;
     private final int col;
 
@@ -26,8 +27,10 @@ public class Brick extends GameObject {
      * @param col The column index of the brick in the game grid.
      * @param row The row index of the brick in the game grid.
      * @param width The width of the brick in pixels.
-     * @param renderable The visual representation of the brick as a renderable object.
-     * @param strategy The collision strategy defining the behavior of the brick when a collision occurs.
+     * @param renderable The visual representation of the brick as a renderable object,
+     *                   or null if the brick is drawn along with the rest of the bricks.
+     * @param strategyId The id (given by the StrategyHandler) of the collision strategy defining
+     *                   the behavior of the brick when a collision occurs.
      */
     public Brick(Vector2 topLeftCorner,
                  int col,
@@ -35,35 +38,21 @@ public class Brick extends GameObject {
                  float width,
                  float height,
                  Renderable renderable,
-                 CollisionStrategy strategy){
+                 byte strategyId){
         super(topLeftCorner,
                 new Vector2(width, height),
                 renderable);
-        this.strategy = strategy;
+        this.strategyId = strategyId;
         this.row = row;
         this.col = col;
     };
 
     /**
-     * Handles the behavior that occurs when the brick collides with another GameObject.
-     * When a collision is detected, this method invokes the defined collision strategy
-     * associated with the brick.
-     *
-     * @param other The GameObject that this brick collides with.
-     * @param collision The collision information detailing the interaction between the objects.
-     */
-    @Override
-    public void onCollisionEnter(GameObject other, Collision collision) {
-        super.onCollisionEnter(other, collision);
-        strategy.onCollision(this, other);
-    }
-
-    /**
-     * @return The CollisionStrategy that defines the behavior of the Brick
-     *         upon collision with other game objects.
+     * @return The id (given by the StrategyHandler) of the collision strategy that defines
+     *         the behavior of the Brick upon collision with other game objects.
      */
-    public CollisionStrategy getStrategy() {
-        return strategy;
+    public byte getStrategyId() {
+        return strategyId;
     }
 
     /**
@@ -0,0 +1,118 @@
+package bricker.gameobjects;
+
+import bricker.main.BrickerGameManager;
+import danogl.GameObject;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+
+/**
+ * A game object which is drawn between its last two physics positions.
+ * The game's physics advance in fixed steps, so a frame is usually drawn somewhere
+ * between two steps. Objects that move fast (balls and paddles) are drawn where they'd be
+ * at that point, instead of at their position after the last step, so their motion looks
+ * smooth whatever the framerate is.
+ */
+public class InterpolatedGameObject extends GameObject {
+
+    /**
+     * The game manager, which knows how far between two physics steps the frame is drawn.
+     */
+    protected final BrickerGameManager brickerGameManager;
+
+    private Vector2 previousTopLeftCorner = null;
+
+    /**
+     * Constructs an InterpolatedGameObject.
+     *
+     * @param topLeftCorner      The position of the object's top-left corner.
+     * @param dimensions         The width and height of the object.
+     * @param renderable         The object's visual representation.
+     * @param brickerGameManager The game manager running the physics steps.
+     */
+    public InterpolatedGameObject(Vector2 topLeftCorner,
+                                  Vector2 dimensions,
+                                  Renderable renderable,
+                                  BrickerGameManager brickerGameManager) {
+        super(topLeftCorner, dimensions, renderable);
+        this.brickerGameManager = brickerGameManager;
+    }
+
+    /**
+     * Advances the object by a physics step (see advance).
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last physics step.
+     */
+    @Override
+    public void update(float deltaTime) {
+        advance(deltaTime);
+    }
+
+    /**
+     * Remembers the object's position before moving it by its velocity over a physics step.
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last physics step.
+     */
+    public void advance(float deltaTime) {
+        previousTopLeftCorner = getTopLeftCorner();
+        super.update(deltaTime);
+    }
+
+    /**
+     * Moves the object's top-left corner to the given coordinates. The coordinates are handed
+     * to the object's transform as they are, so callers that compute a position component
+     * by component (like the ball sweep) don't build a position of their own for every move.
+     * The object is still drawn moving from its previous position.
+     *
+     * @param x The new x coordinate of the top-left corner.
+     * @param y The new y coordinate of the top-left corner.
+     */
+    public void setTopLeftCorner(float x, float y) {
+        transform().setTopLeftCorner(x, y);
+    }
+
+    /**
+     * Draws the object between its last two physics positions.
+     *
+     * @param g The graphics to draw on.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        Vector2 topLeftCorner = getTopLeftCorner();
+        float alpha = brickerGameManager.getInterpolationAlpha();
+        if (previousTopLeftCorner == null || previousTopLeftCorner == topLeftCorner || alpha == 1) {
+            super.render(g);
+            return;
+        }
+
+        Renderable renderable = renderer().getRenderable();
+        if (renderable == null) {
+            return;
+        }
+
+        //Shift the graphics rather than the object, so the transform stays where the physics
+        //left it and no position is allocated per frame.
+        double offsetX = (alpha - 1) * (topLeftCorner.x() - previousTopLeftCorner.x());
+        double offsetY = (alpha - 1) * (topLeftCorner.y() - previousTopLeftCorner.y());
+        g.translate(offsetX, offsetY);
+        renderable.render(g, topLeftCorner, getDimensions(), 0, false, false, 1);
+        g.translate(-offsetX, -offsetY);
+    }
+
+    /**
+     * @return The object's position before the last physics step, or null if the object
+     * was placed somewhere new since.
+     */
+    public Vector2 getPreviousTopLeftCorner() {
+        return previousTopLeftCorner;
+    }
+
+    /**
+     * Makes the object jump to its current position, instead of being drawn moving to it
+     * from its previous one. Needed whenever the object is placed somewhere new.
+     */
+    protected void forgetPreviousPosition() {
+        previousTopLeftCorner = null;
+    }
+}
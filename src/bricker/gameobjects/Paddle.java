@@ -4,7 +4,6 @@ import bricker.gameobjects.paddle.PaddleHandler;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.collisions.Layer;
 import danogl.gui.UserInputListener;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
@@ -17,21 +16,24 @@ import java.awt.event.KeyEvent;
  * The paddle responds to user input for left and right movement
  * and can handle collisions with other game objects.
  * The paddle's behavior includes:
- * - Moving horizontally based on user input within the game window boundaries.
+ * - Moving horizontally based on user input within the game world boundaries.
  * - Resetting to its initial position when required.
  * - Handling collisions with other objects and triggering specific game logic,
  *   such as removing the paddle after reaching a collision limit or increasing
  *   health points upon interaction with certain objects.
  */
-public class Paddle extends GameObject {
+public class Paddle extends InterpolatedGameObject {
 
     private static final float MOVEMENT_SPEED = 300;
     private static final int COLLISIONS_TO_KILL = 4;
+    private static final float MIN_WIDTH = 50;
+    private static final float MAX_WIDTH = 400;
+    private static final Vector2 LEFT_VELOCITY = Vector2.LEFT.mult(MOVEMENT_SPEED);
+    private static final Vector2 RIGHT_VELOCITY = Vector2.RIGHT.mult(MOVEMENT_SPEED);
     private final Vector2 CENTER_START_COORDINATES;
 
-    private final BrickerGameManager brickerGameManager;
     private final UserInputListener inputListener;
-    private static Vector2 windowDimensions;
+    private final Vector2 worldDimensions;
 
     private int collisionCounter;
 
@@ -51,8 +53,8 @@ public class Paddle extends GameObject {
      * @param renderable The renderable object used to visually represent the paddle.
      * @param inputListener The listener responsible for capturing player input and controlling
      *                      paddle movement during gameplay.
-     * @param windowDimensions The dimensions of the game window, used for boundary constraints
-     *                         and position handling.
+     * @param worldDimensions The dimensions of the game world, used for boundary constraints
+     *                        and position handling.
      */
     public Paddle(Vector2 topLeftCorner,
                   Vector2 CENTER_START_COORDINATES,
@@ -61,13 +63,12 @@ public class Paddle extends GameObject {
                   BrickerGameManager brickerGameManager,
                   Renderable renderable,
                   UserInputListener inputListener,
-                  Vector2 windowDimensions) {
+                  Vector2 worldDimensions) {
 
-        super(topLeftCorner, dimensions, renderable);
+        super(topLeftCorner, dimensions, renderable, brickerGameManager);
 
-        this.brickerGameManager = brickerGameManager;
         this.inputListener = inputListener;
-        Paddle.windowDimensions = windowDimensions;
+        this.worldDimensions = worldDimensions;
 
         this.CENTER_START_COORDINATES = CENTER_START_COORDINATES;
 
@@ -89,6 +90,36 @@ public class Paddle extends GameObject {
         return collisionCounter;
     }
 
+    /**
+     * Changes the width of the paddle by a factor, keeping its center in place.
+     * The resulting width is kept within the paddle's minimal and maximal widths.
+     *
+     * @param widthFactor The factor to multiply the paddle's width by.
+     */
+    public void resize(float widthFactor) {
+        Vector2 center = getCenter();
+        Vector2 dimensions = getDimensions();
+        float newWidth = Math.max(MIN_WIDTH, Math.min(MAX_WIDTH, dimensions.x() * widthFactor));
+        setDimensions(new Vector2(newWidth, dimensions.y()));
+        setCenter(center);
+        forgetPreviousPosition();
+    }
+
+    /**
+     * Puts the paddle back where a snapshot of the game found it, as wide and as many
+     * times hit as it was then.
+     *
+     * @param topLeftCorner    The paddle's top-left corner.
+     * @param width            The paddle's width.
+     * @param collisionCounter The amount of times the paddle was hit.
+     */
+    public void restore(Vector2 topLeftCorner, float width, int collisionCounter) {
+        setDimensions(new Vector2(width, getDimensions().y()));
+        setTopLeftCorner(topLeftCorner);
+        forgetPreviousPosition();
+        this.collisionCounter = collisionCounter;
+    }
+
     /**
      * Handles the movement of the Paddle.
      * @param deltaTime The time elapsed, in seconds, since the last frame.
@@ -97,26 +128,25 @@ public class Paddle extends GameObject {
     public void update(float deltaTime) {
 
         super.update(deltaTime);
-        Vector2 movementDir = Vector2.ZERO;
         Vector2 topLeft = getTopLeftCorner();
-        if(inputListener.isKeyPressed(KeyEvent.VK_LEFT) && topLeft.x() > 0) {
-            movementDir = movementDir.add(Vector2.LEFT);
-        }
-        if(inputListener.isKeyPressed(KeyEvent.VK_RIGHT)
-                && topLeft.x() + getDimensions().x() < windowDimensions.x()) {
-            movementDir = movementDir.add(Vector2.RIGHT);
+        boolean movingLeft = inputListener.isKeyPressed(KeyEvent.VK_LEFT) && topLeft.x() > 0;
+        boolean movingRight = inputListener.isKeyPressed(KeyEvent.VK_RIGHT)
+                && topLeft.x() + getDimensions().x() < worldDimensions.x();
+
+        //The paddle only ever moves at one of three velocities, so no new vector is needed.
+        if (movingLeft == movingRight) {
+            setVelocity(Vector2.ZERO);
+        } else if (movingLeft) {
+            setVelocity(LEFT_VELOCITY);
+        } else {
+            setVelocity(RIGHT_VELOCITY);
         }
-        setVelocity(movementDir.mult(MOVEMENT_SPEED));
 
     }
 
     /**
-     * Handles the collision event when the Paddle interacts with another game object.
-     * This method defines specific behaviors based on the type of collision.
-     *
-     * If the collision counter matches the specific threshold for paddle removal,
-     * the paddle is removed from the game. Additionally, if the paddle interacts
-     * with a specified "heart bonus" object, the player's health points are increased.
+     * Handles the collision event when the Paddle interacts with another game object,
+     * by counting the hit (see registerHit).
      *
      * @param other The GameObject that this paddle collided with.
      * @param collision The Collision object containing details about the collision event.
@@ -125,14 +155,27 @@ public class Paddle extends GameObject {
     public void onCollisionEnter(GameObject other, Collision collision) {
 
         super.onCollisionEnter(other, collision);
+        registerHit(other);
+
+    }
+
+    /**
+     * Counts a hit by another game object. Strategy paddles are removed from the game once
+     * they were hit COLLISIONS_TO_KILL times; the user's paddle and the walls don't count.
+     * This is how the ball sweep, which detects the balls hitting the paddles, lets a
+     * paddle know it was hit.
+     *
+     * @param other The GameObject that hit this paddle.
+     */
+    public void registerHit(GameObject other) {
 
         if(collisionCounter != PaddleHandler.MAIN_PADDLE_COUNTER
         && !other.getTag().equals(BrickerGameManager.WALL_TAG)) {
             collisionCounter++;
             if(collisionCounter == COLLISIONS_TO_KILL) {
-                brickerGameManager.removeItem(this, Layer.DEFAULT);
+                brickerGameManager.removePaddle(this);
             }
         }
 
     }
-}
+}
\ No newline at end of file
@@ -1,7 +1,9 @@
 package bricker.gameobjects.ball;
 
+import bricker.assets.AssetCache;
 import bricker.gameobjects.Ball;
 import bricker.main.BrickerGameManager;
+import bricker.profiler.BallBuiltEvent;
 import danogl.gui.ImageReader;
 import danogl.gui.Sound;
 import danogl.gui.SoundReader;
@@ -9,9 +11,9 @@ import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
 /**
- * A factory class for creating instances of Ball objects. This class
- * implements the Singleton design pattern to ensure that only one instance of
- * BallFactory exists throughout the game. The factory is responsible for providing
+ * A factory class for creating instances of Ball objects. Every game has its own
+ * BallFactory (and with it, its own pool of pucks), so several games can run side by
+ * side in the same program. The factory is responsible for providing
  * pre-configured Ball objects based on the specified BallType.
  * The BallFactory encapsulates the setup of ball characteristics such as
  * dimensions, renderable images, and collision sounds. Ball objects created
@@ -19,60 +21,59 @@ import danogl.util.Vector2;
  */
 public class BallFactory {
 
-    private static BallFactory instance;
-
-    private static BrickerGameManager brickerGameManager;
+    private final BrickerGameManager brickerGameManager;
 
     private static final Vector2 mainBallDimensions = new Vector2(50f, 50f);
     private static final Vector2 puckBallDimensions = new Vector2(mainBallDimensions.x() * 3 / 4,
             mainBallDimensions.y() * 3 / 4);
-    private static Renderable mainBallImage;
-    private static Renderable puckBallImage;
-    private static Sound collisionSound;
-
+    private final Renderable mainBallImage;
+    private final Renderable puckBallImage;
+    private final Sound collisionSound;
 
-    private BallFactory(BrickerGameManager brickerGameManager,
-                        ImageReader imageReader,
-                        SoundReader soundReader) {
-        this.brickerGameManager = brickerGameManager;
-        mainBallImage = imageReader.readImage("assets/ball.png", true);
-        puckBallImage = imageReader.readImage("assets/mockBall.png", true);
-        collisionSound = soundReader.readSound("assets/blop.wav");
-    }
+    private static final int PUCK_POOL_CAPACITY = 64;
+    private final BallPool puckPool = new BallPool(PUCK_POOL_CAPACITY);
 
     /**
-     * Retrieves the single instance of the BallFactory class. This method ensures that
-     * the BallFactory follows the Singleton pattern, creating the instance only if it
-     * does not already exist.
+     * Constructs a BallFactory for a game.
      *
+     * @param brickerGameManager The game manager of the game the balls are built for.
      * @param imageReader A utility for reading image files, used to initialize renderable
      *                    resources for the factory.
      * @param soundReader A utility for reading sound files, used to initialize sound
      *                    resources for the factory.
-     * @return The single instance of the BallFactory class.
      */
-    public static BallFactory getInstance(BrickerGameManager brickerGameManager,
-                                          ImageReader imageReader,
-                                          SoundReader soundReader) {
-        if (instance == null) {
-            instance = new BallFactory(brickerGameManager,
-                    imageReader,
-                    soundReader);
-        }
-        return instance;
+    public BallFactory(BrickerGameManager brickerGameManager,
+                       ImageReader imageReader,
+                       SoundReader soundReader) {
+        this.brickerGameManager = brickerGameManager;
+        mainBallImage = AssetCache.readImage(imageReader, "assets/ball.png", true);
+        puckBallImage = AssetCache.readImage(imageReader, "assets/mockBall.png", true);
+        collisionSound = AssetCache.readSound(soundReader, "assets/blop.wav");
     }
 
     /**
-     * Creates a new instance of a Ball object with pre-defined characteristics based
-     * on the specified ball type and starting center coordinates.
+     * Creates a Ball object with pre-defined characteristics based on the specified
+     * ball type and starting center coordinates.
+     * Pucks are taken from the puck pool when it has a free one, in which case the
+     * pooled puck is reset to the given coordinates instead of building a new one.
      *
      * @param ballType               The type of ball to create, determining its dimensions and visual
      *                               representation as defined in BallType.
      * @param centerStartCoordinates The initial center of the ball coordinates: where the ball will
      *                               spawn in the game world.
-     * @return A new Ball instance configured with the specified type and starting position.
+     * @return A Ball instance configured with the specified type and starting position.
      */
-    public static Ball build(BallType ballType, Vector2 centerStartCoordinates) {
+    public Ball build(BallType ballType, Vector2 centerStartCoordinates) {
+        if (ballType == BallType.PUCK) {
+            Ball pooledPuck = puckPool.acquire();
+            if (pooledPuck != null) {
+                pooledPuck.reset(centerStartCoordinates);
+                emitBallBuilt(ballType, true);
+                return pooledPuck;
+            }
+        }
+        emitBallBuilt(ballType, false);
+
         Vector2 ballDimensions;
         Renderable ballImage;
         switch (ballType) {
@@ -93,4 +94,33 @@ public class BallFactory {
                 ballImage,
                 collisionSound);
     }
+
+    private static void emitBallBuilt(BallType ballType, boolean pooled) {
+        BallBuiltEvent event = new BallBuiltEvent();
+        if (event.isEnabled()) {
+            event.ballType = ballType.name();
+            event.pooled = pooled;
+            event.commit();
+        }
+    }
+
+    /**
+     * Hands a ball that has left the game back to the factory, so that it can be
+     * handed out again by a later call to build. Only pucks are pooled; any other
+     * ball is simply dropped.
+     *
+     * @param ball The ball that has left the game.
+     */
+    public void release(Ball ball) {
+        if (ball.getBallType() == BallType.PUCK) {
+            puckPool.release(ball);
+        }
+    }
+
+    /**
+     * @return The pool of pucks, exposing its hit, miss and high-water-mark counters.
+     */
+    public BallPool getPuckPool() {
+        return puckPool;
+    }
 }
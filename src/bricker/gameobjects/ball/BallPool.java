@@ -0,0 +1,107 @@
+package bricker.gameobjects.ball;
+
+import bricker.gameobjects.Ball;
+
+import java.util.ArrayDeque;
+
+/**
+ * A bounded pool of Ball instances that have left the game and can be handed out
+ * again instead of building new ones.
+ * The pool counts how many requests it could serve (hits), how many it could not
+ * (misses), and the largest amount of pooled balls that were in the game at the
+ * same time (high-water mark), so that its capacity can be sized from real games.
+ */
+public class BallPool {
+
+    private final int capacity;
+    private final ArrayDeque<Ball> freeBalls;
+
+    private long hits = 0;
+    private long misses = 0;
+    private int inUse = 0;
+    private int highWaterMark = 0;
+
+    /**
+     * Constructs an empty BallPool.
+     *
+     * @param capacity The maximal amount of free balls the pool holds on to.
+     *                 Balls released while the pool is full are left to the garbage collector.
+     */
+    public BallPool(int capacity) {
+        this.capacity = capacity;
+        freeBalls = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Takes a free ball out of the pool.
+     * Every call counts as a ball entering the game, whether it was served from the
+     * pool or not, so the caller has to build a new ball when null is returned.
+     *
+     * @return A free ball, or null if the pool is empty.
+     */
+    Ball acquire() {
+        inUse++;
+        highWaterMark = Math.max(highWaterMark, inUse);
+        Ball ball = freeBalls.pollFirst();
+        if (ball == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return ball;
+    }
+
+    /**
+     * Hands a ball that has left the game back to the pool.
+     *
+     * @param ball The ball to release. It must not be used by the caller afterwards.
+     */
+    void release(Ball ball) {
+        inUse--;
+        if (freeBalls.size() < capacity) {
+            freeBalls.addFirst(ball);
+        }
+    }
+
+    /**
+     * @return The amount of requests that were served by a pooled ball.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The amount of requests that found the pool empty.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The largest amount of balls from this pool that were in the game at once.
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * @return The amount of balls from this pool that are currently in the game.
+     */
+    public int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * @return The amount of free balls currently held by the pool.
+     */
+    public int getFreeCount() {
+        return freeBalls.size();
+    }
+
+    /**
+     * @return The maximal amount of free balls the pool holds on to.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,60 @@
+package bricker.gameobjects.brick;
+
+import bricker.main.BrickerGameManager;
+import danogl.GameObject;
+import danogl.components.CoordinateSpace;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+
+/**
+ * The BrickBatch draws all the bricks of a BrickHandler in a single pass, instead of
+ * letting every brick draw itself. It has no renderable of its own and never collides
+ * with anything; it only lives in the brick layer so it's drawn along with it.
+ * The bricks are placed in world coordinates, but the batch covers the window in camera
+ * coordinates and moves the graphics to the view itself, so the bricks scroll with the
+ * camera however the engine places world objects, and the batch is never culled as an
+ * object outside the view.
+ */
+class BrickBatch extends GameObject {
+
+    private final BrickHandler brickHandler;
+    private final BrickerGameManager brickerGameManager;
+
+    /**
+     * Constructs a BrickBatch.
+     *
+     * @param brickHandler       The handler of the bricks to draw.
+     * @param brickerGameManager The game manager, which knows where the view is.
+     */
+    BrickBatch(BrickHandler brickHandler, BrickerGameManager brickerGameManager) {
+        super(Vector2.ZERO, brickerGameManager.getWindowDimensions(), null);
+        this.brickHandler = brickHandler;
+        this.brickerGameManager = brickerGameManager;
+        setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+    }
+
+    /**
+     * Draws every live brick, shifted by the part of the world in view.
+     *
+     * @param g The graphics to draw on.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        int viewLeft = brickerGameManager.getViewLeft();
+        g.translate(-viewLeft, 0);
+        brickHandler.renderBricks(g);
+        g.translate(viewLeft, 0);
+    }
+
+    /**
+     * The BrickBatch is only drawn, so it never collides through the game.
+     *
+     * @param other Any game object.
+     * @return Always false.
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return false;
+    }
+}
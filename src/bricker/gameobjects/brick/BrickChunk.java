@@ -0,0 +1,60 @@
+package bricker.gameobjects.brick;
+
+import bricker.gameobjects.Brick;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size, rectangular part of the brick grid.
+ * A chunk is always kept in its compact (dormant) form: a single byte per cell, holding
+ * the id of the cell's strategy, or EMPTY if the cell has no brick (or its brick was
+ * destroyed). While the chunk is near the camera it is also live, meaning its bricks
+ * exist as Brick objects in the game.
+ */
+class BrickChunk {
+
+    /**
+     * The strategy id of a cell that has no brick in it.
+     */
+    static final byte EMPTY = BrickHandler.EMPTY_CELL;
+
+    final int firstCol;
+    final int firstRow;
+    final int cols;
+    final int rows;
+    final byte[] strategyIds;
+    Brick[] bricks = null;
+
+    /**
+     * Constructs an empty, dormant chunk.
+     *
+     * @param firstCol The grid column of the chunk's left-most cells.
+     * @param firstRow The grid row of the chunk's top-most cells.
+     * @param cols     The amount of columns in the chunk.
+     * @param rows     The amount of rows in the chunk.
+     */
+    BrickChunk(int firstCol, int firstRow, int cols, int rows) {
+        this.firstCol = firstCol;
+        this.firstRow = firstRow;
+        this.cols = cols;
+        this.rows = rows;
+        strategyIds = new byte[cols * rows];
+        Arrays.fill(strategyIds, EMPTY);
+    }
+
+    /**
+     * @param col The grid column of a cell in this chunk.
+     * @param row The grid row of a cell in this chunk.
+     * @return The index of the cell in the chunk's arrays.
+     */
+    int indexOf(int col, int row) {
+        return (row - firstRow) * cols + (col - firstCol);
+    }
+
+    /**
+     * @return True if the chunk's bricks currently exist as Brick objects.
+     */
+    boolean isLive() {
+        return bricks != null;
+    }
+}
@@ -1,35 +1,93 @@
 package bricker.gameobjects.brick;
 
+import bricker.assets.AssetCache;
 import bricker.brick_strategies.CollisionStrategy;
 import bricker.brick_strategies.StrategyHandler;
+import bricker.gameobjects.Ball;
 import bricker.gameobjects.Brick;
 import bricker.gameobjects.ball.BallFactory;
 import bricker.gameobjects.paddle.PaddleHandler;
 import bricker.main.BrickerGameManager;
+import bricker.profiler.BrickDestroyedEvent;
+import bricker.profiler.BrickHitEvent;
+import bricker.profiler.FrameProfiler;
+import bricker.physics.SweepHit;
+import bricker.physics.SweptAabb;
+import danogl.GameObject;
 import danogl.collisions.Layer;
 import danogl.gui.ImageReader;
 import danogl.gui.SoundReader;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
 
+import java.awt.Graphics2D;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
 /**
  * The BrickHandler class is responsible for managing the grid of bricks within a game.
  * It handles the initialization, creation, destruction,
  * and retrieval of bricks within the game environment.
+ * The grid may be larger than the window. It is split into fixed-size chunks, and only
+ * the chunks near the camera are live (their bricks exist as Brick objects in the game);
+ * every other chunk is kept in a compact, dormant form of one byte per cell.
+ * Since the bricks' positions follow directly from their grid cells, the BrickHandler
+ * also does the collision detection between the balls and the bricks: a ball is only
+ * tested against the bricks of the few cells its bounding box overlaps, and a ball's path
+ * through a physics step is only swept through the cells the path crosses.
  */
 public class BrickHandler {
 
+    /**
+     * The layer the bricks are placed in. Unlike Layer.STATIC_OBJECTS, it doesn't collide
+     * with any other layer, so the game engine never tests bricks for collisions itself.
+     */
+    public static final int BRICK_LAYER = Layer.STATIC_OBJECTS + 1;
+
+    /**
+     * The amount of columns (and of rows) in a single chunk of the grid.
+     */
+    public static final int CHUNK_SIZE = 16;
+
+    /**
+     * The strategy id saveGrid writes for a cell that has no brick in it.
+     */
+    public static final byte EMPTY_CELL = -1;
+
+    /**
+     * The strategy id loadGrid reads for a cell with a brick whose strategy is chosen at
+     * random, like the strategy of every brick that initBrickGrid builds.
+     */
+    public static final byte RANDOM_CELL = -2;
+
+    private static final float EDGE_BUFFER = 17f;
+    private static final float BRICK_BUFFER = 3f;
+    private static final float BRICK_HEIGHT_IN_PX = 15f;
+    private static final int MAX_COLS_PER_SCREEN = 16;
+    //Chunks are streamed in one chunk before they come into view, and streamed out only
+    // once they are two chunks away from it, so that a chunk on the edge of the view
+    // isn't streamed in and out on every frame.
+    private static final int STREAM_IN_MARGIN = 1;
+    private static final int STREAM_OUT_MARGIN = 2;
+
     private BrickerGameManager brickerGameManager;
     private final Renderable brickImage;
 
     private final StrategyHandler strategyHandler;
-    private Brick[][] grid;
-
-    private final float EDGE_BUFFER = 17f;
-    private final float BRICK_BUFFER = 3f;
-    private final float BRICK_HEIGHT_IN_PX = 15f;
+    private final FrameProfiler profiler;
+    private BrickChunk[][] chunks;
+    private final ArrayList<BrickChunk> liveChunks = new ArrayList<>();
+    private int cols;
+    private int rows;
     private float brickWidth;
 
+    //The cells of the bricks a ball overlaps, and their strategy ids, gathered by collideBall.
+    private int[] hitCols = new int[4];
+    private int[] hitRows = new int[4];
+    private byte[] hitIds = new byte[4];
+    private int hitCount = 0;
+    private final ChainReaction chainReaction = new ChainReaction(this);
 
     /**
      * Constructs a BrickHandler object, responsible for managing the brick grid in the game,
@@ -47,120 +105,753 @@ public class BrickHandler {
                         SoundReader soundReader,
                         ImageReader imageReader) {
         this.brickerGameManager = brickerGameManager;
+        profiler = brickerGameManager.getProfiler();
 
         strategyHandler = new StrategyHandler(brickerGameManager,
                 this,
                 ballFactory,
                 paddleHandler,
-                soundReader,
-                imageReader);
+                soundReader);
 
-        brickImage = imageReader.readImage("assets/brick.png", true);
+        brickImage = AssetCache.readImage(imageReader, "assets/brick.png", true);
+        brickerGameManager.addItem(new BrickBatch(this, brickerGameManager), BRICK_LAYER);
     }
 
     /**
      * Initializes the grid of bricks with the specified number of columns and rows.
-     * This method calculates the brick dimensions and positions based on the game's window dimensions
-     * and initializes each cell in the grid with an appropriate brick.
+     * This method calculates the brick dimensions and positions based on the game's window
+     * dimensions, chooses a strategy for each cell in the grid, and brings the bricks that
+     * are in view into the game.
      *
      * @param cols the number of columns in the brick grid.
      * @param rows the number of rows in the brick grid.
      */
     public void initBrickGrid(int cols, int rows) {
-        grid = new Brick[rows][cols];
-        brickWidth =
-                ((brickerGameManager.windowDimensions.x() - (2 * EDGE_BUFFER)) / cols) - (2 * BRICK_BUFFER);
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                buildBrick(col, row);
+        initEmptyGrid(cols, rows);
+        for (BrickChunk[] chunkRow : chunks) {
+            for (BrickChunk chunk : chunkRow) {
+                for (int i = 0; i < chunk.strategyIds.length; i++) {
+                    chunk.strategyIds[i] = strategyHandler.resolve(strategyHandler.generateId());
+                }
             }
         }
+        brickerGameManager.getBrickCount().increaseBy(cols * rows);
 
+        Vector2 windowDimensions = brickerGameManager.getWindowDimensions();
+        streamChunks(0, 0, windowDimensions.x(), windowDimensions.y());
+    }
+
+    /**
+     * Initializes an empty grid with the specified number of columns and rows, and
+     * calculates the brick dimensions for it, without building any brick.
+     * Cells of the grid can then be filled one by one with buildBrick.
+     * Any brick of a previous grid is taken out of the game.
+     *
+     * @param cols the number of columns in the brick grid.
+     * @param rows the number of rows in the brick grid.
+     */
+    public void initEmptyGrid(int cols, int rows) {
+        for (int i = 0; i < liveChunks.size(); i++) {
+            dematerialize(liveChunks.get(i));
+        }
+        liveChunks.clear();
+
+        this.cols = cols;
+        this.rows = rows;
+        brickWidth = brickWidthFor(brickerGameManager.getWindowDimensions().x(), cols);
+
+        int chunkCols = (cols + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int chunkRows = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunks = new BrickChunk[chunkRows][chunkCols];
+        for (int chunkRow = 0; chunkRow < chunkRows; chunkRow++) {
+            for (int chunkCol = 0; chunkCol < chunkCols; chunkCol++) {
+                int firstCol = chunkCol * CHUNK_SIZE;
+                int firstRow = chunkRow * CHUNK_SIZE;
+                chunks[chunkRow][chunkCol] = new BrickChunk(firstCol,
+                        firstRow,
+                        Math.min(CHUNK_SIZE, cols - firstCol),
+                        Math.min(CHUNK_SIZE, rows - firstRow));
+            }
+        }
     }
 
     /**
      * Builds a brick object at the specified column and row in the game grid.
      * This method checks the provided indices for boundaries and ensures the
      * cell is not taken by another brick before creating a new brick. The brick is
-     * then added to the game manager and the corresponding grid cell is updated.
+     * then added to the game manager (if its chunk is live) and the corresponding
+     * grid cell is updated.
      *
      * @param col The column index where the brick will be placed in the grid.
      * @param row The row index where the brick will be placed in the grid.
      */
     public void buildBrick(int col, int row) {
-        if (row < 0 ||
-                grid.length <= row ||
-                col < 0 ||
-                grid[0].length <= col) {
-            System.err.println("One or more of the brick indexes" +
-                    "are out of the grid bounds, or the requested " +
-                    "cell is already taken by another brick.");
-            return;
-        }
-        if (grid[row][col] != null) {
-            return;
-        }
-
-        float topLeftX = EDGE_BUFFER + (col * (brickWidth + (2 * BRICK_BUFFER))) + BRICK_BUFFER;
-        float topLeftY = EDGE_BUFFER + (row * (BRICK_HEIGHT_IN_PX + (2 * BRICK_BUFFER))) + BRICK_BUFFER;
-        Vector2 topLeftCorner = new Vector2(topLeftX, topLeftY);
-        CollisionStrategy strategy = strategyHandler.generate();
-
-        Brick brick = new Brick(topLeftCorner,
-                col,
-                row,
-                brickWidth,
-                BRICK_HEIGHT_IN_PX,
-                brickImage,
-                strategy);
+        placeBrick(col, row, RANDOM_CELL);
+    }
 
-        grid[row][col] = brick;
-        brickerGameManager.addItem(brick, Layer.STATIC_OBJECTS);
-        brickerGameManager.brickCount.increment();
+    /**
+     * Builds a brick object with a given collision strategy at the specified column
+     * and row in the game grid, instead of a randomly generated one.
+     *
+     * @param col      The column index where the brick will be placed in the grid.
+     * @param row      The row index where the brick will be placed in the grid.
+     * @param strategy The collision strategy the brick will activate once hit.
+     */
+    public void buildBrick(int col, int row, CollisionStrategy strategy) {
+        placeBrick(col, row, strategyHandler.idOf(strategy));
     }
 
     /**
      * Removes a brick from the game grid at the specified column and row indices.
      * This method performs bounds checking to ensure the provided indices are valid
      * and the cell is not already empty. If valid, the brick is removed from the
-     * game objects, and the corresponding grid cell is set to null.
+     * game objects (if its chunk is live), and the corresponding grid cell is emptied,
+     * so that the brick stays destroyed when its chunk is streamed out and back in.
      * Additionally, it decrements the brick count in the game manager.
      *
      * @param col The column index of the brick to be destroyed in the grid.
      * @param row The row index of the brick to be destroyed in the grid.
      */
     public void destroyBrick(int col, int row) {
-        if (row < 0 ||
-                grid.length <= row ||
-                col < 0 ||
-                grid[0].length <= col) {
+        if (!isInGrid(col, row)) {
             System.err.println("One or more of the brick indexes " +
                     "are out of the grid bounds, or the requested " +
                     "cell is already empty.");
             return;
         }
 
-        if (grid[row][col] == null) {
+        BrickChunk chunk = chunkOf(col, row);
+        int index = chunk.indexOf(col, row);
+        if (chunk.strategyIds[index] == BrickChunk.EMPTY) {
             return;
         }
 
-        brickerGameManager.removeItem(grid[row][col], Layer.STATIC_OBJECTS);
-        grid[row][col] = null;
-        brickerGameManager.brickCount.decrement();
+        chunk.strategyIds[index] = BrickChunk.EMPTY;
+        if (chunk.isLive()) {
+            brickerGameManager.removeItem(chunk.bricks[index], BRICK_LAYER);
+            chunk.bricks[index] = null;
+        }
+        brickerGameManager.getBrickCount().decrement();
+
+        BrickDestroyedEvent event = new BrickDestroyedEvent();
+        if (event.isEnabled()) {
+            event.col = col;
+            event.row = row;
+            event.commit();
+        }
     }
 
     /**
+     * Returns the brick at the specified indices, if its chunk is live. A dormant chunk is
+     * never streamed in for it; getStrategyId answers for any cell of the grid.
+     *
      * @param col the column index of the desired brick in the grid.
      * @param row the row index of the desired brick in the grid.
-     * @return the Brick object located at the specified indices, or null if the indices are out of bounds.
+     * @return the Brick object located at the specified indices, or null if the indices
+     * are out of bounds, the cell is empty or the brick's chunk is dormant.
      */
     public Brick getBrick(int col, int row) {
-        if (row < 0 ||
-                grid.length <= row ||
-                col < 0 ||
-                grid[0].length <= col) {
+        if (!isInGrid(col, row)) {
             return null;
         }
-        return grid[row][col];
+        BrickChunk chunk = chunkOf(col, row);
+        if (!chunk.isLive()) {
+            return null;
+        }
+        return chunk.bricks[chunk.indexOf(col, row)];
+    }
+
+    /**
+     * Returns the strategy id of the brick in a cell of the grid, whether its chunk is live
+     * or dormant.
+     *
+     * @param col the column index of the cell in the grid.
+     * @param row the row index of the cell in the grid.
+     * @return the id (given by the StrategyHandler) of the brick's strategy, or EMPTY_CELL if
+     * the indices are out of bounds or the cell is empty.
+     */
+    public byte getStrategyId(int col, int row) {
+        if (!isInGrid(col, row)) {
+            return EMPTY_CELL;
+        }
+        BrickChunk chunk = chunkOf(col, row);
+        return chunk.strategyIds[chunk.indexOf(col, row)];
+    }
+
+    /**
+     * Returns a Brick object for a brick of the grid, for a strategy that needs the brick
+     * itself rather than its cell. The brick in the game is returned if the cell's chunk is
+     * live and the brick is still there; otherwise a new Brick is built at the cell's
+     * position, which isn't added to the game.
+     *
+     * @param col        the column index of the brick in the grid.
+     * @param row        the row index of the brick in the grid.
+     * @param strategyId the id of the brick's strategy.
+     * @return a Brick object for the brick.
+     */
+    public Brick getBrickObject(int col, int row, byte strategyId) {
+        Brick brick = getBrick(col, row);
+        if (brick != null && brick.getStrategyId() == strategyId) {
+            return brick;
+        }
+        return newBrick(col, row, strategyId);
+    }
+
+    /**
+     * @param col the column index of a cell in the grid.
+     * @param row the row index of a cell in the grid.
+     * @return the center of the cell's brick (whether or not the cell has one).
+     */
+    public Vector2 getCellCenter(int col, int row) {
+        return new Vector2(brickLeft(col) + (brickWidth * 0.5f), brickTop(row) + (BRICK_HEIGHT_IN_PX * 0.5f));
+    }
+
+    /**
+     * Makes a brick explode, destroying the bricks around it (and activating their
+     * strategies). Exploding bricks around it explode as well, and so on.
+     * See ChainReaction for the order things happen in.
+     *
+     * @param col   The column index of the exploding brick in the grid. The brick might
+     *              already be destroyed.
+     * @param row   The row index of the exploding brick in the grid.
+     * @param cause The game object that made the brick explode.
+     * @return True if this call started a new chain reaction, which is over by the time this
+     * method returns. False if the brick was hit by a chain reaction already in progress, and
+     * will explode as part of it.
+     */
+    public boolean explode(int col, int row, GameObject cause) {
+        return chainReaction.explode(col, row, cause);
+    }
+
+    /**
+     * Activates the strategy of a brick that was hit, by the strategy's id.
+     *
+     * @param brick The brick that was hit. It might already be destroyed.
+     * @param other The game object that hit the brick.
+     */
+    public void hitBrick(Brick brick, GameObject other) {
+        hitBrick(brick.getCol(), brick.getRow(), brick.getStrategyId(), other);
+    }
+
+    /**
+     * Activates the strategy of a brick that was hit, by the brick's cell and the
+     * strategy's id, so the brick doesn't need to exist as a Brick object.
+     * This is how the balls' collisions with the bricks, which are detected by the
+     * BrickHandler and the ball sweep rather than by the game engine, reach the bricks.
+     *
+     * @param col        The column index of the brick in the grid.
+     * @param row        The row index of the brick in the grid.
+     * @param strategyId The id of the brick's strategy. The brick might already be
+     *                   destroyed, so this isn't read from the grid.
+     * @param other      The game object that hit the brick.
+     */
+    public void hitBrick(int col, int row, byte strategyId, GameObject other) {
+        if (strategyId == EMPTY_CELL) {
+            return;
+        }
+        BrickHitEvent event = new BrickHitEvent();
+        if (event.isEnabled()) {
+            event.strategy = strategyHandler.getStrategy(strategyId).getClass();
+            event.col = col;
+            event.row = row;
+            event.hitBy = other.getClass();
+            event.commit();
+        }
+        long start = profiler.startStrategy();
+        strategyHandler.onCollision(strategyId, col, row, other);
+        profiler.endStrategy(start);
+    }
+
+    /**
+     * @return The StrategyHandler that gives the bricks of this BrickHandler their strategies.
+     */
+    public StrategyHandler getStrategyHandler() {
+        return strategyHandler;
+    }
+
+    /**
+     * @param strategyId The strategy id of a brick of the grid.
+     * @return True if the brick's strategy makes it explode.
+     */
+    boolean isExploding(byte strategyId) {
+        return strategyHandler.isExploding(strategyId);
+    }
+
+    /**
+     * Takes a brick out of the grid by emptying its cell, but doesn't remove it from the
+     * game yet. The cell is expected to be passed to removeCells shortly after.
+     * Only the chunk's byte array is touched, so a dormant chunk stays dormant.
+     *
+     * @param col the column index of the brick in the grid.
+     * @param row the row index of the brick in the grid.
+     * @return the strategy id of the brick that was in the cell, or EMPTY_CELL if the
+     * indices are out of bounds or the cell is empty.
+     */
+    byte takeCell(int col, int row) {
+        if (!isInGrid(col, row)) {
+            return EMPTY_CELL;
+        }
+        BrickChunk chunk = chunkOf(col, row);
+        int index = chunk.indexOf(col, row);
+        byte strategyId = chunk.strategyIds[index];
+        chunk.strategyIds[index] = BrickChunk.EMPTY;
+        return strategyId;
+    }
+
+    /**
+     * Removes a batch of bricks taken out of the grid with takeCell from the game. Only
+     * the bricks of live chunks exist as Brick objects to remove.
+     *
+     * @param cols The columns of the emptied cells.
+     * @param rows The rows of the emptied cells.
+     * @param from The index of the first cell to remove the brick of (inclusive).
+     * @param to   The index of the last cell to remove the brick of (exclusive).
+     */
+    void removeCells(int[] cols, int[] rows, int from, int to) {
+        for (int i = from; i < to; i++) {
+            BrickChunk chunk = chunkOf(cols[i], rows[i]);
+            if (chunk.isLive()) {
+                int index = chunk.indexOf(cols[i], rows[i]);
+                brickerGameManager.removeItem(chunk.bricks[index], BRICK_LAYER);
+                chunk.bricks[index] = null;
+            }
+
+            BrickDestroyedEvent event = new BrickDestroyedEvent();
+            if (event.isEnabled()) {
+                event.col = cols[i];
+                event.row = rows[i];
+                event.chainReaction = true;
+                event.commit();
+            }
+        }
+        brickerGameManager.getBrickCount().decreaseBy(to - from);
+    }
+
+    /**
+     * Brings the chunks near the given view into the game, and returns the chunks that
+     * are far from it to their dormant form.
+     *
+     * @param viewLeft   The left edge of the view, in world coordinates.
+     * @param viewTop    The top edge of the view, in world coordinates.
+     * @param viewWidth  The width of the view.
+     * @param viewHeight The height of the view.
+     */
+    public void streamChunks(float viewLeft, float viewTop, float viewWidth, float viewHeight) {
+        float cellWidth = brickWidth + (2 * BRICK_BUFFER);
+        float cellHeight = BRICK_HEIGHT_IN_PX + (2 * BRICK_BUFFER);
+        if (chunks == null || chunks.length == 0 || cellWidth <= 0) {
+            return;
+        }
+
+        int firstChunkCol = Math.floorDiv((int) Math.floor((viewLeft - EDGE_BUFFER) / cellWidth), CHUNK_SIZE);
+        int lastChunkCol = Math.floorDiv((int) Math.floor((viewLeft + viewWidth - EDGE_BUFFER) / cellWidth),
+                CHUNK_SIZE);
+        int firstChunkRow = Math.floorDiv((int) Math.floor((viewTop - EDGE_BUFFER) / cellHeight), CHUNK_SIZE);
+        int lastChunkRow = Math.floorDiv((int) Math.floor((viewTop + viewHeight - EDGE_BUFFER) / cellHeight),
+                CHUNK_SIZE);
+
+        //Stream out the live chunks that are too far from the view.
+        for (int i = liveChunks.size() - 1; i >= 0; i--) {
+            BrickChunk chunk = liveChunks.get(i);
+            int chunkCol = chunk.firstCol / CHUNK_SIZE;
+            int chunkRow = chunk.firstRow / CHUNK_SIZE;
+            if (chunkCol < firstChunkCol - STREAM_OUT_MARGIN ||
+                    lastChunkCol + STREAM_OUT_MARGIN < chunkCol ||
+                    chunkRow < firstChunkRow - STREAM_OUT_MARGIN ||
+                    lastChunkRow + STREAM_OUT_MARGIN < chunkRow) {
+                dematerialize(chunk);
+                liveChunks.set(i, liveChunks.get(liveChunks.size() - 1));
+                liveChunks.remove(liveChunks.size() - 1);
+            }
+        }
+
+        //Stream in the dormant chunks that are near the view.
+        int fromChunkRow = Math.max(0, firstChunkRow - STREAM_IN_MARGIN);
+        int toChunkRow = Math.min(chunks.length - 1, lastChunkRow + STREAM_IN_MARGIN);
+        int fromChunkCol = Math.max(0, firstChunkCol - STREAM_IN_MARGIN);
+        int toChunkCol = Math.min(chunks[0].length - 1, lastChunkCol + STREAM_IN_MARGIN);
+        for (int chunkRow = fromChunkRow; chunkRow <= toChunkRow; chunkRow++) {
+            for (int chunkCol = fromChunkCol; chunkCol <= toChunkCol; chunkCol++) {
+                if (!chunks[chunkRow][chunkCol].isLive()) {
+                    materialize(chunks[chunkRow][chunkCol]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the strategy id of every cell of the grid (EMPTY_CELL for an empty cell) into
+     * a buffer, row by row, starting at the buffer's position. The buffer's position is
+     * left as it was. A brick whose DoubleStrategy was resolved is written with the id of
+     * its combination (see StrategyHandler.getCombination), which the saved grid has to
+     * keep along with it.
+     *
+     * @param grid The buffer, with room for a byte per cell from its position on.
+     */
+    public void saveGrid(ByteBuffer grid) {
+        int start = grid.position();
+        for (BrickChunk[] chunkRow : chunks) {
+            for (BrickChunk chunk : chunkRow) {
+                for (int row = 0; row < chunk.rows; row++) {
+                    grid.position(start + ((chunk.firstRow + row) * cols) + chunk.firstCol);
+                    for (int i = row * chunk.cols; i < (row + 1) * chunk.cols; i++) {
+                        grid.put(chunk.strategyIds[i]);
+                    }
+                }
+            }
+        }
+        grid.position(start);
+    }
+
+    /**
+     * Replaces every cell of the grid with a strategy id read from a buffer written by
+     * saveGrid, for a grid of the same size, and sets the brick count to the amount of
+     * bricks in it. Every chunk is left dormant; the chunks near the view are brought back
+     * into the game by the next call to streamChunks. The buffer's position is left as it was.
+     * Nothing is drawn at random: the ids of the saved grid are translated to the ids of
+     * this grid's strategies, which may differ for the combinations of resolved bricks.
+     *
+     * @param grid The buffer, holding a byte per cell from its position on.
+     * @param ids  The id of this grid's strategy for every id of the saved grid, by the
+     *             saved id.
+     */
+    public void restoreGrid(ByteBuffer grid, byte[] ids) {
+        initEmptyGrid(cols, rows);
+        int bricks = readCells(grid, ids);
+        brickerGameManager.getBrickCount().reset();
+        brickerGameManager.getBrickCount().increaseBy(bricks);
+    }
+
+    /**
+     * Initializes a grid of the given size with the cells read from a buffer, instead of
+     * filling every cell with a random strategy like initBrickGrid does, and brings the
+     * bricks that are in view into the game. The cells are laid out like saveGrid writes
+     * them, except that a cell may also hold RANDOM_CELL, for a brick whose strategy is
+     * chosen at random. The buffer's position is left as it was, so several games can load
+     * their grids from the same buffer, even at the same time.
+     *
+     * @param cols  The number of columns in the brick grid.
+     * @param rows  The number of rows in the brick grid.
+     * @param cells The buffer, holding a byte per cell from its position on.
+     */
+    public void loadGrid(int cols, int rows, ByteBuffer cells) {
+        initEmptyGrid(cols, rows);
+        brickerGameManager.getBrickCount().increaseBy(readCells(cells, null));
+
+        Vector2 windowDimensions = brickerGameManager.getWindowDimensions();
+        streamChunks(0, 0, windowDimensions.x(), windowDimensions.y());
+    }
+
+    //Copies the cells, row by row, into the chunks, which cut every row into pieces. Without
+    // a translation of the ids, random cells are drawn and DoubleStrategy bricks resolved.
+    private int readCells(ByteBuffer cells, byte[] ids) {
+        ByteBuffer in = cells.duplicate();
+        int start = in.position();
+        int bricks = 0;
+        for (BrickChunk[] chunkRow : chunks) {
+            for (BrickChunk chunk : chunkRow) {
+                for (int row = 0; row < chunk.rows; row++) {
+                    in.position(start + ((chunk.firstRow + row) * cols) + chunk.firstCol);
+                    in.get(chunk.strategyIds, row * chunk.cols, chunk.cols);
+                }
+                for (int i = 0; i < chunk.strategyIds.length; i++) {
+                    if (ids != null) {
+                        if (chunk.strategyIds[i] != BrickChunk.EMPTY) {
+                            chunk.strategyIds[i] = ids[chunk.strategyIds[i]];
+                            bricks++;
+                        }
+                        continue;
+                    }
+                    if (chunk.strategyIds[i] == RANDOM_CELL) {
+                        chunk.strategyIds[i] = strategyHandler.generateId();
+                    }
+                    if (chunk.strategyIds[i] != BrickChunk.EMPTY) {
+                        chunk.strategyIds[i] = strategyHandler.resolve(chunk.strategyIds[i]);
+                    }
+                    if (chunk.strategyIds[i] != BrickChunk.EMPTY) {
+                        bricks++;
+                    }
+                }
+            }
+        }
+        return bricks;
+    }
+
+    /**
+     * @return The amount of chunks whose bricks currently exist in the game.
+     */
+    public int getLiveChunkCount() {
+        return liveChunks.size();
+    }
+
+    /**
+     * Calculates the width of the whole brick grid, edges included. Bricks never get
+     * narrower than what fits MAX_COLS_PER_SCREEN columns in the window, so a grid with
+     * more columns than that is wider than the window.
+     *
+     * @param windowWidth The width of the game window.
+     * @param cols        The number of columns in the brick grid.
+     * @return The width of the world the grid spans, which is never less than the window's.
+     */
+    public static float worldWidth(float windowWidth, int cols) {
+        float gridWidth = (2 * EDGE_BUFFER) + (cols * (brickWidthFor(windowWidth, cols) + (2 * BRICK_BUFFER)));
+        return Math.max(windowWidth, gridWidth);
+    }
+
+    private static float brickWidthFor(float windowWidth, int cols) {
+        return ((windowWidth - (2 * EDGE_BUFFER)) / Math.min(cols, MAX_COLS_PER_SCREEN)) - (2 * BRICK_BUFFER);
+    }
+
+    //A RANDOM_CELL strategy id is only drawn once the cell is known to be free, so a brick
+    // that isn't built doesn't take a draw from the game's random numbers.
+    private void placeBrick(int col, int row, byte strategyId) {
+        if (!isInGrid(col, row)) {
+            System.err.println("One or more of the brick indexes" +
+                    "are out of the grid bounds, or the requested " +
+                    "cell is already taken by another brick.");
+            return;
+        }
+        BrickChunk chunk = chunkOf(col, row);
+        int index = chunk.indexOf(col, row);
+        if (chunk.strategyIds[index] != BrickChunk.EMPTY) {
+            return;
+        }
+
+        if (strategyId == RANDOM_CELL) {
+            strategyId = strategyHandler.generateId();
+        }
+        chunk.strategyIds[index] = strategyHandler.resolve(strategyId);
+        if (chunk.isLive()) {
+            chunk.bricks[index] = createBrick(col, row, chunk.strategyIds[index]);
+        }
+        brickerGameManager.getBrickCount().increment();
+    }
+
+    private Brick createBrick(int col, int row, byte strategyId) {
+        Brick brick = newBrick(col, row, strategyId);
+        brickerGameManager.addItem(brick, BRICK_LAYER);
+        return brick;
+    }
+
+    private Brick newBrick(int col, int row, byte strategyId) {
+        return new Brick(new Vector2(brickLeft(col), brickTop(row)),
+                col,
+                row,
+                brickWidth,
+                BRICK_HEIGHT_IN_PX,
+                null,
+                strategyId);
+    }
+
+    private float brickLeft(int col) {
+        return EDGE_BUFFER + (col * (brickWidth + (2 * BRICK_BUFFER))) + BRICK_BUFFER;
+    }
+
+    private float brickTop(int row) {
+        return EDGE_BUFFER + (row * (BRICK_HEIGHT_IN_PX + (2 * BRICK_BUFFER))) + BRICK_BUFFER;
+    }
+
+    /**
+     * Draws every live brick. Bricks have no renderable of their own; they are all drawn
+     * here, one after the other, with the same brick image (an atlas region, when the
+     * sprites were preloaded).
+     *
+     * @param g The graphics to draw on.
+     */
+    void renderBricks(Graphics2D g) {
+        for (int i = 0; i < liveChunks.size(); i++) {
+            Brick[] bricks = liveChunks.get(i).bricks;
+            for (Brick brick : bricks) {
+                if (brick != null) {
+                    brickImage.render(g,
+                            brick.getTopLeftCorner(),
+                            brick.getDimensions(),
+                            0,
+                            false,
+                            false,
+                            1);
+                }
+            }
+        }
+    }
+
+    private void materialize(BrickChunk chunk) {
+        chunk.bricks = new Brick[chunk.strategyIds.length];
+        for (int row = chunk.firstRow; row < chunk.firstRow + chunk.rows; row++) {
+            for (int col = chunk.firstCol; col < chunk.firstCol + chunk.cols; col++) {
+                int index = chunk.indexOf(col, row);
+                if (chunk.strategyIds[index] != BrickChunk.EMPTY) {
+                    chunk.bricks[index] = createBrick(col, row, chunk.strategyIds[index]);
+                }
+            }
+        }
+        liveChunks.add(chunk);
+    }
+
+    private void dematerialize(BrickChunk chunk) {
+        for (Brick brick : chunk.bricks) {
+            if (brick != null) {
+                brickerGameManager.removeItem(brick, BRICK_LAYER);
+            }
+        }
+        chunk.bricks = null;
+    }
+
+    private boolean isInGrid(int col, int row) {
+        return chunks != null && 0 <= row && row < rows && 0 <= col && col < cols;
+    }
+
+    private BrickChunk chunkOf(int col, int row) {
+        return chunks[row / CHUNK_SIZE][col / CHUNK_SIZE];
+    }
+
+    /**
+     * Tests a ball against the bricks it overlaps, and if there are any, bounces the
+     * ball off the brick it overlaps the most and activates the strategies of every
+     * brick it overlaps.
+     * Only the grid cells under the ball's bounding box are looked at, so the cost of
+     * this test doesn't depend on the size of the grid.
+     *
+     * @param ball The ball to test.
+     */
+    public void collideBall(Ball ball) {
+        float cellWidth = brickWidth + (2 * BRICK_BUFFER);
+        float cellHeight = BRICK_HEIGHT_IN_PX + (2 * BRICK_BUFFER);
+        if (chunks == null || cellWidth <= 0) {
+            return;
+        }
+
+        Vector2 ballTopLeft = ball.getTopLeftCorner();
+        Vector2 ballDimensions = ball.getDimensions();
+        float ballLeft = ballTopLeft.x();
+        float ballTop = ballTopLeft.y();
+        float ballRight = ballLeft + ballDimensions.x();
+        float ballBottom = ballTop + ballDimensions.y();
+
+        int minCol = Math.max(0, (int) Math.floor((ballLeft - EDGE_BUFFER) / cellWidth));
+        int maxCol = Math.min(cols - 1, (int) Math.floor((ballRight - EDGE_BUFFER) / cellWidth));
+        int minRow = Math.max(0, (int) Math.floor((ballTop - EDGE_BUFFER) / cellHeight));
+        int maxRow = Math.min(rows - 1, (int) Math.floor((ballBottom - EDGE_BUFFER) / cellHeight));
+
+        int deepestCol = -1;
+        int deepestRow = -1;
+        float deepestOverlap = 0;
+        float deepestOverlapX = 0;
+        float deepestOverlapY = 0;
+        for (int row = minRow; row <= maxRow; row++) {
+            float brickTop = brickTop(row);
+            float overlapY = Math.min(ballBottom, brickTop + BRICK_HEIGHT_IN_PX) - Math.max(ballTop, brickTop);
+            if (overlapY <= 0) {
+                continue;
+            }
+            for (int col = minCol; col <= maxCol; col++) {
+                byte strategyId = getStrategyId(col, row);
+                if (strategyId == EMPTY_CELL) {
+                    continue;
+                }
+                float brickLeft = brickLeft(col);
+                float overlapX = Math.min(ballRight, brickLeft + brickWidth) - Math.max(ballLeft, brickLeft);
+                if (overlapX <= 0) {
+                    continue;
+                }
+                addHit(col, row, strategyId);
+                if (overlapX * overlapY > deepestOverlap) {
+                    deepestCol = col;
+                    deepestRow = row;
+                    deepestOverlap = overlapX * overlapY;
+                    deepestOverlapX = overlapX;
+                    deepestOverlapY = overlapY;
+                }
+            }
+        }
+
+        if (deepestCol < 0) {
+            return;
+        }
+
+        //The ball is pushed back along the axis it penetrated the least, and only bounces
+        // if it is still moving into the brick along that axis.
+        Vector2 ballVelocity = ball.getVelocity();
+        if (deepestOverlapX < deepestOverlapY) {
+            float towardsBrick = (brickLeft(deepestCol) + (brickWidth * 0.5f)) - ball.getCenter().x();
+            if (towardsBrick * ballVelocity.x() > 0) {
+                ball.bounce(Vector2.RIGHT);
+            }
+        } else {
+            float towardsBrick = (brickTop(deepestRow) + (BRICK_HEIGHT_IN_PX * 0.5f)) - ball.getCenter().y();
+            if (towardsBrick * ballVelocity.y() > 0) {
+                ball.bounce(Vector2.DOWN);
+            }
+        }
+
+        //Strategies may destroy other bricks and spawn new balls, so they only run once
+        // the grid is no longer being read.
+        for (int i = 0; i < hitCount; i++) {
+            hitBrick(hitCols[i], hitRows[i], hitIds[i], ball);
+        }
+        hitCount = 0;
+    }
+
+    private void addHit(int col, int row, byte strategyId) {
+        if (hitCount == hitIds.length) {
+            hitCols = Arrays.copyOf(hitCols, hitCount * 2);
+            hitRows = Arrays.copyOf(hitRows, hitCount * 2);
+            hitIds = Arrays.copyOf(hitIds, hitCount * 2);
+        }
+        hitCols[hitCount] = col;
+        hitRows[hitCount] = row;
+        hitIds[hitCount] = strategyId;
+        hitCount++;
+    }
+
+    /**
+     * Sweeps a moving box (a ball's path through a physics step) through the brick grid,
+     * and records the earliest brick it hits in a SweepHit, if it hits one before the
+     * earliest impact recorded there so far.
+     * Only the grid cells under the bounding box of the whole path are looked at.
+     *
+     * @param left   The left edge of the box at the start of the path.
+     * @param top    The top edge of the box at the start of the path.
+     * @param width  The width of the box.
+     * @param height The height of the box.
+     * @param dx     The horizontal displacement of the box along the path.
+     * @param dy     The vertical displacement of the box along the path.
+     * @param hit    The earliest impact found so far.
+     */
+    public void sweepBall(float left, float top, float width, float height, float dx, float dy, SweepHit hit) {
+        float cellWidth = brickWidth + (2 * BRICK_BUFFER);
+        float cellHeight = BRICK_HEIGHT_IN_PX + (2 * BRICK_BUFFER);
+        if (chunks == null || cellWidth <= 0) {
+            return;
+        }
+
+        float pathLeft = Math.min(left, left + dx);
+        float pathRight = Math.max(left, left + dx) + width;
+        float pathTop = Math.min(top, top + dy);
+        float pathBottom = Math.max(top, top + dy) + height;
+        int minCol = Math.max(0, (int) Math.floor((pathLeft - EDGE_BUFFER) / cellWidth));
+        int maxCol = Math.min(cols - 1, (int) Math.floor((pathRight - EDGE_BUFFER) / cellWidth));
+        int minRow = Math.max(0, (int) Math.floor((pathTop - EDGE_BUFFER) / cellHeight));
+        int maxRow = Math.min(rows - 1, (int) Math.floor((pathBottom - EDGE_BUFFER) / cellHeight));
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                if (getStrategyId(col, row) != EMPTY_CELL) {
+                    SweptAabb.sweepCell(left,
+                            top,
+                            width,
+                            height,
+                            dx,
+                            dy,
+                            brickLeft(col),
+                            brickTop(row),
+                            brickWidth,
+                            BRICK_HEIGHT_IN_PX,
+                            col,
+                            row,
+                            hit);
+                }
+            }
+        }
     }
 }
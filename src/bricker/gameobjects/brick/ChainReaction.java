@@ -0,0 +1,142 @@
+package bricker.gameobjects.brick;
+
+import danogl.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * ChainReaction spreads explosions over the brick grid without recursion.
+ * An explosion is handled in rounds, until no exploding brick is left to handle:
+ * - Starting from the exploding bricks waiting to be handled (the centers), the whole
+ *   blast set is found first: every brick next to a center (top, bottom, right, left)
+ *   joins the set, and every exploding brick that joins it becomes a center too.
+ * - All the bricks found in this round are removed from the game in a single batch.
+ * - The strategy of every brick found in this round that isn't an exploding brick is
+ *   activated once, in the order the bricks were found. If such a strategy makes its
+ *   brick explode as well (a DoubleStrategy might), the brick becomes a center for
+ *   the next round instead of exploding on the spot.
+ * Every brick of a chain reaction is hit by the game object that started it.
+ * The chain reaction works on the grid's cells, not on Brick objects: a brick joins the
+ * blast set by having its cell emptied in its chunk's byte array, so bricks of dormant
+ * chunks are destroyed without ever being built, and the strategies are given the cells.
+ * The arrays used by the chain reaction are kept between explosions, so an explosion
+ * only allocates when it's bigger than every explosion before it.
+ */
+class ChainReaction {
+
+    private final BrickHandler brickHandler;
+
+    //The cells of the exploding bricks, in the order they explode in.
+    private int[] centerCols = new int[16];
+    private int[] centerRows = new int[16];
+    private int centerCount = 0;
+    //The cells of the bricks in the blast set, and their strategy ids, in the order they were found.
+    private int[] blastCols = new int[16];
+    private int[] blastRows = new int[16];
+    private byte[] blastIds = new byte[16];
+    private int blastCount = 0;
+    private boolean inProgress = false;
+
+    /**
+     * Constructs a ChainReaction over the grid of a BrickHandler.
+     *
+     * @param brickHandler The handler of the grid explosions spread over.
+     */
+    ChainReaction(BrickHandler brickHandler) {
+        this.brickHandler = brickHandler;
+    }
+
+    /**
+     * Makes a brick explode. If a chain reaction is already in progress, the brick is
+     * only queued as another center of it.
+     *
+     * @param col   The column of the exploding brick. It might already be destroyed.
+     * @param row   The row of the exploding brick.
+     * @param cause The game object that made the brick explode.
+     * @return True if this call started a new chain reaction (which is over by the time
+     * this method returns), false if the brick joined the one in progress.
+     */
+    boolean explode(int col, int row, GameObject cause) {
+        if (inProgress) {
+            addCenter(col, row);
+            return false;
+        }
+
+        inProgress = true;
+        try {
+            //The exploding brick itself is removed along with its blast set.
+            byte strategyId = brickHandler.takeCell(col, row);
+            if (strategyId != BrickHandler.EMPTY_CELL) {
+                addBlastCell(col, row, strategyId);
+            }
+            addCenter(col, row);
+
+            int nextCenter = 0;
+            int nextRemoval = 0;
+            int nextActivation = 0;
+            while (nextCenter < centerCount) {
+                //Find every brick the pending centers reach.
+                while (nextCenter < centerCount) {
+                    int centerCol = centerCols[nextCenter];
+                    int centerRow = centerRows[nextCenter];
+                    nextCenter++;
+                    addToBlast(centerCol, centerRow - 1);
+                    addToBlast(centerCol, centerRow + 1);
+                    addToBlast(centerCol + 1, centerRow);
+                    addToBlast(centerCol - 1, centerRow);
+                }
+
+                brickHandler.removeCells(blastCols, blastRows, nextRemoval, blastCount);
+                nextRemoval = blastCount;
+
+                //Activate the strategies of the bricks found, which might add new centers.
+                while (nextActivation < nextRemoval) {
+                    byte blastId = blastIds[nextActivation];
+                    if (!brickHandler.isExploding(blastId)) {
+                        brickHandler.hitBrick(blastCols[nextActivation], blastRows[nextActivation], blastId, cause);
+                    }
+                    nextActivation++;
+                }
+            }
+        } finally {
+            centerCount = 0;
+            blastCount = 0;
+            inProgress = false;
+        }
+        return true;
+    }
+
+    private void addToBlast(int col, int row) {
+        //Taking the brick out of the grid empties its cell, so no brick joins the set twice.
+        byte strategyId = brickHandler.takeCell(col, row);
+        if (strategyId == BrickHandler.EMPTY_CELL) {
+            return;
+        }
+        addBlastCell(col, row, strategyId);
+        if (brickHandler.isExploding(strategyId)) {
+            addCenter(col, row);
+        }
+    }
+
+    private void addBlastCell(int col, int row, byte strategyId) {
+        if (blastCount == blastIds.length) {
+            blastCols = Arrays.copyOf(blastCols, blastCount * 2);
+            blastRows = Arrays.copyOf(blastRows, blastCount * 2);
+            blastIds = Arrays.copyOf(blastIds, blastCount * 2);
+        }
+        blastCols[blastCount] = col;
+        blastRows[blastCount] = row;
+        blastIds[blastCount] = strategyId;
+        blastCount++;
+    }
+
+    private void addCenter(int col, int row) {
+        if (centerCount == centerCols.length) {
+            centerCols = Arrays.copyOf(centerCols, centerCount * 2);
+            centerRows = Arrays.copyOf(centerRows, centerCount * 2);
+        }
+        centerCols[centerCount] = col;
+        centerRows[centerCount] = row;
+        centerCount++;
+    }
+}
@@ -4,6 +4,7 @@ package bricker.gameobjects.health_points;
 import bricker.main.BrickerGameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
 import danogl.gui.ImageReader;
 import danogl.gui.rendering.TextRenderable;
 import danogl.util.Vector2;
@@ -20,14 +21,25 @@ import java.util.Stack;
 public class HealthPointsPanel {
 
     private BrickerGameManager brickerGameManager;
-    private ImageReader imageReader;
+    private final HeartFactory heartFactory;
     private final float EDGE_BUFFER = 17f, OBJECT_BUFFER = 3f;
     private static final int DEFAULT_HP = 3;
+    private static final int MAX_HP = 4;
+    private static final Color HIGH_HP_COLOR = Color.decode("#24c538");
+    private static final Color MEDIUM_HP_COLOR = Color.decode("#dcea24");
+    private static final Color LOW_HP_COLOR = Color.decode("#fa000a");
+    private static final String[] HP_STRINGS = new String[MAX_HP + 1];
+
+    static {
+        for (int hp = 0; hp <= MAX_HP; hp++) {
+            HP_STRINGS[hp] = Integer.toString(hp);
+        }
+    }
     private float maxHeartWidth;
-    private static float edgeLength;
+    private final float edgeLength;
     private final float HeartTopLeftY;
     private int healthPoints = 0;
-    private static Stack<GameObject> HPStack;
+    private final Stack<GameObject> HPStack;
     private TextRenderable HealthPointsText;
 
     /**
@@ -45,7 +57,7 @@ public class HealthPointsPanel {
                              ImageReader imageReader) {
 
         this.brickerGameManager = brickerGameManager;
-        this.imageReader = imageReader;
+        this.heartFactory = new HeartFactory(imageReader);
 
         HPStack = new Stack<>();
         maxHeartWidth = ((windowDimensions.x() - (2 * EDGE_BUFFER)) / DEFAULT_HP) - (2 * OBJECT_BUFFER);
@@ -63,15 +75,15 @@ public class HealthPointsPanel {
      */
     private void initNumericHP(Vector2 windowDimensions) {
 
-        String stringHP = Integer.toString(healthPoints);
-        HealthPointsText = new TextRenderable(stringHP);
-        HealthPointsText.setColor(Color.decode("#24c538"));
+        HealthPointsText = new TextRenderable(HP_STRINGS[healthPoints]);
+        HealthPointsText.setColor(HIGH_HP_COLOR);
         GameObject numericHP = new GameObject(
                 new Vector2(EDGE_BUFFER + OBJECT_BUFFER,
                         windowDimensions.y() - (2 * (EDGE_BUFFER + edgeLength))),
                 new Vector2(edgeLength,
                         edgeLength),
                 HealthPointsText);
+        numericHP.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         brickerGameManager.addItem(numericHP, Layer.UI);
 
     }
@@ -86,22 +98,22 @@ public class HealthPointsPanel {
      * - Red for health points equal to or below 1.
      * This method ensures that the numeric HP display reflects the player's current
      * health status both visually and numerically.
+     * The strings and colors are prepared in advance, so updating allocates nothing.
      */
     private void updateNumericHP() {
 
-        String stringHP = Integer.toString(healthPoints);
-        HealthPointsText.setString(stringHP);
+        HealthPointsText.setString(HP_STRINGS[healthPoints]);
         switch (healthPoints) {
             case 2:
-                HealthPointsText.setColor(Color.decode("#dcea24"));
+                HealthPointsText.setColor(MEDIUM_HP_COLOR);
                 break;
             case 1:
             case 0:
-                HealthPointsText.setColor(Color.decode("#fa000a"));
+                HealthPointsText.setColor(LOW_HP_COLOR);
                 break;
             case 3:
             default:
-                HealthPointsText.setColor(Color.decode("#24c538"));
+                HealthPointsText.setColor(HIGH_HP_COLOR);
         }
 
     }
@@ -112,16 +124,15 @@ public class HealthPointsPanel {
      * ensures that the additional HP is only added if the current health points are below 4.
      */
     public void increaseHP() {
-        if (healthPoints < 4) {
-            HeartFactory heartFactory = HeartFactory.getInstance(imageReader);
+        if (healthPoints < MAX_HP) {
             float nextHeartTopLeftX =
                     EDGE_BUFFER +
                             (healthPoints * (edgeLength + (2 * OBJECT_BUFFER))) +
                             OBJECT_BUFFER;
             GameObject heart =
-                    heartFactory.build(brickerGameManager,
-                            edgeLength,
+                    heartFactory.build(edgeLength,
                             new Vector2(nextHeartTopLeftX, HeartTopLeftY));
+            heart.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
             HPStack.push(heart);
             brickerGameManager.addItem(heart, Layer.UI);
             healthPoints++;
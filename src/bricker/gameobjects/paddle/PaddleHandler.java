@@ -1,5 +1,6 @@
 package bricker.gameobjects.paddle;
 
+import bricker.assets.AssetCache;
 import bricker.gameobjects.Paddle;
 import bricker.main.BrickerGameManager;
 import danogl.gui.ImageReader;
@@ -15,8 +16,6 @@ import danogl.util.Vector2;
  */
 public class PaddleHandler {
 
-    private static PaddleHandler instance;
-
     private final BrickerGameManager brickerGameManager;
 
     private final Vector2 windowDimensions;
@@ -50,7 +49,7 @@ public class PaddleHandler {
                          ImageReader imageReader) {
 
         this.brickerGameManager = brickerGameManager;
-        paddleImage = imageReader.readImage("assets/paddle.png", true);
+        paddleImage = AssetCache.readImage(imageReader, "assets/paddle.png", true);
         this.windowDimensions = windowDimensions;
         this.inputListener = inputListener;
 
@@ -77,7 +76,8 @@ public class PaddleHandler {
 
         switch (paddleType) {
             case STRATEGY:
-                startCenter = new Vector2(windowDimensions.x() / 2, windowDimensions.y() / 2);
+                //Strategy paddles appear in the middle of whatever part of the world is in view.
+                startCenter = brickerGameManager.getViewCenter();
                 paddleCounter = 0;
                 break;
             case USER:
@@ -93,7 +93,7 @@ public class PaddleHandler {
                 brickerGameManager,
                 paddleImage,
                 inputListener,
-                windowDimensions);
+                brickerGameManager.getWorldDimensions());
 
     }
 
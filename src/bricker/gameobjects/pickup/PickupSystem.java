@@ -0,0 +1,302 @@
+package bricker.gameobjects.pickup;
+
+import bricker.assets.AssetCache;
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+import bricker.main.BrickerGameManager;
+import danogl.GameObject;
+import danogl.components.CoordinateSpace;
+import danogl.gui.ImageReader;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.awt.Graphics2D;
+
+/**
+ * The PickupSystem owns every falling pickup in the game (hearts and power-ups).
+ * Instead of being a GameObject of its own, each pickup is a slot in a fixed set of
+ * arrays, and slots are recycled once their pickup is caught or falls off the screen.
+ * All pickups are moved in a single pass per frame, and they are tested against the
+ * main paddle only, so they never take part in the game's general collision detection.
+ */
+public class PickupSystem extends GameObject {
+
+    private static final int CAPACITY = 64;
+    private static final float FALLING_SPEED = 100;
+
+    private static final float WIDEN_FACTOR = 1.5f;
+    private static final float NARROW_FACTOR = 1 / WIDEN_FACTOR;
+    private static final float QUICKEN_FACTOR = 1.3f;
+    private static final float SLOW_FACTOR = 1 / QUICKEN_FACTOR;
+
+    private static final PickupType[] TYPES = PickupType.values();
+
+    private final BrickerGameManager brickerGameManager;
+    private final Paddle mainPaddle;
+    private final Ball mainBall;
+    private final float bottomY;
+    private final float edgeLength;
+    private final Vector2 pickupDimensions;
+    private final Renderable[] images = new Renderable[TYPES.length];
+
+    private final float[] topLeftX = new float[CAPACITY];
+    private final float[] topLeftY = new float[CAPACITY];
+    private final float[] velocityY = new float[CAPACITY];
+    private final PickupType[] types = new PickupType[CAPACITY];
+    private final int[] activeSlots = new int[CAPACITY];
+    private final int[] freeSlots = new int[CAPACITY];
+    private int activeCount = 0;
+    private int freeCount = CAPACITY;
+    private long dropped = 0;
+
+    /**
+     * Constructs a PickupSystem with all of its slots free.
+     *
+     * @param brickerGameManager The game manager, used to apply the effects of caught pickups.
+     * @param imageReader        The image reader used to load the pickups' sprites.
+     * @param mainPaddle         The main paddle, the only object that can catch pickups.
+     * @param mainBall           The main ball, affected by the speed pickups.
+     * @param windowDimensions   The dimensions of the game window; pickups falling below
+     *                           its bottom are recycled.
+     * @param edgeLength         The edge length of a pickup's bounding square.
+     */
+    public PickupSystem(BrickerGameManager brickerGameManager,
+                        ImageReader imageReader,
+                        Paddle mainPaddle,
+                        Ball mainBall,
+                        Vector2 windowDimensions,
+                        float edgeLength) {
+        super(Vector2.ZERO, windowDimensions, null);
+        this.brickerGameManager = brickerGameManager;
+        this.mainPaddle = mainPaddle;
+        this.mainBall = mainBall;
+        this.bottomY = windowDimensions.y();
+        this.edgeLength = edgeLength;
+        this.pickupDimensions = new Vector2(edgeLength, edgeLength);
+        //Covers the window, so that it is never culled as an object outside the view.
+        setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+
+        for (PickupType type : TYPES) {
+            images[type.ordinal()] = AssetCache.readImage(imageReader, imagePath(type), true);
+        }
+        for (int i = 0; i < CAPACITY; i++) {
+            freeSlots[i] = CAPACITY - 1 - i;
+        }
+    }
+
+    /**
+     * Drops a new pickup, falling from the given center.
+     * If every slot is taken, the pickup is dropped and counted instead.
+     *
+     * @param type   The type of the pickup.
+     * @param center The center coordinates the pickup starts falling from.
+     */
+    public void spawn(PickupType type, Vector2 center) {
+        if (freeCount == 0) {
+            dropped++;
+            return;
+        }
+        int slot = freeSlots[--freeCount];
+        topLeftX[slot] = center.x() - edgeLength / 2;
+        topLeftY[slot] = center.y() - edgeLength / 2;
+        velocityY[slot] = FALLING_SPEED;
+        types[slot] = type;
+        activeSlots[activeCount++] = slot;
+    }
+
+    /**
+     * Moves every falling pickup, then applies and recycles those caught by the main
+     * paddle, and recycles those that fell off the screen.
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last frame.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+
+        Vector2 paddleTopLeft = mainPaddle.getTopLeftCorner();
+        Vector2 paddleDimensions = mainPaddle.getDimensions();
+        float paddleLeft = paddleTopLeft.x();
+        float paddleTop = paddleTopLeft.y();
+        float paddleRight = paddleLeft + paddleDimensions.x();
+        float paddleBottom = paddleTop + paddleDimensions.y();
+
+        int i = 0;
+        while (i < activeCount) {
+            int slot = activeSlots[i];
+            topLeftY[slot] += velocityY[slot] * deltaTime;
+            float left = topLeftX[slot];
+            float top = topLeftY[slot];
+
+            boolean caught = left < paddleRight && paddleLeft < left + edgeLength &&
+                    top < paddleBottom && paddleTop < top + edgeLength;
+            if (caught) {
+                applyEffect(types[slot]);
+            }
+            if (caught || bottomY < top + edgeLength / 2) {
+                //Recycle the slot, moving the last active slot into its place.
+                types[slot] = null;
+                freeSlots[freeCount++] = slot;
+                activeSlots[i] = activeSlots[--activeCount];
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Draws every falling pickup. The graphics are moved to each pickup in turn, rather
+     * than handing every pickup's position to its image, so drawing allocates nothing.
+     * Pickups fall in world coordinates, so they are shifted by the part of the world in
+     * view, like the bricks they drop from.
+     *
+     * @param g The graphics context to draw on.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        int viewLeft = brickerGameManager.getViewLeft();
+        for (int i = 0; i < activeCount; i++) {
+            int slot = activeSlots[i];
+            float x = topLeftX[slot] - viewLeft;
+            g.translate(x, topLeftY[slot]);
+            images[types[slot].ordinal()].render(g,
+                    Vector2.ZERO,
+                    pickupDimensions,
+                    0,
+                    false,
+                    false,
+                    1);
+            g.translate(-x, -topLeftY[slot]);
+        }
+    }
+
+    /**
+     * The PickupSystem does its own collision tests, so it never collides through the game.
+     *
+     * @param other Any game object.
+     * @return Always false.
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return false;
+    }
+
+    /**
+     * @return The amount of pickups currently falling.
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @param i The index of a falling pickup, from 0 to getActiveCount() (exclusive), in
+     *          the order the pickups are moved in.
+     * @return The type of the pickup.
+     */
+    public PickupType getActiveType(int i) {
+        return types[activeSlots[i]];
+    }
+
+    /**
+     * @param i The index of a falling pickup (see getActiveType).
+     * @return The x coordinate of the pickup's top-left corner.
+     */
+    public float getActiveTopLeftX(int i) {
+        return topLeftX[activeSlots[i]];
+    }
+
+    /**
+     * @param i The index of a falling pickup (see getActiveType).
+     * @return The y coordinate of the pickup's top-left corner.
+     */
+    public float getActiveTopLeftY(int i) {
+        return topLeftY[activeSlots[i]];
+    }
+
+    /**
+     * @param i The index of a falling pickup (see getActiveType).
+     * @return The pickup's falling speed.
+     */
+    public float getActiveVelocityY(int i) {
+        return velocityY[activeSlots[i]];
+    }
+
+    /**
+     * Recycles every falling pickup at once, leaving every slot free.
+     */
+    public void clear() {
+        for (int i = 0; i < activeCount; i++) {
+            types[activeSlots[i]] = null;
+        }
+        activeCount = 0;
+        freeCount = CAPACITY;
+        for (int i = 0; i < CAPACITY; i++) {
+            freeSlots[i] = CAPACITY - 1 - i;
+        }
+    }
+
+    /**
+     * Puts back a pickup read by the getActive methods, after the pickups falling already.
+     * If every slot is taken, the pickup is dropped and counted instead.
+     *
+     * @param type      The type of the pickup.
+     * @param topLeftX  The x coordinate of the pickup's top-left corner.
+     * @param topLeftY  The y coordinate of the pickup's top-left corner.
+     * @param velocityY The pickup's falling speed.
+     */
+    public void restore(PickupType type, float topLeftX, float topLeftY, float velocityY) {
+        if (freeCount == 0) {
+            dropped++;
+            return;
+        }
+        int slot = freeSlots[--freeCount];
+        this.topLeftX[slot] = topLeftX;
+        this.topLeftY[slot] = topLeftY;
+        this.velocityY[slot] = velocityY;
+        types[slot] = type;
+        activeSlots[activeCount++] = slot;
+    }
+
+    /**
+     * @return The amount of pickups that could not be spawned because every slot was taken.
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    private void applyEffect(PickupType type) {
+        switch (type) {
+            case WIDEN:
+                mainPaddle.resize(WIDEN_FACTOR);
+                break;
+            case NARROW:
+                mainPaddle.resize(NARROW_FACTOR);
+                break;
+            case QUICKEN:
+                mainBall.changeSpeed(QUICKEN_FACTOR);
+                break;
+            case SLOW:
+                mainBall.changeSpeed(SLOW_FACTOR);
+                break;
+            case HEART:
+            default:
+                brickerGameManager.increaseHP();
+        }
+    }
+
+    private static String imagePath(PickupType type) {
+        switch (type) {
+            case WIDEN:
+                return "assets/buffWiden.png";
+            case NARROW:
+                return "assets/buffNarrow.png";
+            case QUICKEN:
+                return "assets/quicken.png";
+            case SLOW:
+                return "assets/slow.png";
+            case HEART:
+            default:
+                return "assets/heart.png";
+        }
+    }
+}
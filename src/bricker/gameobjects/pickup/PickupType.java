@@ -0,0 +1,31 @@
+package bricker.gameobjects.pickup;
+
+/**
+ * An enum representing the type of a falling pickup in the game.
+ * Each type has its own sprite and its own effect once the main paddle catches it.
+ * Only hearts are dropped in the game so far (see HealthBonusStrategy); the power-ups
+ * are carried by the PickupSystem all the same, so dropping one is a matter of calling
+ * PickupSystem.spawn with its type.
+ */
+public enum PickupType {
+    /**
+     * A heart, which gives the player one more HP.
+     */
+    HEART,
+    /**
+     * Makes the main paddle wider.
+     */
+    WIDEN,
+    /**
+     * Makes the main paddle narrower.
+     */
+    NARROW,
+    /**
+     * Makes the main ball faster.
+     */
+    QUICKEN,
+    /**
+     * Makes the main ball slower.
+     */
+    SLOW
+}
@@ -0,0 +1,52 @@
+package bricker.headless;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+import bricker.main.BrickerGameManager;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Plays a headless session in place of a player, by holding the arrow keys that move
+ * the user's paddle under the main ball. The paddle only moves while the ball is more
+ * than DEAD_ZONE pixels to its side, so it doesn't jitter under the ball.
+ */
+public class Autopilot {
+
+    private static final float DEAD_ZONE = 10;
+
+    private final HeadlessSession session;
+
+    /**
+     * Constructs an Autopilot.
+     *
+     * @param session The session to play.
+     */
+    public Autopilot(HeadlessSession session) {
+        this.session = session;
+    }
+
+    /**
+     * Presses the keys for the next tick, according to where the main ball is.
+     * Expected to be called before every step of the session.
+     */
+    public void steer() {
+        BrickerGameManager gameManager = session.getGameManager();
+        HeadlessInputListener inputListener = session.getInputListener();
+        inputListener.release(KeyEvent.VK_LEFT);
+        inputListener.release(KeyEvent.VK_RIGHT);
+
+        Ball mainBall = gameManager.getMainBall();
+        Paddle paddle = gameManager.getUserPaddle();
+        Vector2 ballTopLeft = mainBall.getTopLeftCorner();
+        Vector2 paddleTopLeft = paddle.getTopLeftCorner();
+        float ballCenterX = ballTopLeft.x() + (mainBall.getDimensions().x() / 2);
+        float paddleCenterX = paddleTopLeft.x() + (paddle.getDimensions().x() / 2);
+        if (ballCenterX < paddleCenterX - DEAD_ZONE) {
+            inputListener.press(KeyEvent.VK_LEFT);
+        } else if (ballCenterX > paddleCenterX + DEAD_ZONE) {
+            inputListener.press(KeyEvent.VK_RIGHT);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package bricker.headless;
+
+import danogl.gui.ImageReader;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.ImageRenderable;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * A stand-in ImageReader which never touches the disk. Every requested image is
+ * replaced with the same 1x1 placeholder, since nothing is ever drawn in a
+ * headless session.
+ */
+public class HeadlessImageReader extends ImageReader {
+
+    private static final ImageRenderable PLACEHOLDER =
+            new ImageRenderable(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB));
+
+    /**
+     * Constructs a HeadlessImageReader.
+     *
+     * @param windowController The (headless) window controller of the session.
+     */
+    public HeadlessImageReader(WindowController windowController) {
+        super(windowController);
+    }
+
+    /**
+     * @param imageFilePath             Ignored.
+     * @param isTopLeftPixelTransparent Ignored.
+     * @return The shared placeholder image.
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean isTopLeftPixelTransparent) {
+        return PLACEHOLDER;
+    }
+}
@@ -0,0 +1,54 @@
+package bricker.headless;
+
+import danogl.gui.UserInputListener;
+import danogl.util.Vector2;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A stand-in UserInputListener whose keys are pressed and released by code
+ * instead of by a keyboard. By default no key is ever pressed.
+ */
+public class HeadlessInputListener implements UserInputListener {
+
+    private final Set<Integer> pressedKeys = new HashSet<>();
+
+    /**
+     * Marks a key as held down until it is released.
+     *
+     * @param keyCode The KeyEvent code of the key.
+     */
+    public void press(int keyCode) {
+        pressedKeys.add(keyCode);
+    }
+
+    /**
+     * Marks a key as no longer held down.
+     *
+     * @param keyCode The KeyEvent code of the key.
+     */
+    public void release(int keyCode) {
+        pressedKeys.remove(keyCode);
+    }
+
+    @Override
+    public boolean isKeyPressed(int keyCode) {
+        return pressedKeys.contains(keyCode);
+    }
+
+    @Override
+    public Set<Integer> pressedKeys() {
+        return pressedKeys;
+    }
+
+    @Override
+    public boolean isMouseButtonPressed(int button) {
+        return false;
+    }
+
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return Vector2.ZERO;
+    }
+}
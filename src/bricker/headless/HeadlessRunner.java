@@ -0,0 +1,115 @@
+package bricker.headless;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.gameobjects.ball.BallPool;
+import bricker.level.LevelFile;
+import bricker.snapshot.GameSnapshot;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Entry point for soak-testing and profiling the game simulation on machines with
+ * no display and no audio device. It steps a HeadlessSession with a fixed delta as
+ * fast as the CPU allows, and reports the achieved ticks per second and the wall
+ * time spent per tick.
+ */
+public class HeadlessRunner {
+
+    private static final int DEFAULT_BRICK_COLS = 8;
+    private static final int DEFAULT_BRICK_ROWS = 7;
+    private static final long DEFAULT_TICKS = 100_000;
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(1050, 750);
+    private static final double NANOS_IN_SECOND = 1e9;
+    private static final double NANOS_IN_MILLI = 1e6;
+    private static final double NANOS_IN_MICRO = 1e3;
+
+    /**
+     * Runs a single headless session and prints its timing report.
+     *
+     * @param args Command-line arguments where:
+     *             args[0] specifies the number of columns of bricks (optional), or the
+     *             path of a level file, named with LevelFile.EXTENSION, to load the grid
+     *             from instead.
+     *             args[1] specifies the number of rows of bricks (optional; ignored when
+     *             args[0] is a level file).
+     *             args[2] specifies the maximal amount of ticks to run (optional).
+     *             args[3] specifies a snapshot file to resume a round from, instead of
+     *             starting a new one; the grid is then the snapshot's (optional).
+     */
+    public static void main(String[] args) {
+        int cols = DEFAULT_BRICK_COLS,
+                rows = DEFAULT_BRICK_ROWS;
+        long maxTicks = DEFAULT_TICKS;
+        LevelFile level = null;
+        if (args.length >= 1 && args[0].endsWith(LevelFile.EXTENSION)) {
+            long start = System.nanoTime();
+            try {
+                level = LevelFile.open(args[0]);
+            } catch (IOException e) {
+                System.err.println("Couldn't load the level " + args[0] + ": " + e.getMessage());
+                return;
+            }
+            cols = level.getCols();
+            rows = level.getRows();
+            System.out.printf("level:           %s mapped in %.2f ms%n",
+                    args[0], (System.nanoTime() - start) / NANOS_IN_MILLI);
+        } else if (args.length >= 2) {
+            cols = Integer.parseInt(args[0]);
+            rows = Integer.parseInt(args[1]);
+        }
+        if (args.length >= 3) {
+            maxTicks = Long.parseLong(args[2]);
+        }
+
+        HeadlessSession session;
+        if (args.length >= 4) {
+            GameSnapshot snapshot;
+            try {
+                snapshot = GameSnapshot.read(args[3]);
+            } catch (IOException e) {
+                System.err.println("Couldn't read the snapshot " + args[3] + ": " + e.getMessage());
+                return;
+            }
+            cols = snapshot.getCols();
+            rows = snapshot.getRows();
+            session = new HeadlessSession(snapshot);
+        } else if (level != null) {
+            long start = System.nanoTime();
+            session = new HeadlessSession(WINDOW_DIMENSIONS, level, new Random().nextLong(), StrategyWeights.DEFAULT);
+            System.out.printf("level:           game initialized in %.2f ms%n", (System.nanoTime() - start) / NANOS_IN_MILLI);
+        } else {
+            session = new HeadlessSession(WINDOW_DIMENSIONS, cols, rows);
+        }
+
+        long slowestTick = 0;
+        long start = System.nanoTime();
+        while (session.getTicks() < maxTicks) {
+            long tickStart = System.nanoTime();
+            boolean running = session.step(HeadlessSession.DEFAULT_DELTA_TIME);
+            slowestTick = Math.max(slowestTick, System.nanoTime() - tickStart);
+            if (!running) {
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long ticks = session.getTicks();
+        System.out.printf("grid:            %d x %d%n", cols, rows);
+        System.out.printf("ticks:           %d%s%n", ticks, session.isOver() ? " (game ended)" : "");
+        System.out.printf("wall time:       %.3f s%n", elapsed / NANOS_IN_SECOND);
+        if (ticks > 0) {
+            System.out.printf("ticks/second:    %.1f%n", ticks * NANOS_IN_SECOND / elapsed);
+            System.out.printf("mean tick time:  %.2f us%n", elapsed / NANOS_IN_MICRO / ticks);
+            System.out.printf("slowest tick:    %.2f us%n", slowestTick / NANOS_IN_MICRO);
+        }
+
+        BallPool puckPool = session.getGameManager().getBallFactory().getPuckPool();
+        System.out.printf("puck pool:       %d hits, %d misses, high-water mark %d (capacity %d)%n",
+                puckPool.getHits(),
+                puckPool.getMisses(),
+                puckPool.getHighWaterMark(),
+                puckPool.getCapacity());
+    }
+}
@@ -0,0 +1,172 @@
+package bricker.headless;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.level.LevelFile;
+import bricker.main.BrickerGameManager;
+import bricker.snapshot.GameSnapshot;
+import danogl.util.Vector2;
+
+/**
+ * A single game session that runs with no window, no audio device and no
+ * framerate cap. The session owns the stand-in readers and controllers it hands
+ * to the BrickerGameManager, and it is advanced by calling step with a fixed
+ * delta as many times as the caller wants.
+ */
+public class HeadlessSession {
+
+    /**
+     * The fixed time step used by default, matching the 80 FPS the windowed game targets.
+     */
+    public static final float DEFAULT_DELTA_TIME = 1f / 80;
+
+    private final BrickerGameManager gameManager;
+    private final HeadlessWindowController windowController;
+    private final HeadlessInputListener inputListener;
+    private final HeadlessImageReader imageReader;
+    private final HeadlessSoundReader soundReader;
+    private long ticks = 0;
+
+    /**
+     * Constructs and initializes a headless session.
+     *
+     * @param windowDimensions The dimensions of the imaginary game window.
+     * @param cols             The number of columns of bricks in the game.
+     * @param rows             The number of rows of bricks in the game.
+     */
+    public HeadlessSession(Vector2 windowDimensions, int cols, int rows) {
+        this(new BrickerGameManager("Bricker (headless)", windowDimensions, cols, rows), windowDimensions);
+    }
+
+    /**
+     * Constructs and initializes a headless session whose game follows from a seed.
+     * Sessions share no game state, so several of them can run on different threads.
+     *
+     * @param windowDimensions The dimensions of the imaginary game window.
+     * @param cols             The number of columns of bricks in the game.
+     * @param rows             The number of rows of bricks in the game.
+     * @param seed             The seed of the game's random generator.
+     * @param strategyWeights  The probabilities the bricks' strategies are chosen with.
+     */
+    public HeadlessSession(Vector2 windowDimensions,
+                           int cols,
+                           int rows,
+                           long seed,
+                           StrategyWeights strategyWeights) {
+        this(new BrickerGameManager("Bricker (headless)",
+                windowDimensions,
+                cols,
+                rows,
+                seed,
+                strategyWeights), windowDimensions);
+    }
+
+    /**
+     * Constructs and initializes a headless session whose grid is loaded from a level file,
+     * and whose game follows from a seed.
+     *
+     * @param windowDimensions The dimensions of the imaginary game window.
+     * @param level            The level the grid is loaded from.
+     * @param seed             The seed of the game's random generator.
+     * @param strategyWeights  The probabilities the strategies of the level's random bricks
+     *                         are chosen with.
+     */
+    public HeadlessSession(Vector2 windowDimensions,
+                           LevelFile level,
+                           long seed,
+                           StrategyWeights strategyWeights) {
+        this(new BrickerGameManager("Bricker (headless)",
+                windowDimensions,
+                level,
+                seed,
+                strategyWeights), windowDimensions);
+    }
+
+    /**
+     * Constructs a headless session that resumes the round a snapshot was taken of.
+     *
+     * @param snapshot The snapshot, whose setup (grid size, window dimensions and strategy
+     *                 table) the session's game is constructed with.
+     */
+    public HeadlessSession(GameSnapshot snapshot) {
+        this(snapshot.getWindowDimensions(),
+                snapshot.getCols(),
+                snapshot.getRows(),
+                snapshot.getRoundSeed(),
+                snapshot.getStrategyWeights());
+        gameManager.restoreSnapshot(snapshot);
+    }
+
+    private HeadlessSession(BrickerGameManager gameManager, Vector2 windowDimensions) {
+        this.gameManager = gameManager;
+        windowController = new HeadlessWindowController(windowDimensions, false);
+        inputListener = new HeadlessInputListener();
+        imageReader = new HeadlessImageReader(windowController.asWindowController());
+        soundReader = new HeadlessSoundReader(windowController.asWindowController());
+        gameManager.initializeGame(imageReader, soundReader, inputListener,
+                windowController.asWindowController());
+    }
+
+    /**
+     * Advances the game by a single tick.
+     *
+     * @param deltaTime The time, in seconds, the tick simulates.
+     * @return True if the session can keep running, false once the game has ended.
+     */
+    public boolean step(float deltaTime) {
+        if (isOver()) {
+            return false;
+        }
+        gameManager.update(deltaTime);
+        ticks++;
+        return !isOver();
+    }
+
+    /**
+     * @return True once the game has ended (it asked to close or to reset its window).
+     */
+    public boolean isOver() {
+        return windowController.isClosed() || windowController.isResetRequested();
+    }
+
+    /**
+     * @return The amount of ticks this session has been advanced by.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * @return The game manager driven by this session.
+     */
+    public BrickerGameManager getGameManager() {
+        return gameManager;
+    }
+
+    /**
+     * @return The input listener of this session, used to press keys by code.
+     */
+    public HeadlessInputListener getInputListener() {
+        return inputListener;
+    }
+
+    /**
+     * @return The image reader of this session.
+     */
+    public HeadlessImageReader getImageReader() {
+        return imageReader;
+    }
+
+    /**
+     * @return The sound reader of this session.
+     */
+    public HeadlessSoundReader getSoundReader() {
+        return soundReader;
+    }
+
+    /**
+     * @return The window controller of this session.
+     */
+    public HeadlessWindowController getWindowController() {
+        return windowController;
+    }
+}
@@ -0,0 +1,31 @@
+package bricker.headless;
+
+import danogl.gui.Sound;
+import danogl.gui.SoundReader;
+import danogl.gui.WindowController;
+
+/**
+ * A stand-in SoundReader for machines without an audio device.
+ * It never reads a file and hands back no sound at all, which the game
+ * objects treat as a sound that is never played.
+ */
+public class HeadlessSoundReader extends SoundReader {
+
+    /**
+     * Constructs a HeadlessSoundReader.
+     *
+     * @param windowController The (headless) window controller of the session.
+     */
+    public HeadlessSoundReader(WindowController windowController) {
+        super(windowController);
+    }
+
+    /**
+     * @param soundFilePath Ignored.
+     * @return Always null, meaning "no sound".
+     */
+    @Override
+    public Sound readSound(String soundFilePath) {
+        return null;
+    }
+}
@@ -0,0 +1,127 @@
+package bricker.headless;
+
+import danogl.gui.WindowController;
+import danogl.util.Vector2;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * A stand-in WindowController for running the game without a window.
+ * It remembers the requests the game makes of the window (framerate, closing,
+ * resetting) so that the driver of the headless session can react to them,
+ * and answers every yes/no dialog with a fixed, pre-configured answer.
+ * The game is handed a proxy of the WindowController interface rather than an
+ * implementation of it, so that the stand-in doesn't depend on the exact set of
+ * methods of the library's interface: the requests above are routed to this
+ * controller, and any other request is ignored and answered with a default value.
+ */
+public class HeadlessWindowController {
+
+    private final Vector2 windowDimensions;
+    private final boolean dialogAnswer;
+    private final WindowController windowController;
+    private int targetFramerate;
+    private float timeScale = 1f;
+    private boolean closed = false;
+    private boolean resetRequested = false;
+
+    /**
+     * Constructs a HeadlessWindowController.
+     *
+     * @param windowDimensions The dimensions of the imaginary game window.
+     * @param dialogAnswer     The answer given to every yes/no dialog the game opens
+     *                         (for example, "Play again?").
+     */
+    public HeadlessWindowController(Vector2 windowDimensions, boolean dialogAnswer) {
+        this.windowDimensions = windowDimensions;
+        this.dialogAnswer = dialogAnswer;
+        windowController = (WindowController) Proxy.newProxyInstance(WindowController.class.getClassLoader(),
+                new Class<?>[]{WindowController.class},
+                (proxy, method, args) -> answer(proxy, method, args));
+    }
+
+    /**
+     * @return The WindowController to hand to the game and to the readers.
+     */
+    public WindowController asWindowController() {
+        return windowController;
+    }
+
+    /**
+     * @return The dimensions of the imaginary game window.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * @return The framerate the game last asked for, or 0 if it never asked.
+     */
+    public int getTargetFramerate() {
+        return targetFramerate;
+    }
+
+    /**
+     * @return The time scale the game last asked for.
+     */
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * @return True if the game asked to close its (imaginary) window.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return True if the game asked to be reset since the session started.
+     */
+    public boolean isResetRequested() {
+        return resetRequested;
+    }
+
+    private Object answer(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getWindowDimensions":
+                return windowDimensions;
+            case "setTargetFramerate":
+                targetFramerate = ((Number) args[0]).intValue();
+                return null;
+            case "getTargetFramerate":
+                return targetFramerate;
+            case "setTimeScale":
+                timeScale = ((Number) args[0]).floatValue();
+                return null;
+            case "getTimeScale":
+                return timeScale;
+            case "closeWindow":
+                closed = true;
+                return null;
+            case "resetGame":
+                resetRequested = true;
+                return null;
+            case "openYesNoDialog":
+                return dialogAnswer;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "HeadlessWindowController" + windowDimensions;
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        //A proxy must not answer null for a primitive, so take the element of a new array.
+        if (type.isPrimitive() && type != void.class) {
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,205 @@
+package bricker.headless;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.main.SessionOutcome;
+import bricker.main.SessionStats;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Entry point for balancing the strategies' probabilities before they ship. It plays
+ * thousands of independent headless sessions in parallel, one per core at a time, each
+ * with its own game and seed and played by an Autopilot, and reports what the rounds
+ * looked like under every strategy table: how long they lasted, how many pucks were
+ * spawned and hearts collected, and how many game objects were in the game at once.
+ * Every table is played with the same seeds, so the tables are compared on the same games.
+ */
+public class SimulationFarm {
+
+    private static final int DEFAULT_SESSIONS = 1000;
+    private static final int DEFAULT_BRICK_COLS = 8;
+    private static final int DEFAULT_BRICK_ROWS = 7;
+    private static final long DEFAULT_MAX_TICKS = 100_000;
+    private static final long DEFAULT_SEED = 1;
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(1050, 750);
+
+    private final int sessions;
+    private final int cols;
+    private final int rows;
+    private final long maxTicks;
+    private final long seed;
+
+    /**
+     * Constructs a SimulationFarm.
+     *
+     * @param sessions The amount of sessions played per strategy table.
+     * @param cols     The number of columns of bricks in every session.
+     * @param rows     The number of rows of bricks in every session.
+     * @param maxTicks The most ticks a session is played for before it's stopped.
+     * @param seed     The seed of the first session; every other session's seed follows it.
+     */
+    public SimulationFarm(int sessions, int cols, int rows, long maxTicks, long seed) {
+        this.sessions = sessions;
+        this.cols = cols;
+        this.rows = rows;
+        this.maxTicks = maxTicks;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays every session of a strategy table, in parallel, and waits for all of them.
+     *
+     * @param strategyWeights The strategy table the sessions are played with.
+     * @param threads         The amount of sessions played at once.
+     * @return The statistics of every session, in the order of their seeds.
+     * @throws InterruptedException if the thread was interrupted while waiting for the sessions.
+     */
+    public List<SessionStats> play(StrategyWeights strategyWeights, int threads)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            ArrayList<Future<SessionStats>> results = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                long sessionSeed = seed + i;
+                results.add(executor.submit(() -> playSession(sessionSeed, strategyWeights)));
+            }
+            ArrayList<SessionStats> stats = new ArrayList<>(sessions);
+            for (Future<SessionStats> result : results) {
+                try {
+                    stats.add(result.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("A session failed", e.getCause());
+                }
+            }
+            return stats;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SessionStats playSession(long sessionSeed, StrategyWeights strategyWeights) {
+        HeadlessSession session = new HeadlessSession(WINDOW_DIMENSIONS,
+                cols,
+                rows,
+                sessionSeed,
+                strategyWeights);
+        Autopilot autopilot = new Autopilot(session);
+        while (session.getTicks() < maxTicks) {
+            autopilot.steer();
+            if (!session.step(HeadlessSession.DEFAULT_DELTA_TIME)) {
+                break;
+            }
+        }
+        return session.getGameManager().getSessionStats();
+    }
+
+    /**
+     * Plays the sessions of every given strategy table and prints a report per table.
+     *
+     * @param args Command-line arguments where:
+     *             args[0] specifies the amount of sessions per table (optional).
+     *             args[1] specifies the number of columns of bricks (optional).
+     *             args[2] specifies the number of rows of bricks (optional).
+     *             args[3] specifies the most ticks a session is played for (optional).
+     *             args[4] specifies the seed of the first session (optional).
+     *             args[5] and on specify the strategy tables, written the way
+     *             StrategyWeights.parse reads them, or as the paths of weights files named
+     *             with StrategyWeights.EXTENSION (optional; the default table otherwise).
+     * @throws InterruptedException if the thread was interrupted while the sessions played.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+        int cols = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BRICK_COLS;
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BRICK_ROWS;
+        long maxTicks = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_MAX_TICKS;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_SEED;
+        ArrayList<StrategyWeights> tables = new ArrayList<>();
+        for (int i = 5; i < args.length; i++) {
+            if (!args[i].endsWith(StrategyWeights.EXTENSION)) {
+                tables.add(StrategyWeights.parse(args[i]));
+                continue;
+            }
+            try {
+                tables.add(StrategyWeights.load(args[i]));
+            } catch (IOException e) {
+                System.err.println("Couldn't load the strategy weights " + args[i] + ": " + e.getMessage());
+                return;
+            }
+        }
+        if (tables.isEmpty()) {
+            tables.add(StrategyWeights.DEFAULT);
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        SimulationFarm farm = new SimulationFarm(sessions, cols, rows, maxTicks, seed);
+        System.out.printf("%d sessions per table, %d x %d bricks, up to %d ticks, seeds %d-%d, %d threads%n",
+                sessions, cols, rows, maxTicks, seed, seed + sessions - 1, threads);
+        for (StrategyWeights table : tables) {
+            long start = System.nanoTime();
+            List<SessionStats> stats = farm.play(table, threads);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            printReport(table, stats, elapsedSeconds);
+        }
+    }
+
+    private static void printReport(StrategyWeights table, List<SessionStats> stats, double elapsedSeconds) {
+        int count = stats.size();
+        double[] roundSeconds = new double[count];
+        double[] pucks = new double[count];
+        double[] hearts = new double[count];
+        double[] peakObjects = new double[count];
+        int won = 0;
+        int lost = 0;
+        for (int i = 0; i < count; i++) {
+            SessionStats session = stats.get(i);
+            roundSeconds[i] = session.getRoundSeconds();
+            pucks[i] = session.getPucksSpawned();
+            hearts[i] = session.getHeartsCollected();
+            peakObjects[i] = session.getPeakObjectCount();
+            if (session.getOutcome() == SessionOutcome.WON) {
+                won++;
+            } else if (session.getOutcome() == SessionOutcome.LOST) {
+                lost++;
+            }
+        }
+
+        System.out.printf("%ntable %s (played in %.1f s)%n", table, elapsedSeconds);
+        System.out.printf("  outcomes:        %d won, %d lost, %d unfinished%n", won, lost, count - won - lost);
+        System.out.printf("  %-16s %10s %10s %10s %10s%n", "", "mean", "p50", "p95", "max");
+        printRow("round length (s)", roundSeconds);
+        printRow("pucks spawned", pucks);
+        printRow("hearts collected", hearts);
+        printRow("peak objects", peakObjects);
+    }
+
+    private static void printRow(String name, double[] values) {
+        if (values.length == 0) {
+            return;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (double value : sorted) {
+            sum += value;
+        }
+        System.out.printf("  %-16s %10.1f %10.1f %10.1f %10.1f%n",
+                name,
+                sum / sorted.length,
+                percentile(sorted, 0.5),
+                percentile(sorted, 0.95),
+                sorted[sorted.length - 1]);
+    }
+
+    private static double percentile(double[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
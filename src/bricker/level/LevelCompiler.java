@@ -0,0 +1,95 @@
+package bricker.level;
+
+import bricker.gameobjects.brick.BrickHandler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Entry point for turning a level drawn as text into a LevelFile the game can load.
+ * Every line of the text is a row of the grid, and every character a cell:
+ * - EMPTY ('.') or a space: no brick.
+ * - RANDOM ('?'): a brick whose strategy is chosen at random when the level is loaded.
+ * - A digit: a brick with the predefined strategy of that id (its index in a strategy
+ *   table, so '0' is the basic strategy).
+ * Lines starting with COMMENT ('#') are skipped, and rows shorter than the longest row
+ * are padded with empty cells.
+ */
+public class LevelCompiler {
+
+    private static final char EMPTY = '.';
+    private static final char RANDOM = '?';
+    private static final char COMMENT = '#';
+
+    /**
+     * Compiles a text level into a level file.
+     *
+     * @param args Command-line arguments where:
+     *             args[0] specifies the path of the text level.
+     *             args[1] specifies the path of the level file to write.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: LevelCompiler <text level> <level file>");
+            return;
+        }
+        ArrayList<String> lines = new ArrayList<>();
+        int cols = 0;
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty() && line.charAt(0) == COMMENT) {
+                    continue;
+                }
+                lines.add(line);
+                cols = Math.max(cols, line.length());
+            }
+        } catch (IOException e) {
+            System.err.println("Couldn't read the text level " + args[0] + ": " + e.getMessage());
+            return;
+        }
+        int rows = lines.size();
+        if (cols == 0 || rows == 0) {
+            System.err.println("The text level " + args[0] + " has no cells.");
+            return;
+        }
+
+        ByteBuffer cells = ByteBuffer.allocate(cols * rows);
+        int bricks = 0;
+        for (int row = 0; row < rows; row++) {
+            String line = lines.get(row);
+            for (int col = 0; col < cols; col++) {
+                char cell = col < line.length() ? line.charAt(col) : EMPTY;
+                byte strategyId;
+                if (cell == EMPTY || cell == ' ') {
+                    strategyId = BrickHandler.EMPTY_CELL;
+                } else if (cell == RANDOM) {
+                    strategyId = BrickHandler.RANDOM_CELL;
+                } else if (Character.isDigit(cell)) {
+                    strategyId = (byte) Character.digit(cell, 10);
+                } else {
+                    System.err.println("Unknown cell '" + cell + "' at column " + col + ", row " + row + ".");
+                    return;
+                }
+                cells.put(strategyId);
+                if (strategyId != BrickHandler.EMPTY_CELL) {
+                    bricks++;
+                }
+            }
+        }
+        cells.flip();
+
+        try {
+            LevelFile.write(args[1], cols, rows, cells);
+        } catch (IOException e) {
+            System.err.println("Couldn't write the level file " + args[1] + ": " + e.getMessage());
+            return;
+        }
+        System.out.printf("%s: %d x %d cells, %d bricks%n", args[1], cols, rows, bricks);
+    }
+}
@@ -0,0 +1,160 @@
+package bricker.level;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.gameobjects.brick.BrickHandler;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An authored level: which cells of the brick grid have a brick, and the strategy of each
+ * brick. The file is memory-mapped and its cells are read by the BrickHandler straight
+ * from the mapping, so a level of hundreds of thousands of cells loads with no parsing at
+ * all; the same mapping is read again by every round played on the level.
+ * The file format is:
+ * - A header: the MAGIC number, the FORMAT_VERSION, and the grid's columns and rows.
+ * - The cells: a byte per cell, row by row, holding BrickHandler.EMPTY_CELL for a cell
+ *   with no brick, BrickHandler.RANDOM_CELL for a brick whose strategy is chosen at random
+ *   (with the game's strategy table), or the id of a predefined strategy (its index in a
+ *   strategy table).
+ * Every number is big-endian. Levels are usually written by LevelCompiler, from text.
+ */
+public class LevelFile {
+
+    /**
+     * The first four bytes of every level file ("BLVL").
+     */
+    public static final int MAGIC = 0x424C564C;
+    /**
+     * The version of the file format.
+     */
+    public static final short FORMAT_VERSION = 1;
+    /**
+     * The extension level files are named with.
+     */
+    public static final String EXTENSION = ".level";
+
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + (2 * Integer.BYTES);
+
+    private final String path;
+    private final int cols;
+    private final int rows;
+    private final ByteBuffer cells;
+
+    private LevelFile(String path, int cols, int rows, ByteBuffer cells) {
+        this.path = path;
+        this.cols = cols;
+        this.rows = rows;
+        this.cells = cells;
+    }
+
+    /**
+     * Maps a level file and checks its header and cells.
+     *
+     * @param path The path of the level file.
+     * @return The level.
+     * @throws IOException if the file can't be read, or isn't a level this version understands.
+     */
+    public static LevelFile open(String path) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            //The mapping stays valid after the channel is closed.
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a level file");
+            }
+            short version = in.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported level file version " + version);
+            }
+            int cols = in.getInt();
+            int rows = in.getInt();
+            if (cols <= 0 || rows <= 0 || (long) cols * rows != in.remaining()) {
+                throw new IOException("The cells don't match the grid size of " + cols + " x " + rows);
+            }
+            ByteBuffer cells = in.slice();
+            checkCells(cells, cols);
+            return new LevelFile(path, cols, rows, cells);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated level file");
+        }
+    }
+
+    /**
+     * Writes a level file, through a memory-mapped buffer.
+     *
+     * @param path  The path of the level file. An existing file is overwritten.
+     * @param cols  The number of columns in the level's grid.
+     * @param rows  The number of rows in the level's grid.
+     * @param cells The cells, laid out like in the file, from the buffer's position on.
+     *              The buffer's position is left as it was.
+     * @throws IOException if the file can't be created or written, or a cell isn't valid.
+     */
+    public static void write(String path, int cols, int rows, ByteBuffer cells) throws IOException {
+        ByteBuffer grid = cells.duplicate();
+        grid.limit(grid.position() + (cols * rows));
+        checkCells(grid.slice(), cols);
+        try (FileChannel channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE,
+                    0,
+                    HEADER_BYTES + ((long) cols * rows));
+            out.putInt(MAGIC);
+            out.putShort(FORMAT_VERSION);
+            out.putInt(cols);
+            out.putInt(rows);
+            out.put(grid);
+            out.force();
+        }
+    }
+
+    private static void checkCells(ByteBuffer cells, int cols) throws IOException {
+        for (int i = 0; i < cells.limit(); i++) {
+            byte cell = cells.get(i);
+            if (cell != BrickHandler.EMPTY_CELL && cell != BrickHandler.RANDOM_CELL
+                    && (cell < 0 || cell >= StrategyWeights.STRATEGY_COUNT)) {
+                throw new IOException("The cell at column " + (i % cols) + ", row " + (i / cols) +
+                        " holds an unknown strategy " + cell);
+            }
+        }
+    }
+
+    /**
+     * @return The path the level was read from.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return The number of columns in the level's grid.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return The number of rows in the level's grid.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The cells, from the buffer's position on (see BrickHandler.loadGrid). The
+     * buffer is shared, so it must not be moved or changed; BrickHandler.loadGrid doesn't.
+     */
+    public ByteBuffer getCells() {
+        return cells;
+    }
+}
@@ -0,0 +1,142 @@
+package bricker.main;
+
+import bricker.gameobjects.Ball;
+import bricker.gameobjects.Paddle;
+import bricker.gameobjects.brick.BrickHandler;
+import bricker.physics.SweepHit;
+import bricker.physics.SweptAabb;
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+
+/**
+ * Continuous collision detection between the balls and everything they bounce off: the
+ * walls, the paddles and the bricks.
+ * A ball moves in a straight line during a physics step. Instead of only testing where the
+ * ball ends up (which a fast ball can skip past a thin brick or paddle on its way to),
+ * its path through the step is swept, the earliest impact on the path is found, and the
+ * ball bounces right where it hit. The rest of the step is then swept again in the new
+ * direction, for up to MAX_BOUNCES_PER_STEP impacts.
+ * A ball that starts a step already overlapping something (a paddle that moved into it,
+ * for example) isn't handled by the sweep; see sweepBall for what happens then.
+ */
+class BallSweeper {
+
+    //A ball stuck in a corner could bounce forever within one step; it gets this many
+    // bounces, and the rest of its step is left to the overlap tests.
+    private static final int MAX_BOUNCES_PER_STEP = 4;
+
+    private final BrickHandler brickHandler;
+    private final ArrayList<Paddle> paddles;
+    private final GameObject[] walls;
+    private final SweepHit hit = new SweepHit();
+
+    /**
+     * Constructs a BallSweeper.
+     *
+     * @param brickHandler The handler of the brick grid the balls bounce off.
+     * @param paddles      The paddles currently in the game. The list is read on every sweep,
+     *                     so paddles added to (or removed from) it later are swept as well.
+     * @param walls        The walls around the world.
+     */
+    BallSweeper(BrickHandler brickHandler, ArrayList<Paddle> paddles, GameObject... walls) {
+        this.brickHandler = brickHandler;
+        this.paddles = paddles;
+        this.walls = walls;
+    }
+
+    /**
+     * Sweeps a ball's movement during the last physics step, bouncing it off everything it
+     * hit on the way, and moving it to where it should be at the end of the step.
+     * Every brick the ball hit is activated, and every paddle it hit counts the hit.
+     * If the ball ends the step overlapping a paddle while falling, it bounces up off it.
+     *
+     * @param ball The ball to sweep, after the step moved it.
+     */
+    void sweepBall(Ball ball) {
+        Vector2 start = ball.getPreviousTopLeftCorner();
+        Vector2 end = ball.getTopLeftCorner();
+        if (start != null && start != end) {
+            sweepPath(ball, start, end);
+        }
+        bounceOffOverlappedPaddle(ball);
+    }
+
+    private void sweepPath(Ball ball, Vector2 start, Vector2 end) {
+        float width = ball.getDimensions().x();
+        float height = ball.getDimensions().y();
+        float left = start.x();
+        float top = start.y();
+        float dx = end.x() - left;
+        float dy = end.y() - top;
+
+        int bounces = 0;
+        while (bounces < MAX_BOUNCES_PER_STEP) {
+            hit.reset(1);
+            for (GameObject wall : walls) {
+                SweptAabb.sweep(left, top, width, height, dx, dy, wall, hit);
+            }
+            for (int i = 0; i < paddles.size(); i++) {
+                SweptAabb.sweep(left, top, width, height, dx, dy, paddles.get(i), hit);
+            }
+            brickHandler.sweepBall(left, top, width, height, dx, dy, hit);
+            GameObject other = hit.getObject();
+            int brickCol = hit.getCol();
+            int brickRow = hit.getRow();
+            if (other == null && !hit.hasCell()) {
+                break;
+            }
+
+            //Move to the point of impact, and reflect what's left of the step's movement.
+            float time = hit.getTime();
+            left += dx * time;
+            top += dy * time;
+            dx *= 1 - time;
+            dy *= 1 - time;
+            if (hit.hasHorizontalNormal()) {
+                dx = -dx;
+                ball.bounce(Vector2.RIGHT);
+            } else {
+                dy = -dy;
+                ball.bounce(Vector2.DOWN);
+            }
+            bounces++;
+
+            //Strategies may destroy bricks and spawn balls, so they run once the sweep is done
+            // reading the grid. A destroyed brick is gone from the grid by the next sweep.
+            if (brickCol >= 0) {
+                brickHandler.hitBrick(brickCol, brickRow, brickHandler.getStrategyId(brickCol, brickRow), ball);
+            } else if (other instanceof Paddle) {
+                ((Paddle) other).registerHit(ball);
+            }
+        }
+
+        if (bounces > 0) {
+            ball.setTopLeftCorner(left + dx, top + dy);
+        }
+    }
+
+    private void bounceOffOverlappedPaddle(Ball ball) {
+        if (ball.getVelocity().y() <= 0) {
+            return;
+        }
+        Vector2 ballTopLeft = ball.getTopLeftCorner();
+        Vector2 ballDimensions = ball.getDimensions();
+        float ballBottom = ballTopLeft.y() + ballDimensions.y();
+        for (int i = 0; i < paddles.size(); i++) {
+            Paddle paddle = paddles.get(i);
+            Vector2 paddleTopLeft = paddle.getTopLeftCorner();
+            Vector2 paddleDimensions = paddle.getDimensions();
+            boolean overlapX = ballTopLeft.x() < paddleTopLeft.x() + paddleDimensions.x()
+                    && paddleTopLeft.x() < ballTopLeft.x() + ballDimensions.x();
+            boolean overlapY = ballTopLeft.y() < paddleTopLeft.y() + paddleDimensions.y()
+                    && paddleTopLeft.y() < ballBottom;
+            if (overlapX && overlapY) {
+                ball.bounce(Vector2.UP);
+                paddle.registerHit(ball);
+                return;
+            }
+        }
+    }
+}
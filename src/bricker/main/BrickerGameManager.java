@@ -1,23 +1,44 @@
 package bricker.main;
 
+import bricker.assets.AssetCache;
+import bricker.brick_strategies.StrategyHandler;
+import bricker.brick_strategies.StrategyWeights;
+import bricker.audio.AudioMixer;
 import bricker.gameobjects.health_points.HealthPointsPanel;
 import bricker.gameobjects.Ball;
 import bricker.gameobjects.ball.BallFactory;
 import bricker.gameobjects.ball.BallType;
 import bricker.gameobjects.brick.BrickHandler;
 import bricker.gameobjects.paddle.PaddleHandler;
+import bricker.gameobjects.pickup.PickupSystem;
+import bricker.level.LevelFile;
+import bricker.physics.ParallelBallUpdate;
+import bricker.profiler.FramePhase;
+import bricker.profiler.FrameProfiler;
+import bricker.profiler.ObjectAddedEvent;
+import bricker.profiler.ObjectRemovedEvent;
+import bricker.profiler.ProfilerOverlay;
+import bricker.replay.InputRecorder;
+import bricker.snapshot.GameSnapshot;
 import bricker.gameobjects.paddle.PaddleType;
 import danogl.GameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
 import danogl.components.CoordinateSpace;
 import danogl.gui.*;
+import danogl.gui.rendering.Camera;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
 import danogl.util.Vector2;
 import bricker.gameobjects.Paddle;
 
+import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The BrickerGameManager class serves as the primary game manager for the Bricker game.
@@ -29,32 +50,86 @@ public class BrickerGameManager extends GameManager {
 
     private static final int DEFAULT_BRICK_ROWS = 7;
     private static final int DEFAULT_BRICK_COLS = 8;
+    //Passed instead of a recording path prefix, to load strategy weights without recording.
+    private static final String NO_RECORDING = "-";
     /**
      * The tag of a wall object, needed to let the extra paddle know
      * to not count collisions with the walls.
      */
     public static final String WALL_TAG = "WALL";
+    /**
+     * The fixed amount of time, in seconds, the game's physics advance by in a single step.
+     */
+    public static final float PHYSICS_STEP = 1f / 120;
+    //A frame that took too long doesn't get to run more than this many steps; the rest of
+    // its time is dropped, so a slow machine slows the game down rather than falling behind.
+    private static final int MAX_STEPS_PER_FRAME = 8;
+    private static final int TARGET_FRAMERATE = 80;
+    private static final long FRAME_BUDGET_NANOS = 1_000_000_000L / TARGET_FRAMERATE;
+    //While the frame budget governor spreads the spawns, this many queued pucks join a frame.
+    private static final int SPAWNS_PER_FRAME = 2;
+    //While the governor caps the pucks, no more than this many are in the game (or queued).
+    private static final int MAX_LIVE_PUCKS = 32;
+    //While the governor merges the pucks, pucks this close (in pixels) are merged.
+    private static final float PUCK_MERGE_DISTANCE = 20;
+    //The key that shows and hides the profiler's overlay.
+    private static final int PROFILER_KEY = KeyEvent.VK_F3;
+    private static final Vector2 PROFILER_OVERLAY_TOP_LEFT = new Vector2(10, 10);
+    private static final String WIN_PROMPT = "You win! Play again?";
+    private static final String LOSE_PROMPT = "You lose! Play again?";
+    //The sprites packed into the texture atlas; every one of them is drawn many times a frame.
+    private static final String[] SPRITE_FILE_NAMES = {"ball.png", "mockBall.png", "brick.png",
+            "paddle.png", "heart.png", "buffWiden.png", "buffNarrow.png", "quicken.png", "slow.png"};
 
     private UserInputListener inputListener;
     private WindowController windowController;
-    /**
-     * The game's screen dimensions, needed to calculate some of the game
-     * objects' relative size and to render the game.
-     */
-    public static Vector2 windowDimensions;
-    private static int rows;
-    private static int cols;
+    private Vector2 windowDimensions;
+    private Vector2 worldDimensions;
+    private GameObject cameraTarget;
+    //The camera target's possible positions, one per pixel the view can scroll by,
+    // created the first time the view scrolls to them.
+    private Vector2[] cameraTargetPositions;
+    private int viewLeft;
+    private final int rows;
+    private final int cols;
+    //The level the grid is loaded from, or null for a full grid of random strategies.
+    private final LevelFile level;
+    //Every game has its own random generator and strategy table, so that several games can
+    // run side by side, each one repeatable from its seed. The first round is played with the
+    // seed itself, and every later round ("Play again?") with the next seed of roundSeeds.
+    //Both generators are GameRandoms, whose state a snapshot can save and restore.
+    private final long seed;
+    private final GameRandom roundSeeds;
+    private final GameRandom random;
+    private int round = 0;
+    private long roundSeed;
+    private String recordingPathPrefix;
+    private InputRecorder inputRecorder;
+    private final StrategyWeights strategyWeights;
+    private final SessionStats sessionStats = new SessionStats();
 
-    /**
-     * An instance of the HealthPointsPanel of the game, needed to control any
-     * HP aspect of the game.
-     */
-    public static HealthPointsPanel healthPointsPanel;
+    private HealthPointsPanel healthPointsPanel;
+    private BallFactory ballFactory;
+    private PaddleHandler paddleHandler;
     private Ball mainBall;
-    /**
-     * Counter of the amount of bricks that exist on the string at any given time.
-     */
-    public static Counter brickCount = new Counter(0);
+    private Paddle userPaddle;
+    private final ArrayList<Ball> balls = new ArrayList<>();
+    private final ArrayList<Paddle> paddles = new ArrayList<>();
+    private BallSweeper ballSweeper;
+    private final ParallelBallUpdate ballUpdate = new ParallelBallUpdate(ForkJoinPool.commonPool());
+    private BrickHandler brickHandler;
+    private PickupSystem pickupSystem;
+    private final GameObjectCommandBuffer commandBuffer = new GameObjectCommandBuffer();
+    private final AudioMixer audioMixer = new AudioMixer();
+    private float timeAccumulator = 0;
+    private final Counter brickCount = new Counter(0);
+    private final FrameProfiler profiler = new FrameProfiler();
+    private ProfilerOverlay profilerOverlay;
+    private boolean profilerKeyHeld = false;
+    private final FrameBudgetGovernor governor = new FrameBudgetGovernor(FRAME_BUDGET_NANOS);
+    //Pucks spawned while the governor spreads the spawns, waiting for their frame.
+    private final ArrayDeque<Ball> pendingPucks = new ArrayDeque<>();
+    private long frameStart = 0;
 
     /**
      * Constructs a new BrickerGameManager instance to manage the Bricker game.
@@ -65,9 +140,63 @@ public class BrickerGameManager extends GameManager {
      * @param rows             The number of rows of bricks in the game.
      */
     public BrickerGameManager(String windowTitle, Vector2 windowDimensions, int cols, int rows) {
+        this(windowTitle, windowDimensions, cols, rows, new Random().nextLong(), StrategyWeights.DEFAULT);
+    }
+
+    /**
+     * Constructs a new BrickerGameManager instance whose random choices (the balls'
+     * directions and the bricks' strategies) follow from a seed.
+     *
+     * @param windowTitle      The title of the game window.
+     * @param windowDimensions The dimensions of the game window as a Vector2 object.
+     * @param cols             The number of columns of bricks in the game.
+     * @param rows             The number of rows of bricks in the game.
+     * @param seed             The seed of the game's random generator.
+     * @param strategyWeights  The probabilities the bricks' strategies are chosen with.
+     */
+    public BrickerGameManager(String windowTitle,
+                              Vector2 windowDimensions,
+                              int cols,
+                              int rows,
+                              long seed,
+                              StrategyWeights strategyWeights) {
+        this(windowTitle, windowDimensions, cols, rows, null, seed, strategyWeights);
+    }
+
+    /**
+     * Constructs a new BrickerGameManager instance whose brick grid is loaded from a level
+     * file, instead of being a full grid of bricks with random strategies.
+     *
+     * @param windowTitle      The title of the game window.
+     * @param windowDimensions The dimensions of the game window as a Vector2 object.
+     * @param level            The level the grid is loaded from, in every round.
+     * @param seed             The seed of the game's random generator.
+     * @param strategyWeights  The probabilities the strategies of the level's random bricks
+     *                         are chosen with.
+     */
+    public BrickerGameManager(String windowTitle,
+                              Vector2 windowDimensions,
+                              LevelFile level,
+                              long seed,
+                              StrategyWeights strategyWeights) {
+        this(windowTitle, windowDimensions, level.getCols(), level.getRows(), level, seed, strategyWeights);
+    }
+
+    private BrickerGameManager(String windowTitle,
+                               Vector2 windowDimensions,
+                               int cols,
+                               int rows,
+                               LevelFile level,
+                               long seed,
+                               StrategyWeights strategyWeights) {
         super(windowTitle, windowDimensions);
-        BrickerGameManager.rows = rows;
-        BrickerGameManager.cols = cols;
+        this.rows = rows;
+        this.cols = cols;
+        this.level = level;
+        this.seed = seed;
+        this.roundSeeds = new GameRandom(seed);
+        this.random = new GameRandom(seed);
+        this.strategyWeights = strategyWeights;
     }
 
     /**
@@ -90,17 +219,35 @@ public class BrickerGameManager extends GameManager {
                                UserInputListener inputListener,
                                WindowController windowController) {
         this.windowController = windowController;
+        commandBuffer.clear();
+        audioMixer.clearFrame();
+        audioMixer.setMerging(false);
+        timeAccumulator = 0;
+        sessionStats.reset();
+        governor.reset();
+        pendingPucks.clear();
+        frameStart = 0;
+        roundSeed = round == 0 ? seed : roundSeeds.nextLong();
+        random.setSeed(roundSeed);
+        round++;
         super.initializeGame(imageReader, soundReader, inputListener, windowController);
 
         this.inputListener = inputListener;
 
         //Initialize window parameters.
-        windowController.setTargetFramerate(80);
+        windowController.setTargetFramerate(TARGET_FRAMERATE);
         windowDimensions = windowController.getWindowDimensions();
         Vector2 windowCenter = windowDimensions.mult(0.5f);
+        worldDimensions = new Vector2(BrickHandler.worldWidth(windowDimensions.x(), cols),
+                windowDimensions.y());
+
+        //Bricks are tested against the balls by the BrickHandler, not by the engine
+        gameObjects().layers().shouldLayersCollide(BrickHandler.BRICK_LAYER, Layer.DEFAULT, false);
+        balls.clear();
+        paddles.clear();
 
         //Initialize background
-        Renderable backgroundImage = imageReader.readImage("assets/DARK_BG2_small.jpeg", true);
+        Renderable backgroundImage = AssetCache.readImage(imageReader, "assets/DARK_BG2_small.jpeg", true);
         GameObject background = new GameObject(Vector2.ZERO,
                 new Vector2(windowDimensions.x(),
                         windowDimensions.y()),
@@ -108,28 +255,36 @@ public class BrickerGameManager extends GameManager {
         background.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
 
         //Initialize walls
-        createWalls(windowDimensions);
+        GameObject[] walls = createWalls(worldDimensions);
+
+        //Initialize camera, only needed when the bricks don't fit in the window
+        initCamera(windowCenter);
 
         //Initialize main ball
-        BallFactory ballFactory = BallFactory.getInstance(this,
+        ballFactory = new BallFactory(this,
                 imageReader,
                 soundReader);
-        mainBall = BallFactory.build(BallType.MAIN, windowCenter);
+        mainBall = ballFactory.build(BallType.MAIN, windowCenter);
 
         //Initialize user paddle
-        PaddleHandler paddleHandler = new PaddleHandler(this,
+        paddleHandler = new PaddleHandler(this,
                 windowDimensions,
                 inputListener,
                 imageReader);
-        Paddle userPaddle = paddleHandler.build(PaddleType.USER);
+        userPaddle = paddleHandler.build(PaddleType.USER);
 
         //Initialize brick grid
-        BrickHandler brickHandler = new BrickHandler(this,
+        brickHandler = new BrickHandler(this,
                 ballFactory,
                 paddleHandler,
                 soundReader,
                 imageReader);
-        brickHandler.initBrickGrid(cols, rows);
+        if (level != null) {
+            brickHandler.loadGrid(cols, rows, level.getCells());
+        } else {
+            brickHandler.initBrickGrid(cols, rows);
+        }
+        ballSweeper = new BallSweeper(brickHandler, paddles, walls);
 
         //Initialize HP Panel
         healthPointsPanel = new HealthPointsPanel(this,
@@ -137,27 +292,223 @@ public class BrickerGameManager extends GameManager {
                 imageReader);
         healthPointsPanel.initHP(windowDimensions);
 
+        //Initialize falling pickups
+        pickupSystem = new PickupSystem(this,
+                imageReader,
+                userPaddle,
+                mainBall,
+                windowDimensions,
+                healthPointsPanel.getHealthPointsItemEdgeLength());
 
         addItem(background, Layer.BACKGROUND);
-        addItem(mainBall, Layer.DEFAULT);
-        addItem(userPaddle, Layer.DEFAULT);
-
-
+        addBall(mainBall);
+        addPaddle(userPaddle);
+        addItem(pickupSystem, Layer.FOREGROUND);
+        profilerOverlay = new ProfilerOverlay(PROFILER_OVERLAY_TOP_LEFT,
+                profiler,
+                gameObjects(),
+                governor,
+                audioMixer);
+        if (profiler.isEnabled()) {
+            addItem(profilerOverlay, Layer.UI);
+        }
+        sessionStats.changeObjectCount(commandBuffer.flush(gameObjects()));
+        startRecording();
     }
 
     /**
      * Updates the game state with each frame based on the elapsed time since last update.
-     * The method handles changes in game logic such as determining the end of the game,
-     * checking for the ball falling below the screen, and listening for specific user inputs.
+     * The game's physics advance in fixed steps of PHYSICS_STEP seconds, regardless of the
+     * framerate: the frame's time is accumulated, and as many whole steps as fit in it are
+     * run (but no more than MAX_STEPS_PER_FRAME). Whatever time is left over is carried to
+     * the next frame, and is used to draw the moving objects between their last two steps.
+     * Before the steps, the load the frame budget governor calls for is shed.
      *
      * @param deltaTime The time, in seconds, that has elapsed since the last update call.
      */
     @Override
     public void update(float deltaTime) {
-        super.update(deltaTime);
-        checkForGameEnd();
+        frameStart = System.nanoTime();
+        profiler.startFrame();
+        toggleProfiler();
+        shedLoad();
+        timeAccumulator += deltaTime;
+        int steps = 0;
+        while (timeAccumulator >= PHYSICS_STEP && steps < MAX_STEPS_PER_FRAME) {
+            timeAccumulator -= PHYSICS_STEP;
+            steps++;
+            if (!step()) {
+                break;
+            }
+        }
+        timeAccumulator = Math.min(timeAccumulator, PHYSICS_STEP);
+        audioMixer.endFrame();
+    }
+
+    /**
+     * Draws the frame, timing it for the profiler, and hands the time the whole frame took
+     * (its update and its drawing) to the frame budget governor.
+     * Headless games never draw their frames, so their load is never shed, and they play out
+     * the same every time. Neither is the load of a round whose input is being recorded,
+     * since its replay couldn't shed the same load at the same steps.
+     *
+     * @param g The graphics to draw on.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        long start = profiler.start();
+        super.render(g);
+        profiler.end(FramePhase.RENDER, start);
+        if (frameStart != 0 && inputRecorder == null) {
+            governor.recordFrame(System.nanoTime() - frameStart);
+        }
+        frameStart = 0;
+    }
+
+    /**
+     * @return How far between the last two physics steps the current frame is, between 0
+     * (at the step before last) and 1 (at the last step).
+     */
+    public float getInterpolationAlpha() {
+        return Math.min(1, timeAccumulator / PHYSICS_STEP);
+    }
+
+    /**
+     * Advances the game by a single physics step. The method handles changes in game logic
+     * such as determining the end of the game, checking for the ball falling below the
+     * screen, and listening for specific user inputs.
+     *
+     * @return False if the game ended in this step, so no more steps should follow.
+     */
+    private boolean step() {
+        if (inputRecorder != null) {
+            inputRecorder.record(inputListener);
+        }
+        //The balls move in parallel first; the engine's update then only acts on where they got to.
+        long start = profiler.start();
+        ballUpdate.advance(balls, PHYSICS_STEP);
+        profiler.end(FramePhase.BALLS, start);
+        start = profiler.start();
+        super.update(PHYSICS_STEP);
+        profiler.end(FramePhase.ENGINE, start);
+        followPaddle();
+        start = profiler.start();
+        sweepBalls();
+        collideBallsWithBricks();
+        profiler.end(FramePhase.COLLISIONS, start);
+        start = profiler.start();
+        boolean gameEnded = checkForGameEnd();
+        profiler.end(FramePhase.GAME_END, start);
+        start = profiler.start();
         checkForStrike();
+        profiler.end(FramePhase.STRIKE, start);
         easyWayOutListener();
+        //Everything added or removed during this step joins (or leaves) the game together.
+        sessionStats.changeObjectCount(commandBuffer.flush(gameObjects()));
+        sessionStats.countStep();
+        profiler.endStep();
+        return !gameEnded;
+    }
+
+    //Sheds the load the frame budget governor calls for. Pucks are merged before the queued
+    // pucks join, so a puck joins the game for at least a frame.
+    private void shedLoad() {
+        audioMixer.setMerging(governor.isShedding(SheddingLevel.MERGE_SOUNDS));
+        if (governor.isShedding(SheddingLevel.MERGE_PUCKS)) {
+            mergePucks();
+        }
+        int spawns = governor.isShedding(SheddingLevel.SPREAD_SPAWNS) ? SPAWNS_PER_FRAME : pendingPucks.size();
+        for (int i = 0; i < spawns && !pendingPucks.isEmpty(); i++) {
+            spawnBall(pendingPucks.pollFirst());
+        }
+    }
+
+    private void mergePucks() {
+        for (int i = 0; i < balls.size(); i++) {
+            Ball puck = balls.get(i);
+            if (puck == mainBall) {
+                continue;
+            }
+            //Pucks all have the same size, so their corners are as far apart as their centers.
+            Vector2 corner = puck.getTopLeftCorner();
+            int j = i + 1;
+            while (j < balls.size()) {
+                Ball other = balls.get(j);
+                float dx = other.getTopLeftCorner().x() - corner.x();
+                float dy = other.getTopLeftCorner().y() - corner.y();
+                if (other == mainBall || (dx * dx) + (dy * dy) > PUCK_MERGE_DISTANCE * PUCK_MERGE_DISTANCE) {
+                    j++;
+                    continue;
+                }
+                //Removing the merged ball moves the last ball into its place, which is checked next.
+                other.terminate();
+                governor.countPuckMerged();
+            }
+        }
+    }
+
+    //Shows or hides the profiler's overlay when its key is pressed. The profiler only times
+    // the frames while its overlay is shown.
+    private void toggleProfiler() {
+        boolean keyHeld = inputListener.isKeyPressed(PROFILER_KEY);
+        if (keyHeld && !profilerKeyHeld) {
+            profiler.setEnabled(!profiler.isEnabled());
+            if (profiler.isEnabled()) {
+                addItem(profilerOverlay, Layer.UI);
+            } else {
+                removeItem(profilerOverlay, Layer.UI);
+            }
+        }
+        profilerKeyHeld = keyHeld;
+    }
+
+    private void initCamera(Vector2 windowCenter) {
+        cameraTarget = null;
+        cameraTargetPositions = null;
+        viewLeft = 0;
+        setCamera(null);
+        if (worldDimensions.x() <= windowDimensions.x()) {
+            return;
+        }
+        //The camera follows an invisible, dimensionless object, which is kept where the
+        // view doesn't cross the edges of the world.
+        cameraTarget = new GameObject(windowCenter, Vector2.ZERO, null);
+        cameraTargetPositions = new Vector2[(int) (worldDimensions.x() - windowDimensions.x()) + 1];
+        cameraTargetPositions[0] = windowCenter;
+        setCamera(new Camera(cameraTarget, Vector2.ZERO, windowDimensions, windowDimensions));
+    }
+
+    private void followPaddle() {
+        if (cameraTarget != null) {
+            float paddleCenterX = userPaddle.getTopLeftCorner().x() + (userPaddle.getDimensions().x() / 2);
+            int newViewLeft = Math.round(paddleCenterX - (windowDimensions.x() / 2));
+            newViewLeft = Math.max(0, Math.min(cameraTargetPositions.length - 1, newViewLeft));
+            if (newViewLeft != viewLeft) {
+                viewLeft = newViewLeft;
+                if (cameraTargetPositions[viewLeft] == null) {
+                    cameraTargetPositions[viewLeft] = new Vector2(viewLeft + (windowDimensions.x() / 2),
+                            windowDimensions.y() / 2);
+                }
+                cameraTarget.setTopLeftCorner(cameraTargetPositions[viewLeft]);
+            }
+        }
+        brickHandler.streamChunks(viewLeft, 0, windowDimensions.x(), windowDimensions.y());
+    }
+
+    private void sweepBalls() {
+        //Strategies may add pucks while we go, and those are only swept from the next step.
+        int ballCount = balls.size();
+        for (int i = 0; i < ballCount; i++) {
+            ballSweeper.sweepBall(balls.get(i));
+        }
+    }
+
+    private void collideBallsWithBricks() {
+        //Strategies may add pucks while we go, and those only join the next frame's pass.
+        int ballCount = balls.size();
+        for (int i = 0; i < ballCount; i++) {
+            brickHandler.collideBall(balls.get(i));
+        }
     }
 
     /**
@@ -171,38 +522,46 @@ public class BrickerGameManager extends GameManager {
         }
     }
 
-    private void checkForGameEnd() {
+    private boolean checkForGameEnd() {
 
-        String prompt = "";
+        String prompt = null;
         if (brickCount.value() <= 0) {
-            prompt = "You win!";
+            prompt = WIN_PROMPT;
+            sessionStats.end(SessionOutcome.WON);
         }
         if (healthPointsPanel.getHP() == 0) {
-            prompt = "You lose!";
+            prompt = LOSE_PROMPT;
+            sessionStats.end(SessionOutcome.LOST);
         }
-        if (!prompt.isEmpty()) {
-            prompt += " Play again?";
+        if (prompt != null) {
+            if (inputRecorder != null) {
+                //This step was already recorded, so the round took one more step than counted.
+                inputRecorder.end(sessionStats.getSteps() + 1, brickCount.value(), healthPointsPanel.getHP());
+                inputRecorder = null;
+            }
             if (windowController.openYesNoDialog(prompt)) {
                 brickCount.reset();
                 windowController.resetGame();
             } else {
                 windowController.closeWindow();
             }
+            return true;
         }
+        return false;
     }
 
-    private void createWalls(Vector2 windowDimensions) {
+    private GameObject[] createWalls(Vector2 worldDimensions) {
         final float WALL_THICKNESS = 100;
         GameObject leftWall = new GameObject(new Vector2(-WALL_THICKNESS, 0),
                 new Vector2(WALL_THICKNESS,
-                        windowDimensions.y()),
+                        worldDimensions.y()),
                 null),
-                rightWall = new GameObject(new Vector2(windowDimensions.x(), 0),
+                rightWall = new GameObject(new Vector2(worldDimensions.x(), 0),
                         new Vector2(WALL_THICKNESS,
-                                windowDimensions.y()),
+                                worldDimensions.y()),
                         null),
                 topWall = new GameObject(new Vector2(0, -WALL_THICKNESS),
-                        new Vector2(windowDimensions.x(),
+                        new Vector2(worldDimensions.x(),
                                 WALL_THICKNESS),
                         null);
         leftWall.setTag(WALL_TAG);
@@ -211,26 +570,321 @@ public class BrickerGameManager extends GameManager {
         addItem(leftWall, Layer.STATIC_OBJECTS);
         addItem(rightWall, Layer.STATIC_OBJECTS);
         addItem(topWall, Layer.STATIC_OBJECTS);
+        return new GameObject[]{leftWall, rightWall, topWall};
+    }
+
+    /**
+     * Records the keys held during every physics step of every round from now on, into a
+     * file per round, so the round can be replayed exactly (see bricker.replay).
+     * Recording starts with the next round.
+     *
+     * @param pathPrefix The path the files are named after: round n is recorded into
+     *                   pathPrefix-n.replay.
+     */
+    public void recordInput(String pathPrefix) {
+        recordingPathPrefix = pathPrefix;
+    }
+
+    /**
+     * Stops recording, keeping what was recorded of the current round.
+     */
+    public void stopRecording() {
+        recordingPathPrefix = null;
+        if (inputRecorder != null) {
+            inputRecorder.close();
+            inputRecorder = null;
+        }
+    }
+
+    private void startRecording() {
+        if (inputRecorder != null) {
+            //The previous round was left before it ended.
+            inputRecorder.close();
+            inputRecorder = null;
+        }
+        if (recordingPathPrefix == null) {
+            return;
+        }
+        String path = recordingPathPrefix + "-" + round + ".replay";
+        try {
+            inputRecorder = new InputRecorder(path,
+                    roundSeed,
+                    cols,
+                    rows,
+                    level == null ? null : level.getPath(),
+                    windowDimensions,
+                    strategyWeights);
+        } catch (IOException e) {
+            System.err.println("Couldn't record the input into " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Takes a snapshot of the current round (see bricker.snapshot.GameSnapshot), to be
+     * restored later by restoreSnapshot. Meant to be called between two frames.
+     *
+     * @return The snapshot.
+     */
+    public GameSnapshot takeSnapshot() {
+        GameSnapshot snapshot = new GameSnapshot(cols, rows, windowDimensions, strategyWeights);
+        snapshot.setRandomState(roundSeed, random.getState(), roundSeeds.getState());
+        snapshot.setCounters(sessionStats.getSteps(),
+                sessionStats.getPucksSpawned(),
+                sessionStats.getHeartsCollected(),
+                healthPointsPanel.getHP(),
+                brickCount.value());
+        brickHandler.saveGrid(snapshot.getGrid());
+        StrategyHandler strategyHandler = brickHandler.getStrategyHandler();
+        for (int id = StrategyWeights.STRATEGY_COUNT; id < strategyHandler.getStrategyCount(); id++) {
+            int mask = strategyHandler.getCombination((byte) id);
+            if (mask != 0) {
+                snapshot.addCombination((byte) id, mask);
+            }
+        }
+        for (int i = 0; i < balls.size(); i++) {
+            Ball ball = balls.get(i);
+            snapshot.addBall(ball.getBallType(), ball.getTopLeftCorner(), ball.getVelocity());
+        }
+        //The pucks waiting for their frame are saved as if they had already joined the game.
+        for (Ball puck : pendingPucks) {
+            snapshot.addBall(puck.getBallType(), puck.getTopLeftCorner(), puck.getVelocity());
+        }
+        for (int i = 0; i < paddles.size(); i++) {
+            Paddle paddle = paddles.get(i);
+            snapshot.addPaddle(paddle.getCollisionCount(),
+                    paddle.getTopLeftCorner(),
+                    paddle.getDimensions().x());
+        }
+        for (int i = 0; i < pickupSystem.getActiveCount(); i++) {
+            snapshot.addPickup(pickupSystem.getActiveType(i),
+                    pickupSystem.getActiveTopLeftX(i),
+                    pickupSystem.getActiveTopLeftY(i),
+                    pickupSystem.getActiveVelocityY(i));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replaces the current round with the round a snapshot was taken of, so that it goes
+     * on from where the snapshot was taken. Meant to be called between two frames.
+     * The grid, the counters, the health points, the balls, the paddles, the falling pickups
+     * and the random generators are all put back as they were. Extra paddles are restored
+     * as paddles of their own: the strategy that spawned one doesn't know it's the same
+     * paddle, so hitting that strategy again spawns another one. Bricks built with the
+     * DoubleStrategy keep the strategies that were chosen for them.
+     * A resumed round plays out exactly like the original one for as long as no two balls
+     * touch. The engine remembers which objects were already touching, and a snapshot
+     * can't hold that, so balls touching when it was taken collide anew once resumed.
+     * A round that is being recorded stops being recorded, since its log could no longer
+     * be replayed from the round's seed.
+     *
+     * @param snapshot The snapshot, taken in a game of the same setup.
+     * @throws IllegalArgumentException if the snapshot was taken in a game with another grid
+     *                                  size, window size or strategy table.
+     */
+    public void restoreSnapshot(GameSnapshot snapshot) {
+        if (snapshot.getCols() != cols || snapshot.getRows() != rows
+                || snapshot.getWindowDimensions().x() != windowDimensions.x()
+                || snapshot.getWindowDimensions().y() != windowDimensions.y()
+                || !snapshot.getStrategyWeights().equals(strategyWeights)) {
+            throw new IllegalArgumentException("The snapshot was taken in a game of another setup (" +
+                    snapshot.getCols() + " x " + snapshot.getRows() + " bricks, strategies " +
+                    snapshot.getStrategyWeights() + ")");
+        }
+        if (inputRecorder != null) {
+            inputRecorder.close();
+            inputRecorder = null;
+        }
+
+        //The predefined strategies keep their ids, and every combination gets its id in this game.
+        StrategyHandler strategyHandler = brickHandler.getStrategyHandler();
+        byte[] ids = new byte[Byte.MAX_VALUE + 1];
+        for (int id = 0; id < StrategyWeights.STRATEGY_COUNT; id++) {
+            ids[id] = (byte) id;
+        }
+        for (int i = 0; i < snapshot.getCombinationCount(); i++) {
+            ids[snapshot.getCombinationId(i)] = strategyHandler.resolveCombination(snapshot.getCombinationMask(i));
+        }
+        brickHandler.restoreGrid(snapshot.getGrid(), ids);
+        brickCount.reset();
+        brickCount.increaseBy(snapshot.getBrickCount());
+        while (healthPointsPanel.getHP() < snapshot.getHealthPoints()) {
+            healthPointsPanel.increaseHP();
+        }
+        while (healthPointsPanel.getHP() > snapshot.getHealthPoints()) {
+            healthPointsPanel.decreaseHP();
+        }
+
+        //The balls and paddles are put back in the snapshot's order, which is the order
+        // they are swept in, so that they hit the bricks in the same order as before.
+        for (int i = 0; i < balls.size(); i++) {
+            Ball ball = balls.get(i);
+            if (ball != mainBall) {
+                removeItem(ball, Layer.DEFAULT);
+                ballFactory.release(ball);
+            }
+        }
+        balls.clear();
+        while (!pendingPucks.isEmpty()) {
+            ballFactory.release(pendingPucks.pollFirst());
+        }
+        for (int i = 0; i < snapshot.getBallCount(); i++) {
+            Ball ball = mainBall;
+            if (snapshot.getBallType(i) == BallType.PUCK) {
+                ball = ballFactory.build(BallType.PUCK, Vector2.ZERO);
+                addItem(ball, Layer.DEFAULT);
+            }
+            ball.restore(snapshot.getBallTopLeftCorner(i), snapshot.getBallVelocity(i));
+            balls.add(ball);
+        }
+        for (int i = 0; i < paddles.size(); i++) {
+            if (paddles.get(i) != userPaddle) {
+                removeItem(paddles.get(i), Layer.DEFAULT);
+            }
+        }
+        paddles.clear();
+        for (int i = 0; i < snapshot.getPaddleCount(); i++) {
+            Paddle paddle = userPaddle;
+            if (snapshot.getPaddleCollisionCount(i) != PaddleHandler.MAIN_PADDLE_COUNTER) {
+                paddle = paddleHandler.build(PaddleType.STRATEGY);
+                addItem(paddle, Layer.DEFAULT);
+            }
+            paddle.restore(snapshot.getPaddleTopLeftCorner(i),
+                    snapshot.getPaddleWidth(i),
+                    snapshot.getPaddleCollisionCount(i));
+            paddles.add(paddle);
+        }
+        pickupSystem.clear();
+        for (int i = 0; i < snapshot.getPickupCount(); i++) {
+            pickupSystem.restore(snapshot.getPickupType(i),
+                    snapshot.getPickupTopLeftX(i),
+                    snapshot.getPickupTopLeftY(i),
+                    snapshot.getPickupVelocityY(i));
+        }
+
+        //Building the pucks drew random numbers, so the generators are restored last.
+        roundSeed = snapshot.getRoundSeed();
+        random.setState(snapshot.getRandomState());
+        roundSeeds.setState(snapshot.getRoundSeedsState());
+        sessionStats.resume(snapshot.getSteps(), snapshot.getPucksSpawned(), snapshot.getHeartsCollected());
+        timeAccumulator = 0;
+        followPaddle();
+        sessionStats.changeObjectCount(commandBuffer.flush(gameObjects()));
+    }
+
+    /**
+     * Applies the additions and removals of game objects queued so far right away, instead
+     * of at the end of the current frame. Code that drives the game without running its
+     * frames (a benchmark's setup, for example) calls this so the queue doesn't grow.
+     */
+    public void flushItems() {
+        sessionStats.changeObjectCount(commandBuffer.flush(gameObjects()));
     }
 
     /**
      * Adds a game object to the game in the specified rendering layer.
+     * The object joins the game at the end of the current frame.
      *
      * @param item  The GameObject to be added.
      * @param layer The rendering layer in which the GameObject should be placed.
      */
     public void addItem(GameObject item, int layer) {
-        gameObjects().addGameObject(item, layer);
+        commandBuffer.add(item, layer);
+
+        ObjectAddedEvent event = new ObjectAddedEvent();
+        if (event.isEnabled()) {
+            event.objectClass = item.getClass();
+            event.layer = layer;
+            event.commit();
+        }
     }
 
     /**
      * Removes a specific game object from the game in the specified rendering layer.
+     * The object leaves the game at the end of the current frame.
      *
      * @param item  The GameObject to be removed.
      * @param layer The rendering layer from which the GameObject should be removed.
      */
     public void removeItem(GameObject item, int layer) {
-        gameObjects().removeGameObject(item, layer);
+        commandBuffer.remove(item, layer);
+
+        ObjectRemovedEvent event = new ObjectRemovedEvent();
+        if (event.isEnabled()) {
+            event.objectClass = item.getClass();
+            event.layer = layer;
+            event.commit();
+        }
+    }
+
+    /**
+     * Adds a ball (the main ball or a puck) to the game, and lets it collide with the bricks.
+     * While the frame budget governor spreads the spawns, a puck waits in a queue for a
+     * later frame instead, and while it caps the pucks, a puck beyond MAX_LIVE_PUCKS is
+     * handed straight back to the BallFactory.
+     *
+     * @param ball The ball to be added.
+     */
+    public void addBall(Ball ball) {
+        if (ball.getBallType() != BallType.PUCK || !governor.isShedding(SheddingLevel.SPREAD_SPAWNS)) {
+            spawnBall(ball);
+            return;
+        }
+        //Every ball but the main ball is a puck.
+        int puckCount = balls.size() - 1 + pendingPucks.size();
+        if (governor.isShedding(SheddingLevel.CAP_PUCKS) && puckCount >= MAX_LIVE_PUCKS) {
+            ballFactory.release(ball);
+            governor.countPuckCapped();
+            return;
+        }
+        pendingPucks.addLast(ball);
+        governor.countSpawnDeferred();
+    }
+
+    private void spawnBall(Ball ball) {
+        addItem(ball, Layer.DEFAULT);
+        balls.add(ball);
+        if (ball.getBallType() == BallType.PUCK) {
+            sessionStats.countPuckSpawned();
+        }
+    }
+
+    /**
+     * Removes a ball from the game.
+     *
+     * @param ball The ball to be removed.
+     */
+    public void removeBall(Ball ball) {
+        removeItem(ball, Layer.DEFAULT);
+        int index = balls.indexOf(ball);
+        if (index >= 0) {
+            //The order of the balls doesn't matter, so the last one takes the removed one's place.
+            balls.set(index, balls.get(balls.size() - 1));
+            balls.remove(balls.size() - 1);
+        }
+    }
+
+    /**
+     * Adds a paddle to the game, and lets the balls bounce off it.
+     * Adding a paddle that is already in the game changes nothing.
+     *
+     * @param paddle The paddle to be added.
+     */
+    public void addPaddle(Paddle paddle) {
+        if (!paddles.contains(paddle)) {
+            paddles.add(paddle);
+            addItem(paddle, Layer.DEFAULT);
+        }
+    }
+
+    /**
+     * Removes a paddle from the game.
+     *
+     * @param paddle The paddle to be removed.
+     */
+    public void removePaddle(Paddle paddle) {
+        removeItem(paddle, Layer.DEFAULT);
+        paddles.remove(paddle);
     }
 
     /**
@@ -240,14 +894,142 @@ public class BrickerGameManager extends GameManager {
      */
     public void increaseHP() {
         healthPointsPanel.increaseHP();
+        sessionStats.countHeartCollected();
+    }
+
+    /**
+     * @return The profiler that times the phases of the game's frames.
+     */
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return The governor that sheds the game's load when its frames run over their budget.
+     */
+    public FrameBudgetGovernor getFrameBudgetGovernor() {
+        return governor;
+    }
+
+    /**
+     * @return The game's screen dimensions, needed to calculate some of the game
+     * objects' relative size and to render the game.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * @return The counter of the amount of bricks left in the grid.
+     */
+    public Counter getBrickCount() {
+        return brickCount;
+    }
+
+    /**
+     * @return The game's random generator, which every random choice of the game is drawn from.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * @return The seed the current round is played with. A game constructed with this seed
+     * (and the same setup) plays its first round exactly like the current one, given the
+     * same input.
+     */
+    public long getRoundSeed() {
+        return roundSeed;
+    }
+
+    /**
+     * @return The probabilities the bricks' strategies are chosen with.
+     */
+    public StrategyWeights getStrategyWeights() {
+        return strategyWeights;
+    }
+
+    /**
+     * @return The factory the game's balls (and pucks) are built by.
+     */
+    public BallFactory getBallFactory() {
+        return ballFactory;
+    }
+
+    /**
+     * @return The statistics of the current round.
+     */
+    public SessionStats getSessionStats() {
+        return sessionStats;
+    }
+
+    /**
+     * @return The main ball.
+     */
+    public Ball getMainBall() {
+        return mainBall;
+    }
+
+    /**
+     * @return The paddle controlled by the player.
+     */
+    public Paddle getUserPaddle() {
+        return userPaddle;
+    }
+
+    /**
+     * @return The player's current health points.
+     */
+    public int getHealthPoints() {
+        return healthPointsPanel.getHP();
+    }
+
+    /**
+     * @return The mixer every sound effect of the game is played through.
+     */
+    public AudioMixer getAudioMixer() {
+        return audioMixer;
+    }
+
+    /**
+     * @return The dimensions of the game world. The world is as high as the window, and
+     * wider than it when the brick grid has more columns than fit in the window.
+     */
+    public Vector2 getWorldDimensions() {
+        return worldDimensions;
+    }
+
+    /**
+     * @return The left edge of the part of the world currently in view, in world
+     * coordinates. It is 0 while the whole world fits in the window.
+     */
+    public int getViewLeft() {
+        return viewLeft;
+    }
+
+    /**
+     * @return The center of the part of the world currently in view, in world coordinates.
+     */
+    public Vector2 getViewCenter() {
+        if (cameraTarget == null) {
+            return windowDimensions.mult(0.5f);
+        }
+        return cameraTarget.getCenter();
+    }
+
+    /**
+     * @return The system owning every falling pickup (hearts and power-ups) of the game.
+     */
+    public PickupSystem getPickupSystem() {
+        return pickupSystem;
     }
 
     private void checkForStrike() {
-        double ballHeight = mainBall.getCenter().y();
+        double ballHeight = mainBall.getTopLeftCorner().y() + (mainBall.getDimensions().y() / 2);
 
         if (ballHeight > windowDimensions.y()) {
             healthPointsPanel.decreaseHP();
-            mainBall.reset();
+            mainBall.reset(getViewCenter());
         }
     }
 
@@ -257,20 +1039,62 @@ public class BrickerGameManager extends GameManager {
      * and columns, then starts the game using a GameManager instance.
      *
      * @param args Command-line arguments where:
-     *             args[0] specifies the number of columns of bricks (optional).
-     *             args[1] specifies the number of rows of bricks (optional).
+     *             args[0] specifies the number of columns of bricks (optional), or the
+     *             path of a level file (see bricker.level.LevelFile), named with
+     *             LevelFile.EXTENSION, to play instead of a grid of random bricks.
+     *             args[1] specifies the number of rows of bricks (optional; ignored when
+     *             args[0] is a level file).
+     *             args[2] specifies a path prefix to record every round's input under,
+     *             for replaying it later with bricker.replay.ReplayRunner (optional; "-"
+     *             to not record).
+     *             args[3] specifies a weights file (see StrategyWeights.load) to choose the
+     *             bricks' strategies with, instead of the default table (optional).
      */
     public static void main(String[] args) {
         int rows = DEFAULT_BRICK_ROWS,
                 cols = DEFAULT_BRICK_COLS;
-        if (args.length == 2) {
+        LevelFile level = null;
+        if (args.length >= 1 && args[0].endsWith(LevelFile.EXTENSION)) {
+            try {
+                level = LevelFile.open(args[0]);
+            } catch (IOException e) {
+                System.err.println("Couldn't load the level " + args[0] + ": " + e.getMessage());
+                return;
+            }
+        } else if (args.length >= 2) {
             cols = Integer.parseInt(args[0]);
             rows = Integer.parseInt(args[1]);
         }
-        GameManager manager = new BrickerGameManager("Bricker",
-                new Vector2(1050, 750),
-                cols,
-                rows);
+        StrategyWeights strategyWeights = StrategyWeights.DEFAULT;
+        if (args.length >= 4) {
+            try {
+                strategyWeights = StrategyWeights.load(args[3]);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Couldn't load the strategy weights " + args[3] + ": " + e.getMessage());
+                return;
+            }
+        }
+        //Decode the images (and pack the sprites) while the window opens.
+        AssetCache.preloadImages("assets", SPRITE_FILE_NAMES);
+        Vector2 windowDimensions = new Vector2(1050, 750);
+        BrickerGameManager manager;
+        if (level != null) {
+            manager = new BrickerGameManager("Bricker",
+                    windowDimensions,
+                    level,
+                    new Random().nextLong(),
+                    strategyWeights);
+        } else {
+            manager = new BrickerGameManager("Bricker",
+                    windowDimensions,
+                    cols,
+                    rows,
+                    new Random().nextLong(),
+                    strategyWeights);
+        }
+        if (args.length >= 3 && !args[2].equals(NO_RECORDING)) {
+            manager.recordInput(args[2]);
+        }
         manager.run();
     }
 }
@@ -0,0 +1,201 @@
+package bricker.main;
+
+import bricker.profiler.LoadSheddingEvent;
+
+/**
+ * Watches how long the game's frames take, and decides how much of the game's load to shed
+ * (see SheddingLevel) so that the frames fit in their budget. Strategies can spawn pucks
+ * faster than the game can move them (a DoubleStrategy stacks ExtraPucksStrategies, and a
+ * chain reaction sets off many at once), so the amount of objects can spike until frames
+ * are dropped.
+ * The governor steps up a level once ESCALATE_AFTER_FRAMES frames in a row ran over the
+ * budget, and back down a level once RELAX_AFTER_FRAMES frames in a row took at most
+ * RELAX_RATIO of it, so a single slow frame changes nothing and the levels don't flicker.
+ * The BrickerGameManager acts on the level; the governor counts what it did, and every
+ * change of level is emitted as a LoadSheddingEvent.
+ * Like the game itself, a FrameBudgetGovernor is meant to be used by a single thread.
+ */
+public class FrameBudgetGovernor {
+
+    private static final int ESCALATE_AFTER_FRAMES = 8;
+    private static final int RELAX_AFTER_FRAMES = 160;
+    private static final double RELAX_RATIO = 0.7;
+    private static final SheddingLevel[] LEVELS = SheddingLevel.values();
+
+    private final long budgetNanos;
+    private SheddingLevel level;
+    private int overBudgetStreak;
+    private int underBudgetStreak;
+
+    private final long[] framesAtLevel = new long[LEVELS.length];
+    private long framesOverBudget;
+    private long escalations;
+    private long relaxations;
+    private long spawnsDeferred;
+    private long pucksCapped;
+    private long pucksMerged;
+
+    /**
+     * Constructs a FrameBudgetGovernor that sheds nothing yet.
+     *
+     * @param budgetNanos The time, in nanoseconds, a frame is expected to fit in.
+     */
+    FrameBudgetGovernor(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        reset();
+    }
+
+    /**
+     * Goes back to shedding nothing, and sets every count back to 0, for a new round.
+     */
+    void reset() {
+        level = SheddingLevel.NONE;
+        overBudgetStreak = 0;
+        underBudgetStreak = 0;
+        for (int i = 0; i < framesAtLevel.length; i++) {
+            framesAtLevel[i] = 0;
+        }
+        framesOverBudget = 0;
+        escalations = 0;
+        relaxations = 0;
+        spawnsDeferred = 0;
+        pucksCapped = 0;
+        pucksMerged = 0;
+    }
+
+    /**
+     * Counts a frame, and steps the level up or down if the frames call for it.
+     *
+     * @param frameNanos How long the frame took, in nanoseconds.
+     */
+    void recordFrame(long frameNanos) {
+        framesAtLevel[level.ordinal()]++;
+        if (frameNanos > budgetNanos) {
+            framesOverBudget++;
+            underBudgetStreak = 0;
+            overBudgetStreak++;
+            if (overBudgetStreak >= ESCALATE_AFTER_FRAMES && level.ordinal() < LEVELS.length - 1) {
+                escalations++;
+                changeLevel(LEVELS[level.ordinal() + 1], frameNanos);
+            }
+            return;
+        }
+        overBudgetStreak = 0;
+        if (frameNanos > budgetNanos * RELAX_RATIO) {
+            //Within the budget, but not by enough to let go of anything.
+            underBudgetStreak = 0;
+            return;
+        }
+        underBudgetStreak++;
+        if (underBudgetStreak >= RELAX_AFTER_FRAMES && level != SheddingLevel.NONE) {
+            relaxations++;
+            changeLevel(LEVELS[level.ordinal() - 1], frameNanos);
+        }
+    }
+
+    private void changeLevel(SheddingLevel newLevel, long frameNanos) {
+        LoadSheddingEvent event = new LoadSheddingEvent();
+        if (event.isEnabled()) {
+            event.previousLevel = level.name();
+            event.level = newLevel.name();
+            event.frameTime = frameNanos;
+            event.commit();
+        }
+        level = newLevel;
+        overBudgetStreak = 0;
+        underBudgetStreak = 0;
+    }
+
+    /**
+     * Counts a puck that was queued rather than spawned right away.
+     */
+    void countSpawnDeferred() {
+        spawnsDeferred++;
+    }
+
+    /**
+     * Counts a puck that was dropped rather than spawned, since there were too many pucks.
+     */
+    void countPuckCapped() {
+        pucksCapped++;
+    }
+
+    /**
+     * Counts a puck that was merged into a puck close to it.
+     */
+    void countPuckMerged() {
+        pucksMerged++;
+    }
+
+    /**
+     * @param level A shedding level.
+     * @return True if the load that level sheds is currently shed.
+     */
+    public boolean isShedding(SheddingLevel level) {
+        return this.level.ordinal() >= level.ordinal();
+    }
+
+    /**
+     * @return How much load is currently shed.
+     */
+    public SheddingLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The time, in nanoseconds, a frame is expected to fit in.
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * @param level A shedding level.
+     * @return The amount of frames the governor counted while at that level.
+     */
+    public long getFramesAtLevel(SheddingLevel level) {
+        return framesAtLevel[level.ordinal()];
+    }
+
+    /**
+     * @return The amount of frames that ran over the budget.
+     */
+    public long getFramesOverBudget() {
+        return framesOverBudget;
+    }
+
+    /**
+     * @return The amount of times the governor stepped up a level.
+     */
+    public long getEscalations() {
+        return escalations;
+    }
+
+    /**
+     * @return The amount of times the governor stepped down a level.
+     */
+    public long getRelaxations() {
+        return relaxations;
+    }
+
+    /**
+     * @return The amount of pucks that were queued rather than spawned right away.
+     */
+    public long getSpawnsDeferred() {
+        return spawnsDeferred;
+    }
+
+    /**
+     * @return The amount of pucks that were dropped since there were too many pucks.
+     */
+    public long getPucksCapped() {
+        return pucksCapped;
+    }
+
+    /**
+     * @return The amount of pucks that were merged into a puck close to them.
+     */
+    public long getPucksMerged() {
+        return pucksMerged;
+    }
+}
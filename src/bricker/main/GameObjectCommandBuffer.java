@@ -0,0 +1,118 @@
+package bricker.main;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.TreeMap;
+
+/**
+ * A buffer of the game objects to be added to the game and removed from it.
+ * Instead of changing the game's object collection in the middle of a collision pass,
+ * additions and removals are queued here, grouped by layer, and applied together once
+ * per frame. Queuing the removal of an object whose addition is still queued cancels
+ * both, so an object that comes and goes within a single frame never touches the game's
+ * object collection. The other way around, both are kept: the buffer can't tell whether
+ * the object is in the collection, and applying the removal before the addition leaves
+ * it there either way.
+ * An object is expected to be added only while it isn't in the game (or is queued to be
+ * removed from it), so that every addition flush applies adds an object.
+ */
+class GameObjectCommandBuffer {
+
+    private final TreeMap<Integer, LayerCommands> layers = new TreeMap<>();
+    //The same commands as in the map, ordered by layer, so flushing needs no iterator.
+    private final ArrayList<LayerCommands> orderedLayers = new ArrayList<>();
+
+    /**
+     * Queues the addition of a game object to the game.
+     *
+     * @param item  The GameObject to be added.
+     * @param layer The layer in which the GameObject should be placed.
+     */
+    void add(GameObject item, int layer) {
+        commandsOf(layer).adds.add(item);
+    }
+
+    /**
+     * Queues the removal of a game object from the game.
+     *
+     * @param item  The GameObject to be removed.
+     * @param layer The layer from which the GameObject should be removed.
+     */
+    void remove(GameObject item, int layer) {
+        LayerCommands commands = commandsOf(layer);
+        if (!commands.adds.remove(item)) {
+            commands.removes.add(item);
+        }
+    }
+
+    /**
+     * Applies every queued change to a collection of game objects, layer by layer,
+     * removals before additions, and empties the buffer.
+     *
+     * @param gameObjects The collection to apply the changes to.
+     * @return By how much the amount of objects in the collection changed. Removing an
+     * object that wasn't in the collection changes nothing.
+     */
+    int flush(GameObjectCollection gameObjects) {
+        int change = 0;
+        for (int i = 0; i < orderedLayers.size(); i++) {
+            LayerCommands commands = orderedLayers.get(i);
+            int layer = commands.layer;
+            if (!commands.removes.isEmpty()) {
+                for (GameObject item : commands.removes) {
+                    if (gameObjects.removeGameObject(item, layer)) {
+                        change--;
+                    }
+                }
+                commands.removes.clear();
+            }
+            if (!commands.adds.isEmpty()) {
+                for (GameObject item : commands.adds) {
+                    gameObjects.addGameObject(item, layer);
+                }
+                change += commands.adds.size();
+                commands.adds.clear();
+            }
+        }
+        return change;
+    }
+
+    /**
+     * Drops every queued change without applying it.
+     */
+    void clear() {
+        for (int i = 0; i < orderedLayers.size(); i++) {
+            LayerCommands commands = orderedLayers.get(i);
+            commands.adds.clear();
+            commands.removes.clear();
+        }
+    }
+
+    private LayerCommands commandsOf(int layer) {
+        LayerCommands commands = layers.get(layer);
+        if (commands == null) {
+            commands = new LayerCommands(layer);
+            layers.put(layer, commands);
+            orderedLayers.clear();
+            orderedLayers.addAll(layers.values());
+        }
+        return commands;
+    }
+
+    /**
+     * The changes queued for a single layer. A layer's sets are kept once the layer
+     * was used, so queuing changes doesn't allocate anything but the sets' entries.
+     */
+    private static class LayerCommands {
+        private final int layer;
+        private final LinkedHashSet<GameObject> adds = new LinkedHashSet<>();
+        private final LinkedHashSet<GameObject> removes = new LinkedHashSet<>();
+
+        private LayerCommands(int layer) {
+            this.layer = layer;
+        }
+    }
+}
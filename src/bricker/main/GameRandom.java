@@ -0,0 +1,73 @@
+package bricker.main;
+
+import java.util.Random;
+
+/**
+ * The random generator a game draws every random choice from. It behaves like any other
+ * Random, but its whole state is a single long that can be read and set back (which
+ * java.util.Random hides), so a snapshot of the game can resume its random choices exactly
+ * where they were. The numbers are generated by SplitMix64.
+ * Like the game itself, a GameRandom is meant to be used by a single thread.
+ */
+public class GameRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    //Set by setSeed, which Random's constructor calls, so it must not have an initializer.
+    private long state;
+
+    /**
+     * Constructs a GameRandom seeded with a given seed.
+     *
+     * @param seed The seed.
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    /**
+     * Seeds the generator, so that it generates the same numbers as any other GameRandom
+     * seeded with the same seed.
+     *
+     * @param seed The seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        state = seed;
+    }
+
+    /**
+     * @return The state of the generator. A GameRandom whose state is set to it generates
+     * the same numbers as this one from here on.
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Sets the state of the generator to one read by getState.
+     *
+     * @param state The state.
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    /**
+     * Generates the next random number, which every other method of Random is built on.
+     *
+     * @param bits The amount of random bits to generate.
+     * @return The random bits, in the lowest bits of an int.
+     */
+    @Override
+    protected int next(int bits) {
+        state += GOLDEN_GAMMA;
+        long z = state;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return (int) (z >>> (Long.SIZE - bits));
+    }
+}
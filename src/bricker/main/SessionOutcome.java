@@ -0,0 +1,19 @@
+package bricker.main;
+
+/**
+ * The ways a game session can end.
+ */
+public enum SessionOutcome {
+    /**
+     * Every brick was destroyed.
+     */
+    WON,
+    /**
+     * The player ran out of health points.
+     */
+    LOST,
+    /**
+     * The session was stopped before the game ended.
+     */
+    UNFINISHED
+}
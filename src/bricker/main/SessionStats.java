@@ -0,0 +1,141 @@
+package bricker.main;
+
+/**
+ * What happened during a single round of the game, as counted by its BrickerGameManager:
+ * how long the round lasted, how many pucks were spawned and hearts collected, and how
+ * many game objects were in the game at once at most. The counts start over whenever the
+ * game is (re)initialized.
+ */
+public class SessionStats {
+
+    private long steps;
+    private long pucksSpawned;
+    private long heartsCollected;
+    private int objectCount;
+    private int peakObjectCount;
+    private SessionOutcome outcome;
+
+    /**
+     * Constructs a SessionStats with every count at 0.
+     */
+    SessionStats() {
+        reset();
+    }
+
+    /**
+     * Sets every count back to 0, for a new round.
+     */
+    void reset() {
+        steps = 0;
+        pucksSpawned = 0;
+        heartsCollected = 0;
+        objectCount = 0;
+        peakObjectCount = 0;
+        outcome = SessionOutcome.UNFINISHED;
+    }
+
+    /**
+     * Sets the counts of a round resumed from a snapshot back to what they were when the
+     * snapshot was taken. The amount of game objects isn't part of a snapshot; it keeps
+     * following the objects the game actually holds.
+     *
+     * @param steps           The amount of physics steps played.
+     * @param pucksSpawned    The amount of pucks spawned.
+     * @param heartsCollected The amount of hearts collected.
+     */
+    void resume(long steps, long pucksSpawned, long heartsCollected) {
+        this.steps = steps;
+        this.pucksSpawned = pucksSpawned;
+        this.heartsCollected = heartsCollected;
+        outcome = SessionOutcome.UNFINISHED;
+    }
+
+    /**
+     * Counts a physics step of the round.
+     */
+    void countStep() {
+        steps++;
+    }
+
+    /**
+     * Counts a puck entering the game.
+     */
+    void countPuckSpawned() {
+        pucksSpawned++;
+    }
+
+    /**
+     * Counts a heart caught by the paddle.
+     */
+    void countHeartCollected() {
+        heartsCollected++;
+    }
+
+    /**
+     * Changes the amount of game objects in the game, keeping track of its peak.
+     *
+     * @param change By how much the amount changed.
+     */
+    void changeObjectCount(int change) {
+        objectCount += change;
+        peakObjectCount = Math.max(peakObjectCount, objectCount);
+    }
+
+    /**
+     * Records how the round ended.
+     *
+     * @param outcome The outcome of the round.
+     */
+    void end(SessionOutcome outcome) {
+        this.outcome = outcome;
+    }
+
+    /**
+     * @return The amount of physics steps the round lasted.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return How long the round lasted, in seconds of game time.
+     */
+    public float getRoundSeconds() {
+        return steps * BrickerGameManager.PHYSICS_STEP;
+    }
+
+    /**
+     * @return The amount of pucks spawned by strategies during the round.
+     */
+    public long getPucksSpawned() {
+        return pucksSpawned;
+    }
+
+    /**
+     * @return The amount of falling hearts the paddle collected during the round.
+     */
+    public long getHeartsCollected() {
+        return heartsCollected;
+    }
+
+    /**
+     * @return The amount of game objects currently in the game.
+     */
+    public int getObjectCount() {
+        return objectCount;
+    }
+
+    /**
+     * @return The largest amount of game objects that were in the game at once.
+     */
+    public int getPeakObjectCount() {
+        return peakObjectCount;
+    }
+
+    /**
+     * @return How the round ended, or UNFINISHED while it's still going.
+     */
+    public SessionOutcome getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,28 @@
+package bricker.main;
+
+/**
+ * How much of the game's load a FrameBudgetGovernor sheds, from none at all to the most.
+ * Every level also sheds what the levels below it do.
+ */
+public enum SheddingLevel {
+    /**
+     * Nothing is shed.
+     */
+    NONE,
+    /**
+     * Pucks spawned by the strategies wait in a queue, and join the game a few per frame.
+     */
+    SPREAD_SPAWNS,
+    /**
+     * Pucks spawned while too many pucks are already in the game (or waiting) are dropped.
+     */
+    CAP_PUCKS,
+    /**
+     * A sound requested while it's still playing isn't played again.
+     */
+    MERGE_SOUNDS,
+    /**
+     * Pucks that come close to each other are merged into one.
+     */
+    MERGE_PUCKS
+}
@@ -0,0 +1,92 @@
+package bricker.physics;
+
+import bricker.gameobjects.Ball;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Advances every ball of the game by a physics step, in parallel.
+ * The balls are split in halves recursively across a ForkJoinPool, until every task has
+ * at most BALLS_PER_TASK balls, which it advances one after another. Advancing a ball only
+ * changes that ball, so the tasks share nothing; everything that does touch the rest of
+ * the game (collisions, terminating fallen pucks, strategies) still happens afterwards,
+ * in order, on the game thread.
+ * A handful of balls isn't worth handing to other threads, so as long as there are no
+ * more than BALLS_PER_TASK of them, they are advanced on the calling thread.
+ */
+public class ParallelBallUpdate {
+
+    /**
+     * The largest amount of balls a single task advances, rather than splitting them.
+     * Advancing a ball takes about 11ns, while handing work to the pool costs a few
+     * microseconds, so fewer balls than this take less time to advance than to split,
+     * however many cores share them (see BallUpdateBenchmark).
+     */
+    public static final int BALLS_PER_TASK = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a ParallelBallUpdate.
+     *
+     * @param pool The pool the balls are advanced on.
+     */
+    public ParallelBallUpdate(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Advances every given ball by a physics step, and returns once all of them are.
+     *
+     * @param balls     The balls to advance. The list must not change until this returns.
+     * @param deltaTime The time (in seconds) elapsed since the previous physics step.
+     */
+    public void advance(List<Ball> balls, float deltaTime) {
+        int ballCount = balls.size();
+        if (ballCount <= BALLS_PER_TASK) {
+            advanceRange(balls, 0, ballCount, deltaTime);
+            return;
+        }
+        pool.invoke(new AdvanceTask(balls, 0, ballCount, deltaTime));
+    }
+
+    private static void advanceRange(List<Ball> balls, int from, int to, float deltaTime) {
+        for (int i = from; i < to; i++) {
+            balls.get(i).advance(deltaTime);
+        }
+    }
+
+    /**
+     * Advances the balls in a range of the list, splitting the range in half while it's
+     * larger than BALLS_PER_TASK.
+     */
+    private static class AdvanceTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Ball> balls;
+        private final int from;
+        private final int to;
+        private final float deltaTime;
+
+        AdvanceTask(List<Ball> balls, int from, int to, float deltaTime) {
+            this.balls = balls;
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BALLS_PER_TASK) {
+                advanceRange(balls, from, to, deltaTime);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AdvanceTask(balls, from, middle, deltaTime),
+                    new AdvanceTask(balls, middle, to, deltaTime));
+        }
+    }
+}
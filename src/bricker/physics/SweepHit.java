@@ -0,0 +1,119 @@
+package bricker.physics;
+
+import danogl.GameObject;
+
+/**
+ * The earliest impact found while sweeping a moving box through a step.
+ * A single SweepHit is reused for every sweep, so sweeping allocates nothing.
+ */
+public class SweepHit {
+
+    private float time;
+    private boolean horizontalNormal;
+    private GameObject object;
+    private int col = -1;
+    private int row = -1;
+
+    /**
+     * Forgets the previous impact, before looking for the earliest impact of a new sweep.
+     *
+     * @param maxTime The latest time (as a fraction of the sweep) an impact may happen at.
+     */
+    public void reset(float maxTime) {
+        time = maxTime;
+        horizontalNormal = false;
+        object = null;
+        col = -1;
+        row = -1;
+    }
+
+    /**
+     * Records an impact, if it happens before the earliest impact recorded so far.
+     *
+     * @param time             The time of the impact, as a fraction of the sweep.
+     * @param horizontalNormal True if the surface hit faces left or right (so the moving
+     *                         box should flip its horizontal velocity), false if it faces
+     *                         up or down.
+     * @param object           The object hit, or null for an edge of the world.
+     * @return True if the impact was recorded.
+     */
+    public boolean offer(float time, boolean horizontalNormal, GameObject object) {
+        if (time >= this.time) {
+            return false;
+        }
+        this.time = time;
+        this.horizontalNormal = horizontalNormal;
+        this.object = object;
+        col = -1;
+        row = -1;
+        return true;
+    }
+
+    /**
+     * Records an impact on a brick of the grid, given by its cell, if it happens before the
+     * earliest impact recorded so far. Bricks are swept by their cells, so that a brick
+     * doesn't need to exist as a Brick object to be hit.
+     *
+     * @param time             The time of the impact, as a fraction of the sweep.
+     * @param horizontalNormal True if the surface hit faces left or right, false if it
+     *                         faces up or down.
+     * @param col              The column of the brick hit.
+     * @param row              The row of the brick hit.
+     * @return True if the impact was recorded.
+     */
+    public boolean offerCell(float time, boolean horizontalNormal, int col, int row) {
+        if (time >= this.time) {
+            return false;
+        }
+        this.time = time;
+        this.horizontalNormal = horizontalNormal;
+        object = null;
+        this.col = col;
+        this.row = row;
+        return true;
+    }
+
+    /**
+     * @return The time of the earliest impact, as a fraction of the sweep. If nothing
+     * was hit, this is the max time given to reset.
+     */
+    public float getTime() {
+        return time;
+    }
+
+    /**
+     * @return True if the surface hit faces left or right, false if it faces up or down.
+     */
+    public boolean hasHorizontalNormal() {
+        return horizontalNormal;
+    }
+
+    /**
+     * @return The object hit, or null if nothing was hit, an edge of the world was, or a
+     * brick of the grid was (see hasCell).
+     */
+    public GameObject getObject() {
+        return object;
+    }
+
+    /**
+     * @return True if the earliest impact is on a brick of the grid.
+     */
+    public boolean hasCell() {
+        return col >= 0;
+    }
+
+    /**
+     * @return The column of the brick hit, or -1 if no brick of the grid was hit.
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * @return The row of the brick hit, or -1 if no brick of the grid was hit.
+     */
+    public int getRow() {
+        return row;
+    }
+}
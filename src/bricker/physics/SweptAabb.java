@@ -0,0 +1,163 @@
+package bricker.physics;
+
+import danogl.GameObject;
+
+/**
+ * Continuous collision detection between axis-aligned boxes.
+ * A box moving by a displacement over a step is swept against a static box: the time
+ * of impact is the first moment (as a fraction of the step) at which the boxes touch,
+ * so a fast box can't skip past a thin one between the start and the end of the step.
+ */
+public class SweptAabb {
+
+    private SweptAabb() {
+    }
+
+    /**
+     * Sweeps a moving box against a static one, and records the impact in a SweepHit if
+     * it happens before the earliest impact recorded there so far.
+     * Boxes that already overlap at the start of the step are not considered a hit, so a
+     * box can always move out of another one.
+     *
+     * @param left      The left edge of the moving box at the start of the step.
+     * @param top       The top edge of the moving box at the start of the step.
+     * @param width     The width of the moving box.
+     * @param height    The height of the moving box.
+     * @param dx        The horizontal displacement of the moving box over the step.
+     * @param dy        The vertical displacement of the moving box over the step.
+     * @param target    The static box.
+     * @param hit       The earliest impact found so far.
+     * @return True if an earlier impact was found and recorded.
+     */
+    public static boolean sweep(float left,
+                                float top,
+                                float width,
+                                float height,
+                                float dx,
+                                float dy,
+                                GameObject target,
+                                SweepHit hit) {
+        float targetLeft = target.getTopLeftCorner().x();
+        float targetTop = target.getTopLeftCorner().y();
+        return sweep(left,
+                top,
+                width,
+                height,
+                dx,
+                dy,
+                targetLeft,
+                targetTop,
+                targetLeft + target.getDimensions().x(),
+                targetTop + target.getDimensions().y(),
+                target,
+                -1,
+                -1,
+                hit);
+    }
+
+    /**
+     * Sweeps a moving box against a cell of the brick grid, given by the box of its brick
+     * rather than by a Brick object, and records the impact in a SweepHit like sweep does.
+     *
+     * @param left         The left edge of the moving box at the start of the step.
+     * @param top          The top edge of the moving box at the start of the step.
+     * @param width        The width of the moving box.
+     * @param height       The height of the moving box.
+     * @param dx           The horizontal displacement of the moving box over the step.
+     * @param dy           The vertical displacement of the moving box over the step.
+     * @param targetLeft   The left edge of the cell's brick.
+     * @param targetTop    The top edge of the cell's brick.
+     * @param targetWidth  The width of the cell's brick.
+     * @param targetHeight The height of the cell's brick.
+     * @param col          The column of the cell.
+     * @param row          The row of the cell.
+     * @param hit          The earliest impact found so far.
+     * @return True if an earlier impact was found and recorded.
+     */
+    public static boolean sweepCell(float left,
+                                    float top,
+                                    float width,
+                                    float height,
+                                    float dx,
+                                    float dy,
+                                    float targetLeft,
+                                    float targetTop,
+                                    float targetWidth,
+                                    float targetHeight,
+                                    int col,
+                                    int row,
+                                    SweepHit hit) {
+        return sweep(left,
+                top,
+                width,
+                height,
+                dx,
+                dy,
+                targetLeft,
+                targetTop,
+                targetLeft + targetWidth,
+                targetTop + targetHeight,
+                null,
+                col,
+                row,
+                hit);
+    }
+
+    //The target is either an object, or (if the object is null) a cell of the brick grid.
+    private static boolean sweep(float left,
+                                 float top,
+                                 float width,
+                                 float height,
+                                 float dx,
+                                 float dy,
+                                 float targetLeft,
+                                 float targetTop,
+                                 float targetRight,
+                                 float targetBottom,
+                                 GameObject target,
+                                 int col,
+                                 int row,
+                                 SweepHit hit) {
+        //The times at which the boxes start and stop overlapping along each axis.
+        float entryX;
+        float exitX;
+        if (dx > 0) {
+            entryX = (targetLeft - (left + width)) / dx;
+            exitX = (targetRight - left) / dx;
+        } else if (dx < 0) {
+            entryX = (targetRight - left) / dx;
+            exitX = (targetLeft - (left + width)) / dx;
+        } else if (left + width > targetLeft && left < targetRight) {
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else {
+            return false;
+        }
+
+        float entryY;
+        float exitY;
+        if (dy > 0) {
+            entryY = (targetTop - (top + height)) / dy;
+            exitY = (targetBottom - top) / dy;
+        } else if (dy < 0) {
+            entryY = (targetBottom - top) / dy;
+            exitY = (targetTop - (top + height)) / dy;
+        } else if (top + height > targetTop && top < targetBottom) {
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else {
+            return false;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry > exit || entry < 0 || entry > 1) {
+            return false;
+        }
+        //The boxes meet along the axis they start overlapping on last.
+        if (target == null) {
+            return hit.offerCell(entry, entryX > entryY, col, row);
+        }
+        return hit.offer(entry, entryX > entryY, target);
+    }
+}
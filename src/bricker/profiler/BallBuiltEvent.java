@@ -0,0 +1,31 @@
+package bricker.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a ball (the main ball or a puck) being built by the
+ * BallFactory, so that bursts of pucks show up next to the frames they slowed.
+ */
+@Name("bricker.BallBuilt")
+@Label("Ball Built")
+@Description("A ball was built")
+@Category({"Bricker", "Objects"})
+@StackTrace(false)
+public class BallBuiltEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the ball's BallType.
+     */
+    @Label("Ball Type")
+    public String ballType;
+
+    /**
+     * True if the ball was taken from the pool of released pucks rather than allocated.
+     */
+    @Label("Pooled")
+    public boolean pooled;
+}
@@ -0,0 +1,37 @@
+package bricker.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a brick being taken out of the grid, either by its own
+ * strategy or by an explosion.
+ */
+@Name("bricker.BrickDestroyed")
+@Label("Brick Destroyed")
+@Description("A brick was taken out of the grid")
+@Category({"Bricker", "Bricks"})
+@StackTrace(false)
+public class BrickDestroyedEvent extends jdk.jfr.Event {
+
+    /**
+     * The column of the brick's cell in the grid.
+     */
+    @Label("Column")
+    public int col;
+
+    /**
+     * The row of the brick's cell in the grid.
+     */
+    @Label("Row")
+    public int row;
+
+    /**
+     * True if the brick was destroyed by an explosion's chain reaction.
+     */
+    @Label("Chain Reaction")
+    public boolean chainReaction;
+}
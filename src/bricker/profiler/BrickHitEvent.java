@@ -0,0 +1,44 @@
+package bricker.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a brick being hit, emitted before the brick's strategy runs
+ * (see StrategyEvent for the strategy itself). Like every event of the game, it has no
+ * stack trace, so that it's cheap enough to leave enabled.
+ */
+@Name("bricker.BrickHit")
+@Label("Brick Hit")
+@Description("A brick was hit, and its strategy is about to run")
+@Category({"Bricker", "Bricks"})
+@StackTrace(false)
+public class BrickHitEvent extends jdk.jfr.Event {
+
+    /**
+     * The class of the brick's strategy.
+     */
+    @Label("Strategy")
+    public Class<?> strategy;
+
+    /**
+     * The column of the brick's cell in the grid.
+     */
+    @Label("Column")
+    public int col;
+
+    /**
+     * The row of the brick's cell in the grid.
+     */
+    @Label("Row")
+    public int row;
+
+    /**
+     * The class of the object that hit the brick.
+     */
+    @Label("Hit By")
+    public Class<?> hitBy;
+}
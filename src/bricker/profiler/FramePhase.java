@@ -0,0 +1,43 @@
+package bricker.profiler;
+
+/**
+ * The parts of a frame the FrameProfiler times, each into a histogram of its own.
+ * The phases of a physics step are timed once per step, so a frame that runs several
+ * steps records each of them several times.
+ */
+public enum FramePhase {
+    /**
+     * A whole frame, from the start of one update to the start of the next, including
+     * the drawing and whatever the engine does in between.
+     */
+    FRAME,
+    /**
+     * Moving the balls in parallel, before the engine's update.
+     */
+    BALLS,
+    /**
+     * The engine's update of every game object, including its collisions.
+     */
+    ENGINE,
+    /**
+     * Sweeping the balls against the paddles, the walls and the bricks.
+     */
+    COLLISIONS,
+    /**
+     * The strategies of the bricks hit during a step, summed over the step. They run
+     * inside the other phases of the step, so their time is counted there as well.
+     */
+    STRATEGIES,
+    /**
+     * Checking whether the round was won or lost.
+     */
+    GAME_END,
+    /**
+     * Checking whether the main ball fell below the screen.
+     */
+    STRIKE,
+    /**
+     * Drawing the frame.
+     */
+    RENDER
+}
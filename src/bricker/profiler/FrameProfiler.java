@@ -0,0 +1,158 @@
+package bricker.profiler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Times the phases of every frame (see FramePhase) into a LatencyHistogram per phase.
+ * The profiler is off unless enabled; while it's off, timing a phase is a single check of
+ * a field, so the game pays close to nothing for it. Enabling it starts the histograms
+ * afresh.
+ * A phase is timed by calling start before it and end, with start's result, after it.
+ * The strategies of the bricks are timed with startStrategy and endStrategy instead,
+ * since a strategy may hit other bricks (and run their strategies) before it ends: only
+ * the outermost strategy is timed, and the strategies of a step are summed up and recorded
+ * by endStep.
+ * The profiler also reads how many bytes the game's thread allocated, where the JVM
+ * tells (see getAllocatedBytes).
+ * Like the game itself, a FrameProfiler is meant to be used by a single thread.
+ */
+public class FrameProfiler {
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[FramePhase.values().length];
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private boolean enabled = false;
+    private long lastFrameStart = 0;
+    private int strategyDepth = 0;
+    private long stepStrategyNanos = 0;
+
+    /**
+     * Constructs a FrameProfiler, which is off until enabled.
+     */
+    public FrameProfiler() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        } else {
+            allocationBean = null;
+        }
+    }
+
+    /**
+     * Turns the profiler on or off. Turning it on forgets everything recorded before.
+     *
+     * @param enabled True to time the frames from now on.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && !this.enabled) {
+            for (LatencyHistogram histogram : histograms) {
+                histogram.reset();
+            }
+            lastFrameStart = 0;
+            strategyDepth = 0;
+            stepStrategyNanos = 0;
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return True if the profiler is timing the frames.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks the start of a frame, and records the time since the previous frame started
+     * as a FRAME.
+     */
+    public void startFrame() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastFrameStart != 0) {
+            histograms[FramePhase.FRAME.ordinal()].record(now - lastFrameStart);
+        }
+        lastFrameStart = now;
+    }
+
+    /**
+     * Marks the start of a phase.
+     *
+     * @return The time the phase started at, to pass to end.
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time a phase took.
+     *
+     * @param phase The phase.
+     * @param start What start returned when the phase started.
+     */
+    public void end(FramePhase phase, long start) {
+        if (enabled) {
+            histograms[phase.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Marks the start of a brick's strategy.
+     *
+     * @return The time the strategy started at, to pass to endStrategy (or 0 if the
+     * strategy runs inside another one, and isn't timed on its own).
+     */
+    public long startStrategy() {
+        if (!enabled) {
+            return 0;
+        }
+        return strategyDepth++ == 0 ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Marks the end of a brick's strategy.
+     *
+     * @param start What startStrategy returned when the strategy started.
+     */
+    public void endStrategy(long start) {
+        if (enabled && --strategyDepth == 0) {
+            stepStrategyNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Marks the end of a physics step, recording the time the step's strategies took
+     * (possibly none) as STRATEGIES.
+     */
+    public void endStep() {
+        if (enabled) {
+            histograms[FramePhase.STRATEGIES.ordinal()].record(stepStrategyNanos);
+            stepStrategyNanos = 0;
+        }
+    }
+
+    /**
+     * @param phase A phase.
+     * @return The histogram of the phase's times since the profiler was enabled.
+     */
+    public LatencyHistogram getHistogram(FramePhase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * @return The amount of bytes the calling thread allocated so far, or -1 if the JVM
+     * can't tell. The game's other threads (such as those moving the balls) aren't counted.
+     */
+    public long getAllocatedBytes() {
+        if (allocationBean == null) {
+            return -1;
+        }
+        return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
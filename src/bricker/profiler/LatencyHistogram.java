@@ -0,0 +1,96 @@
+package bricker.profiler;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of durations, in nanoseconds, that records a duration with a few shifts and
+ * an array increment, and never allocates. Durations are counted in buckets whose width
+ * grows with the duration: every power of two is split into SUB_BUCKETS buckets, so a
+ * percentile is read to within about 6% of the recorded durations, from a nanosecond up
+ * to minutes. The largest duration is kept exactly.
+ * Like the game itself, a LatencyHistogram is meant to be used by a single thread.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    //Durations up to 2^MAX_BITS ns (about 18 minutes); longer ones count as the longest bucket.
+    private static final int MAX_BITS = 40;
+
+    private final long[] counts = new long[bucketOf((1L << MAX_BITS) - 1) + 1];
+    private long count = 0;
+    private long max = 0;
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration, in nanoseconds. Negative durations count as 0.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, Math.min(nanos, (1L << MAX_BITS) - 1));
+        counts[bucketOf(nanos)]++;
+        count++;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * Finds the duration that a given fraction of the recorded durations don't exceed.
+     *
+     * @param fraction The fraction, between 0 and 1 (0.99 for the 99th percentile).
+     * @return The highest duration of the bucket the percentile falls in, in nanoseconds
+     * (never more than getMax), or 0 if nothing was recorded.
+     */
+    public long getPercentile(double fraction) {
+        long rank = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && seen > 0) {
+                return Math.min(max, highestValueOf(bucket));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * @return The longest recorded duration, in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The amount of recorded durations.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Forgets every recorded duration.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        max = 0;
+    }
+
+    //Durations below SUB_BUCKETS have a bucket each; above that, a duration's bucket is its
+    // power of two followed by its next SUB_BUCKET_BITS bits.
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos)) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lowest = ((long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1)))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,40 @@
+package bricker.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A Flight Recorder event for the game's FrameBudgetGovernor changing how much load it
+ * sheds, either because the frames kept running over their budget or because they have
+ * been well within it for a while.
+ */
+@Name("bricker.LoadShedding")
+@Label("Load Shedding")
+@Description("The frame budget governor changed its shedding level")
+@Category({"Bricker", "Frames"})
+@StackTrace(false)
+public class LoadSheddingEvent extends jdk.jfr.Event {
+
+    /**
+     * The name of the SheddingLevel before the change.
+     */
+    @Label("Previous Level")
+    public String previousLevel;
+
+    /**
+     * The name of the SheddingLevel after the change.
+     */
+    @Label("Level")
+    public String level;
+
+    /**
+     * How long the frame that made the governor change its level took.
+     */
+    @Label("Frame Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long frameTime;
+}
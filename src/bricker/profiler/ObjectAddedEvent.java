@@ -0,0 +1,31 @@
+package bricker.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a game object being added to the game. The object joins
+ * the game at the end of the physics step (see GameObjectCommandBuffer).
+ */
+@Name("bricker.ObjectAdded")
+@Label("Object Added")
+@Description("A game object was added to the game")
+@Category({"Bricker", "Objects"})
+@StackTrace(false)
+public class ObjectAddedEvent extends jdk.jfr.Event {
+
+    /**
+     * The class of the game object.
+     */
+    @Label("Object Class")
+    public Class<?> objectClass;
+
+    /**
+     * The layer the game object was added to.
+     */
+    @Label("Layer")
+    public int layer;
+}
@@ -0,0 +1,31 @@
+package bricker.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a game object being removed from the game. The object
+ * leaves the game at the end of the physics step (see GameObjectCommandBuffer).
+ */
+@Name("bricker.ObjectRemoved")
+@Label("Object Removed")
+@Description("A game object was removed from the game")
+@Category({"Bricker", "Objects"})
+@StackTrace(false)
+public class ObjectRemovedEvent extends jdk.jfr.Event {
+
+    /**
+     * The class of the game object.
+     */
+    @Label("Object Class")
+    public Class<?> objectClass;
+
+    /**
+     * The layer the game object was removed from.
+     */
+    @Label("Layer")
+    public int layer;
+}
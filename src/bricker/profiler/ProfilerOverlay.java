@@ -0,0 +1,161 @@
+package bricker.profiler;
+
+import bricker.audio.AudioMixer;
+import bricker.gameobjects.brick.BrickHandler;
+import bricker.main.FrameBudgetGovernor;
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
+import danogl.util.Vector2;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+
+/**
+ * An overlay, meant for the UI layer, that shows what a FrameProfiler measured: the
+ * median, 99th percentile and longest time of every phase of a frame, how many objects
+ * every layer of the game holds, how fast the game's thread allocates memory, and what the
+ * game's FrameBudgetGovernor shed.
+ * The text is only rebuilt every REFRESH_INTERVAL seconds, and the overlay is only in the
+ * game while it's shown, so a hidden overlay costs nothing.
+ */
+public class ProfilerOverlay extends GameObject {
+
+    private static final float REFRESH_INTERVAL = 0.5f;
+    private static final double NANOS_IN_MILLI = 1e6;
+    private static final double NANOS_IN_SECOND = 1e9;
+    private static final double BYTES_IN_MEGABYTE = 1024 * 1024;
+    private static final int LINE_HEIGHT = 14;
+    private static final Color TEXT_COLOR = Color.GREEN;
+    private static final String[] LAYER_NAMES = {"background", "static", "bricks", "default", "foreground", "ui"};
+    private static final int[] LAYERS = {Layer.BACKGROUND,
+            Layer.STATIC_OBJECTS,
+            BrickHandler.BRICK_LAYER,
+            Layer.DEFAULT,
+            Layer.FOREGROUND,
+            Layer.UI};
+
+    private final FrameProfiler profiler;
+    private final GameObjectCollection gameObjects;
+    private final FrameBudgetGovernor governor;
+    private final AudioMixer audioMixer;
+    private final String[] lines = new String[FramePhase.values().length + 3];
+    private float sinceRefresh = REFRESH_INTERVAL;
+    private long lastRefreshTime = 0;
+    private long lastAllocatedBytes = -1;
+
+    /**
+     * Constructs a ProfilerOverlay, drawn from the top-left corner of the window.
+     *
+     * @param topLeftCorner The top-left corner of the text, in window coordinates.
+     * @param profiler      The profiler whose measurements are shown.
+     * @param gameObjects   The game's objects, which are counted by layer.
+     * @param governor      The governor whose shedding is shown.
+     * @param audioMixer    The mixer whose merged sounds are shown.
+     */
+    public ProfilerOverlay(Vector2 topLeftCorner,
+                           FrameProfiler profiler,
+                           GameObjectCollection gameObjects,
+                           FrameBudgetGovernor governor,
+                           AudioMixer audioMixer) {
+        super(topLeftCorner, Vector2.ZERO, null);
+        this.profiler = profiler;
+        this.gameObjects = gameObjects;
+        this.governor = governor;
+        this.audioMixer = audioMixer;
+        setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+    }
+
+    /**
+     * Rebuilds the text every REFRESH_INTERVAL seconds.
+     *
+     * @param deltaTime The time, in seconds, since the last update.
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        sinceRefresh += deltaTime;
+        if (sinceRefresh >= REFRESH_INTERVAL) {
+            sinceRefresh = 0;
+            refresh();
+        }
+    }
+
+    /**
+     * Draws the text.
+     *
+     * @param g The graphics to draw on.
+     */
+    @Override
+    public void render(Graphics2D g) {
+        Color color = g.getColor();
+        g.setColor(TEXT_COLOR);
+        int left = Math.round(getTopLeftCorner().x());
+        int top = Math.round(getTopLeftCorner().y());
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i] != null) {
+                g.drawString(lines[i], left, top + ((i + 1) * LINE_HEIGHT));
+            }
+        }
+        g.setColor(color);
+    }
+
+    /**
+     * The overlay is only drawn, so it never collides through the game.
+     *
+     * @param other Any game object.
+     * @return Always false.
+     */
+    @Override
+    public boolean shouldCollideWith(GameObject other) {
+        return false;
+    }
+
+    private void refresh() {
+        int line = 0;
+        for (FramePhase phase : FramePhase.values()) {
+            LatencyHistogram histogram = profiler.getHistogram(phase);
+            lines[line++] = String.format("%-10s p50 %7.3f  p99 %7.3f  max %7.3f ms  (%d)",
+                    phase.name().toLowerCase(),
+                    histogram.getPercentile(0.5) / NANOS_IN_MILLI,
+                    histogram.getPercentile(0.99) / NANOS_IN_MILLI,
+                    histogram.getMax() / NANOS_IN_MILLI,
+                    histogram.getCount());
+        }
+
+        StringBuilder counts = new StringBuilder("objects");
+        for (int i = 0; i < LAYERS.length; i++) {
+            int count = 0;
+            for (GameObject ignored : gameObjects.objectsInLayer(LAYERS[i])) {
+                count++;
+            }
+            counts.append(' ').append(LAYER_NAMES[i]).append(' ').append(count);
+        }
+        lines[line++] = counts.toString();
+
+        lines[line++] = String.format("shedding %s (up %d, down %d, %d frames over %.1f ms)"
+                        + "  deferred %d  capped %d  merged pucks %d sounds %d",
+                governor.getLevel().name().toLowerCase(),
+                governor.getEscalations(),
+                governor.getRelaxations(),
+                governor.getFramesOverBudget(),
+                governor.getBudgetNanos() / NANOS_IN_MILLI,
+                governor.getSpawnsDeferred(),
+                governor.getPucksCapped(),
+                governor.getPucksMerged(),
+                audioMixer.getMergedCount());
+
+        long now = System.nanoTime();
+        long allocatedBytes = profiler.getAllocatedBytes();
+        if (allocatedBytes < 0) {
+            lines[line] = "allocation rate unknown";
+        } else if (lastAllocatedBytes >= 0 && now > lastRefreshTime) {
+            double seconds = (now - lastRefreshTime) / NANOS_IN_SECOND;
+            lines[line] = String.format("allocation %.1f MB/s",
+                    (allocatedBytes - lastAllocatedBytes) / BYTES_IN_MEGABYTE / seconds);
+        }
+        lastAllocatedBytes = allocatedBytes;
+        lastRefreshTime = now;
+    }
+}
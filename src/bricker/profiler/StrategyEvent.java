@@ -0,0 +1,26 @@
+package bricker.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event for a collision strategy running, lasting as long as it ran.
+ * Strategies that run other strategies (such as a DoubleStrategy) emit an event for each
+ * of them as well, nested in their own, and so do the bricks a chain reaction hits.
+ */
+@Name("bricker.Strategy")
+@Label("Strategy")
+@Description("A collision strategy ran")
+@Category({"Bricker", "Bricks"})
+@StackTrace(false)
+public class StrategyEvent extends jdk.jfr.Event {
+
+    /**
+     * The class of the strategy.
+     */
+    @Label("Strategy")
+    public Class<?> strategy;
+}
@@ -0,0 +1,266 @@
+package bricker.replay;
+
+import bricker.brick_strategies.StrategyWeights;
+import danogl.util.Vector2;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A recorded round of the game: everything needed to play it again exactly the same.
+ * A round is fully determined by its seed, its setup (grid size, window dimensions and
+ * strategy table) and the keys held during each of its physics steps, so that's all the
+ * log holds.
+ * The keys the game reads are packed into a bit mask per step, and the masks are
+ * run-length encoded, since they only change when the player presses or releases a key.
+ * A minute of play usually takes a few hundred bytes.
+ * The file format is:
+ * - A header: the MAGIC number, the FORMAT_VERSION, the round's seed, the grid's columns
+ *   and rows, the window's width and height, the strategy table as a string, and the path
+ *   of the level file the grid was loaded from (an empty string for a random grid).
+ * - Runs: a key mask byte, followed by the amount of steps it was held for, as an
+ *   unsigned LEB128 varint.
+ * - If the round ended while recording, a trailer: the END_OF_RUNS byte, then the
+ *   amount of steps the round took, the bricks left and the health points left, which a
+ *   replay should end with as well.
+ */
+public class InputLog {
+
+    /**
+     * The first four bytes of every log ("BRKR").
+     */
+    public static final int MAGIC = 0x42524B52;
+    /**
+     * The version of the file format. Version 2 logs rounds whose random choices are drawn
+     * from a GameRandom; a version 1 log can't be replayed the same any more. Version 3
+     * adds the level file to the header. Version 4 logs rounds whose DoubleStrategy bricks
+     * draw their strategies when they are built, rather than when they are hit. Version 5
+     * logs rounds whose strategies are drawn from the alias table of StrategyWeights.
+     * Version 6 logs rounds whose DoubleStrategy bricks activate a strategy chosen twice
+     * only once.
+     */
+    public static final short FORMAT_VERSION = 6;
+    /**
+     * The keys the game reads, by the bit that stands for them in a key mask.
+     */
+    public static final int[] RECORDED_KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_W};
+    /**
+     * The byte marking the end of the runs and the start of the trailer. It isn't a valid
+     * key mask, since only the lowest RECORDED_KEYS.length bits of a mask are used.
+     */
+    static final byte END_OF_RUNS = (byte) 0x80;
+
+    private final long seed;
+    private final int cols;
+    private final int rows;
+    private final Vector2 windowDimensions;
+    private final StrategyWeights strategyWeights;
+    private final String levelPath;
+    private final byte[] runMasks;
+    private final int[] runLengths;
+    private final int runCount;
+    private final long stepCount;
+    private final boolean ended;
+    private final long endSteps;
+    private final int endBricks;
+    private final int endHealthPoints;
+
+    private InputLog(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an input log");
+        }
+        short version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported input log version " + version);
+        }
+        seed = in.readLong();
+        cols = in.readInt();
+        rows = in.readInt();
+        windowDimensions = new Vector2(in.readFloat(), in.readFloat());
+        strategyWeights = StrategyWeights.parse(in.readUTF());
+        String level = in.readUTF();
+        levelPath = level.isEmpty() ? null : level;
+
+        byte[] masks = new byte[64];
+        int[] lengths = new int[64];
+        int count = 0;
+        long steps = 0;
+        boolean sawEnd = false;
+        long trailerSteps = 0;
+        int trailerBricks = 0;
+        int trailerHealthPoints = 0;
+        while (true) {
+            int mask = in.read();
+            if (mask < 0) {
+                break;
+            }
+            if ((byte) mask == END_OF_RUNS) {
+                sawEnd = true;
+                trailerSteps = in.readLong();
+                trailerBricks = in.readInt();
+                trailerHealthPoints = in.readInt();
+                break;
+            }
+            int length = readVarInt(in);
+            if (count == masks.length) {
+                masks = Arrays.copyOf(masks, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+            }
+            masks[count] = (byte) mask;
+            lengths[count] = length;
+            count++;
+            steps += length;
+        }
+        runMasks = masks;
+        runLengths = lengths;
+        runCount = count;
+        stepCount = steps;
+        ended = sawEnd;
+        endSteps = trailerSteps;
+        endBricks = trailerBricks;
+        endHealthPoints = trailerHealthPoints;
+    }
+
+    /**
+     * Reads a log from a file.
+     *
+     * @param path The path of the log file.
+     * @return The log.
+     * @throws IOException if the file can't be read, or isn't a log this version understands.
+     */
+    public static InputLog read(String path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            return new InputLog(in);
+        }
+    }
+
+    /**
+     * @param keyMask A key mask from the log.
+     * @param key     The index of a key in RECORDED_KEYS.
+     * @return True if the key is held in the mask.
+     */
+    public static boolean isHeld(int keyMask, int key) {
+        return (keyMask & (1 << key)) != 0;
+    }
+
+    /**
+     * @return The seed of the round.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The number of columns of bricks in the round.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return The number of rows of bricks in the round.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The dimensions of the window the round was played in.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * @return The strategy table the round was played with.
+     */
+    public StrategyWeights getStrategyWeights() {
+        return strategyWeights;
+    }
+
+    /**
+     * @return The path of the level file the round's grid was loaded from, or null if the
+     * round was played on a full grid of random bricks.
+     */
+    public String getLevelPath() {
+        return levelPath;
+    }
+
+    /**
+     * @return The amount of runs of unchanged keys in the log.
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * @param run The index of a run.
+     * @return The keys held during the run.
+     */
+    public int getRunMask(int run) {
+        return runMasks[run];
+    }
+
+    /**
+     * @param run The index of a run.
+     * @return The amount of physics steps the run lasted.
+     */
+    public int getRunLength(int run) {
+        return runLengths[run];
+    }
+
+    /**
+     * @return The amount of physics steps recorded.
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * @return True if the round ended while it was recorded, so the log has a trailer.
+     */
+    public boolean hasEnded() {
+        return ended;
+    }
+
+    /**
+     * @return The amount of steps the round took, as recorded in the trailer.
+     */
+    public long getEndSteps() {
+        return endSteps;
+    }
+
+    /**
+     * @return The amount of bricks left when the round ended, as recorded in the trailer.
+     */
+    public int getEndBricks() {
+        return endBricks;
+    }
+
+    /**
+     * @return The health points left when the round ended, as recorded in the trailer.
+     */
+    public int getEndHealthPoints() {
+        return endHealthPoints;
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated run length");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed run length");
+    }
+}
@@ -0,0 +1,139 @@
+package bricker.replay;
+
+import bricker.brick_strategies.StrategyWeights;
+import danogl.gui.UserInputListener;
+import danogl.util.Vector2;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Records the keys held during every physics step of a round into an InputLog file.
+ * Steps with the same keys are counted rather than written, and a run is only written
+ * (and flushed to the file) once the keys change, so recording costs next to nothing
+ * per step, and a crash loses at most the run in progress.
+ */
+public class InputRecorder {
+
+    private final DataOutputStream out;
+    private int currentMask = -1;
+    private int currentLength = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates a log file and writes its header.
+     *
+     * @param path             The path of the log file. An existing file is overwritten.
+     * @param seed             The seed of the round.
+     * @param cols             The number of columns of bricks in the round.
+     * @param rows             The number of rows of bricks in the round.
+     * @param levelPath        The path of the level file the round's grid was loaded from,
+     *                         or null if it's a full grid of random bricks.
+     * @param windowDimensions The dimensions of the window the round is played in.
+     * @param strategyWeights  The strategy table the round is played with.
+     * @throws IOException if the file can't be created or written.
+     */
+    public InputRecorder(String path,
+                         long seed,
+                         int cols,
+                         int rows,
+                         String levelPath,
+                         Vector2 windowDimensions,
+                         StrategyWeights strategyWeights) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+        out.writeInt(InputLog.MAGIC);
+        out.writeShort(InputLog.FORMAT_VERSION);
+        out.writeLong(seed);
+        out.writeInt(cols);
+        out.writeInt(rows);
+        out.writeFloat(windowDimensions.x());
+        out.writeFloat(windowDimensions.y());
+        out.writeUTF(strategyWeights.toString());
+        out.writeUTF(levelPath == null ? "" : levelPath);
+        out.flush();
+    }
+
+    /**
+     * Records the keys held during a physics step.
+     *
+     * @param inputListener The listener the game reads the keys from during the step.
+     */
+    public void record(UserInputListener inputListener) {
+        int mask = 0;
+        for (int key = 0; key < InputLog.RECORDED_KEYS.length; key++) {
+            if (inputListener.isKeyPressed(InputLog.RECORDED_KEYS[key])) {
+                mask |= 1 << key;
+            }
+        }
+        if (mask == currentMask && currentLength < Integer.MAX_VALUE) {
+            currentLength++;
+            return;
+        }
+        writeRun();
+        currentMask = mask;
+        currentLength = 1;
+    }
+
+    /**
+     * Writes the run in progress, followed by a trailer describing how the round ended,
+     * and closes the file.
+     *
+     * @param steps        The amount of steps the round took.
+     * @param bricks       The amount of bricks left.
+     * @param healthPoints The health points left.
+     */
+    public void end(long steps, int bricks, int healthPoints) {
+        if (closed) {
+            return;
+        }
+        writeRun();
+        try {
+            out.writeByte(InputLog.END_OF_RUNS);
+            out.writeLong(steps);
+            out.writeInt(bricks);
+            out.writeInt(healthPoints);
+        } catch (IOException e) {
+            System.err.println("Couldn't write the end of the input log: " + e.getMessage());
+        }
+        close();
+    }
+
+    /**
+     * Writes the run in progress and closes the file, without a trailer (for a round that
+     * was left before it ended).
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        writeRun();
+        closed = true;
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Couldn't close the input log: " + e.getMessage());
+        }
+    }
+
+    private void writeRun() {
+        if (closed || currentLength == 0) {
+            return;
+        }
+        try {
+            out.writeByte(currentMask);
+            int length = currentLength;
+            while ((length & ~0x7F) != 0) {
+                out.writeByte((length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+            out.writeByte(length);
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Couldn't write to the input log, so recording stopped: " + e.getMessage());
+            closed = true;
+        }
+        currentLength = 0;
+    }
+}
@@ -0,0 +1,163 @@
+package bricker.replay;
+
+import bricker.headless.HeadlessInputListener;
+import bricker.headless.HeadlessSession;
+import bricker.level.LevelFile;
+import bricker.main.BrickerGameManager;
+import bricker.snapshot.GameSnapshot;
+
+import java.io.IOException;
+
+/**
+ * Entry point for replaying a recorded round headless, as fast as the CPU allows, to
+ * profile it. The round is played again from its seed, one physics step per tick, with the
+ * recorded keys held during every step, so it plays out exactly like it did when recorded.
+ * The runner reports the wall time spent per step and the slowest steps (by their index,
+ * so a profiler can be pointed at them), and whether the replay ended the way the recorded
+ * round did. The runner can also save a snapshot of the round after any step, so a slow
+ * part of a long round can be resumed (see bricker.headless.HeadlessRunner) rather than
+ * played up to.
+ */
+public class ReplayRunner {
+
+    private static final int SLOWEST_STEPS_SHOWN = 5;
+    private static final double NANOS_IN_SECOND = 1e9;
+    private static final double NANOS_IN_MICRO = 1e3;
+
+    /**
+     * Replays a recorded round and prints its timing report.
+     *
+     * @param args Command-line arguments where:
+     *             args[0] specifies the path of the input log to replay.
+     *             args[1] specifies a step to save a snapshot of the round after (optional).
+     *             args[2] specifies the path of the snapshot file (required with args[1]).
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayRunner <input log> [<snapshot step> <snapshot file>]");
+            return;
+        }
+        InputLog log;
+        try {
+            log = InputLog.read(args[0]);
+        } catch (IOException e) {
+            System.err.println("Couldn't read the input log " + args[0] + ": " + e.getMessage());
+            return;
+        }
+
+        long snapshotStep = -1;
+        String snapshotPath = null;
+        if (args.length >= 3) {
+            snapshotStep = Long.parseLong(args[1]);
+            snapshotPath = args[2];
+        }
+
+        HeadlessSession session;
+        if (log.getLevelPath() != null) {
+            LevelFile level;
+            try {
+                level = LevelFile.open(log.getLevelPath());
+            } catch (IOException e) {
+                System.err.println("Couldn't load the level " + log.getLevelPath() + ": " + e.getMessage());
+                return;
+            }
+            if (level.getCols() != log.getCols() || level.getRows() != log.getRows()) {
+                System.err.println("The level " + log.getLevelPath() + " changed since the round was recorded.");
+                return;
+            }
+            session = new HeadlessSession(log.getWindowDimensions(), level, log.getSeed(), log.getStrategyWeights());
+        } else {
+            session = new HeadlessSession(log.getWindowDimensions(),
+                    log.getCols(),
+                    log.getRows(),
+                    log.getSeed(),
+                    log.getStrategyWeights());
+        }
+        HeadlessInputListener inputListener = session.getInputListener();
+
+        //The slowest steps so far, from the slowest down.
+        long[] slowestTimes = new long[SLOWEST_STEPS_SHOWN];
+        long[] slowestSteps = new long[SLOWEST_STEPS_SHOWN];
+        long step = 0;
+        long start = System.nanoTime();
+        boolean running = true;
+        for (int run = 0; run < log.getRunCount() && running; run++) {
+            holdKeys(inputListener, log.getRunMask(run));
+            for (int i = 0; i < log.getRunLength(run) && running; i++) {
+                long stepStart = System.nanoTime();
+                running = session.step(BrickerGameManager.PHYSICS_STEP);
+                insertSlowStep(slowestTimes, slowestSteps, System.nanoTime() - stepStart, step);
+                step++;
+                if (step == snapshotStep) {
+                    saveSnapshot(session, snapshotPath, step);
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("round:           %d x %d%s, seed %d, strategies %s%n",
+                log.getCols(),
+                log.getRows(),
+                log.getLevelPath() == null ? "" : " (" + log.getLevelPath() + ")",
+                log.getSeed(),
+                log.getStrategyWeights());
+        System.out.printf("steps:           %d of %d recorded%n", step, log.getStepCount());
+        System.out.printf("wall time:       %.3f s%n", elapsed / NANOS_IN_SECOND);
+        if (step > 0) {
+            System.out.printf("steps/second:    %.1f%n", step * NANOS_IN_SECOND / elapsed);
+            System.out.printf("mean step time:  %.2f us%n", elapsed / NANOS_IN_MICRO / step);
+            for (int i = 0; i < SLOWEST_STEPS_SHOWN && slowestTimes[i] > 0; i++) {
+                System.out.printf("slow step:       #%d took %.2f us%n",
+                        slowestSteps[i], slowestTimes[i] / NANOS_IN_MICRO);
+            }
+        }
+
+        if (log.hasEnded()) {
+            BrickerGameManager gameManager = session.getGameManager();
+            boolean matches = session.isOver()
+                    && gameManager.getSessionStats().getSteps() == log.getEndSteps()
+                    && gameManager.getBrickCount().value() == log.getEndBricks()
+                    && gameManager.getHealthPoints() == log.getEndHealthPoints();
+            System.out.printf("recorded end:    step %d, %d bricks, %d HP%n",
+                    log.getEndSteps(), log.getEndBricks(), log.getEndHealthPoints());
+            System.out.printf("replayed end:    step %d, %d bricks, %d HP (%s)%n",
+                    gameManager.getSessionStats().getSteps(),
+                    gameManager.getBrickCount().value(),
+                    gameManager.getHealthPoints(),
+                    matches ? "matches" : "DIVERGED");
+        }
+    }
+
+    private static void saveSnapshot(HeadlessSession session, String path, long step) {
+        try {
+            session.getGameManager().takeSnapshot().write(path);
+            System.out.printf("snapshot:        saved after step %d into %s%n", step, path);
+        } catch (IOException e) {
+            System.err.println("Couldn't save the snapshot into " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static void holdKeys(HeadlessInputListener inputListener, int keyMask) {
+        for (int key = 0; key < InputLog.RECORDED_KEYS.length; key++) {
+            if (InputLog.isHeld(keyMask, key)) {
+                inputListener.press(InputLog.RECORDED_KEYS[key]);
+            } else {
+                inputListener.release(InputLog.RECORDED_KEYS[key]);
+            }
+        }
+    }
+
+    private static void insertSlowStep(long[] slowestTimes, long[] slowestSteps, long time, long step) {
+        int i = slowestTimes.length;
+        while (i > 0 && slowestTimes[i - 1] < time) {
+            i--;
+        }
+        if (i == slowestTimes.length) {
+            return;
+        }
+        System.arraycopy(slowestTimes, i, slowestTimes, i + 1, slowestTimes.length - i - 1);
+        System.arraycopy(slowestSteps, i, slowestSteps, i + 1, slowestSteps.length - i - 1);
+        slowestTimes[i] = time;
+        slowestSteps[i] = step;
+    }
+}
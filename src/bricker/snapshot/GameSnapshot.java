@@ -0,0 +1,684 @@
+package bricker.snapshot;
+
+import bricker.brick_strategies.StrategyWeights;
+import bricker.gameobjects.ball.BallType;
+import bricker.gameobjects.brick.BrickHandler;
+import bricker.gameobjects.paddle.PaddleHandler;
+import bricker.gameobjects.pickup.PickupType;
+import danogl.util.Vector2;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The full state of a round between two physics steps: the brick grid, the counters,
+ * the balls, the paddles, the falling pickups and the state of the random generators.
+ * A snapshot is taken by BrickerGameManager.takeSnapshot and restored by
+ * BrickerGameManager.restoreSnapshot, into a game of the same setup (grid size, window
+ * dimensions and strategy table). Restoring a large level takes about as long as copying
+ * its grid, so a round can be resumed from just before a hotspot instead of played up to it.
+ * Snapshots are written to and read from files through memory-mapped buffers, so the grid,
+ * which takes nearly all of a large level's snapshot, is copied straight between the file
+ * and the chunks of the BrickHandler.
+ * The file format is:
+ * - A header: the MAGIC number, the FORMAT_VERSION, the grid's columns and rows, the
+ *   window's width and height, and the strategy table as a UTF-8 string (its length in
+ *   bytes first, as a short).
+ * - The random state: the round's seed, then the state of the game's random generator
+ *   and of the generator the seeds of later rounds are drawn from.
+ * - The counters: physics steps, pucks spawned and hearts collected so far, the health
+ *   points and the brick count.
+ * - The balls, in the game's order: their amount, then per ball its type's ordinal (a
+ *   byte), its top-left corner and its velocity.
+ * - The paddles, in the game's order: their amount, then per paddle its collision count
+ *   (PaddleHandler.MAIN_PADDLE_COUNTER for the user's paddle), its top-left corner and
+ *   its width.
+ * - The falling pickups, in the order they are moved in: their amount, then per pickup
+ *   its type's ordinal (a byte), its top-left corner and its falling speed.
+ * - The combinations of strategies that bricks built with the DoubleStrategy were resolved
+ *   to: their amount, then per combination its id in the grid and its mask (see
+ *   StrategyHandler.resolveCombination), a byte each.
+ * - The grid: a byte per cell, row by row, holding the id of the cell's strategy (a
+ *   predefined one or a combination) or BrickHandler.EMPTY_CELL.
+ * Every number is big-endian.
+ */
+public class GameSnapshot {
+
+    /**
+     * The first four bytes of every snapshot file ("BSNP").
+     */
+    public static final int MAGIC = 0x42534E50;
+    /**
+     * The version of the file format.
+     */
+    public static final short FORMAT_VERSION = 2;
+
+    private static final int BALL_BYTES = Byte.BYTES + (4 * Float.BYTES);
+    private static final int PADDLE_BYTES = Integer.BYTES + (3 * Float.BYTES);
+    private static final int PICKUP_BYTES = Byte.BYTES + (3 * Float.BYTES);
+    private static final int COMBINATION_BYTES = 2 * Byte.BYTES;
+    private static final BallType[] BALL_TYPES = BallType.values();
+    private static final PickupType[] PICKUP_TYPES = PickupType.values();
+
+    private final int cols;
+    private final int rows;
+    private final Vector2 windowDimensions;
+    private final StrategyWeights strategyWeights;
+    private ByteBuffer grid;
+
+    private long roundSeed;
+    private long randomState;
+    private long roundSeedsState;
+    private long steps;
+    private long pucksSpawned;
+    private long heartsCollected;
+    private int healthPoints;
+    private int brickCount;
+
+    private int ballCount = 0;
+    private byte[] ballTypes = new byte[8];
+    //Per ball: top-left x and y, velocity x and y.
+    private float[] ballValues = new float[8 * 4];
+    private int paddleCount = 0;
+    private int[] paddleCollisionCounts = new int[4];
+    //Per paddle: top-left x and y, width.
+    private float[] paddleValues = new float[4 * 3];
+    private int pickupCount = 0;
+    private byte[] pickupTypes = new byte[8];
+    //Per pickup: top-left x and y, falling speed.
+    private float[] pickupValues = new float[8 * 3];
+    private int combinationCount = 0;
+    private byte[] combinationIds = new byte[8];
+    private byte[] combinationMasks = new byte[8];
+
+    /**
+     * Constructs an empty snapshot of a round, to be filled in by the game taking it.
+     *
+     * @param cols             The number of columns of bricks in the round.
+     * @param rows             The number of rows of bricks in the round.
+     * @param windowDimensions The dimensions of the window the round is played in.
+     * @param strategyWeights  The strategy table the round is played with.
+     */
+    public GameSnapshot(int cols, int rows, Vector2 windowDimensions, StrategyWeights strategyWeights) {
+        this(cols, rows, windowDimensions, strategyWeights, ByteBuffer.allocate(cols * rows));
+    }
+
+    private GameSnapshot(int cols,
+                         int rows,
+                         Vector2 windowDimensions,
+                         StrategyWeights strategyWeights,
+                         ByteBuffer grid) {
+        this.cols = cols;
+        this.rows = rows;
+        this.windowDimensions = windowDimensions;
+        this.strategyWeights = strategyWeights;
+        this.grid = grid;
+    }
+
+    /**
+     * Sets the state of the round's random generators.
+     *
+     * @param roundSeed       The seed of the round.
+     * @param randomState     The state of the game's random generator.
+     * @param roundSeedsState The state of the generator the seeds of later rounds are drawn from.
+     */
+    public void setRandomState(long roundSeed, long randomState, long roundSeedsState) {
+        this.roundSeed = roundSeed;
+        this.randomState = randomState;
+        this.roundSeedsState = roundSeedsState;
+    }
+
+    /**
+     * Sets the round's counters.
+     *
+     * @param steps           The amount of physics steps played so far.
+     * @param pucksSpawned    The amount of pucks spawned so far.
+     * @param heartsCollected The amount of hearts collected so far.
+     * @param healthPoints    The player's health points.
+     * @param brickCount      The value of the brick counter.
+     */
+    public void setCounters(long steps, long pucksSpawned, long heartsCollected, int healthPoints, int brickCount) {
+        this.steps = steps;
+        this.pucksSpawned = pucksSpawned;
+        this.heartsCollected = heartsCollected;
+        this.healthPoints = healthPoints;
+        this.brickCount = brickCount;
+    }
+
+    /**
+     * Adds a ball, after the balls added before it.
+     *
+     * @param type          The type of the ball.
+     * @param topLeftCorner The ball's top-left corner.
+     * @param velocity      The ball's velocity.
+     */
+    public void addBall(BallType type, Vector2 topLeftCorner, Vector2 velocity) {
+        if (ballCount == ballTypes.length) {
+            ballTypes = Arrays.copyOf(ballTypes, ballCount * 2);
+            ballValues = Arrays.copyOf(ballValues, ballCount * 2 * 4);
+        }
+        ballTypes[ballCount] = (byte) type.ordinal();
+        ballValues[ballCount * 4] = topLeftCorner.x();
+        ballValues[ballCount * 4 + 1] = topLeftCorner.y();
+        ballValues[ballCount * 4 + 2] = velocity.x();
+        ballValues[ballCount * 4 + 3] = velocity.y();
+        ballCount++;
+    }
+
+    /**
+     * Adds a paddle, after the paddles added before it.
+     *
+     * @param collisionCount The paddle's collision count.
+     * @param topLeftCorner  The paddle's top-left corner.
+     * @param width          The paddle's width.
+     */
+    public void addPaddle(int collisionCount, Vector2 topLeftCorner, float width) {
+        if (paddleCount == paddleCollisionCounts.length) {
+            paddleCollisionCounts = Arrays.copyOf(paddleCollisionCounts, paddleCount * 2);
+            paddleValues = Arrays.copyOf(paddleValues, paddleCount * 2 * 3);
+        }
+        paddleCollisionCounts[paddleCount] = collisionCount;
+        paddleValues[paddleCount * 3] = topLeftCorner.x();
+        paddleValues[paddleCount * 3 + 1] = topLeftCorner.y();
+        paddleValues[paddleCount * 3 + 2] = width;
+        paddleCount++;
+    }
+
+    /**
+     * Adds a falling pickup, after the pickups added before it.
+     *
+     * @param type      The type of the pickup.
+     * @param topLeftX  The x coordinate of the pickup's top-left corner.
+     * @param topLeftY  The y coordinate of the pickup's top-left corner.
+     * @param velocityY The pickup's falling speed.
+     */
+    public void addPickup(PickupType type, float topLeftX, float topLeftY, float velocityY) {
+        if (pickupCount == pickupTypes.length) {
+            pickupTypes = Arrays.copyOf(pickupTypes, pickupCount * 2);
+            pickupValues = Arrays.copyOf(pickupValues, pickupCount * 2 * 3);
+        }
+        pickupTypes[pickupCount] = (byte) type.ordinal();
+        pickupValues[pickupCount * 3] = topLeftX;
+        pickupValues[pickupCount * 3 + 1] = topLeftY;
+        pickupValues[pickupCount * 3 + 2] = velocityY;
+        pickupCount++;
+    }
+
+    /**
+     * Adds a combination of strategies that bricks of the grid built with the DoubleStrategy
+     * were resolved to, so that they activate the same strategies once restored.
+     *
+     * @param id   The id the combination's bricks hold in the grid.
+     * @param mask The combination (see StrategyHandler.resolveCombination).
+     */
+    public void addCombination(byte id, int mask) {
+        if (combinationCount == combinationIds.length) {
+            combinationIds = Arrays.copyOf(combinationIds, combinationCount * 2);
+            combinationMasks = Arrays.copyOf(combinationMasks, combinationCount * 2);
+        }
+        combinationIds[combinationCount] = id;
+        combinationMasks[combinationCount] = (byte) mask;
+        combinationCount++;
+    }
+
+    /**
+     * Writes the snapshot to a file, through a memory-mapped buffer.
+     *
+     * @param path The path of the snapshot file. An existing file is overwritten.
+     * @throws IOException if the file can't be created or written.
+     * @throws IllegalStateException if a cell of the grid holds a strategy that is neither
+     *                               a predefined strategy nor an added combination (a brick
+     *                               that was built with a strategy of its own), which a
+     *                               snapshot can't store.
+     */
+    public void write(String path) throws IOException {
+        checkGrid();
+        byte[] table = strategyWeights.toString().getBytes(StandardCharsets.UTF_8);
+        long size = Integer.BYTES + Short.BYTES
+                + (2 * Integer.BYTES) + (2 * Float.BYTES) + Short.BYTES + table.length
+                + (3 * Long.BYTES)
+                + (3 * Long.BYTES) + (2 * Integer.BYTES)
+                + Integer.BYTES + ((long) ballCount * BALL_BYTES)
+                + Integer.BYTES + ((long) paddleCount * PADDLE_BYTES)
+                + Integer.BYTES + ((long) pickupCount * PICKUP_BYTES)
+                + Integer.BYTES + ((long) combinationCount * COMBINATION_BYTES)
+                + grid.capacity();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(MAGIC);
+            out.putShort(FORMAT_VERSION);
+            out.putInt(cols);
+            out.putInt(rows);
+            out.putFloat(windowDimensions.x());
+            out.putFloat(windowDimensions.y());
+            out.putShort((short) table.length);
+            out.put(table);
+
+            out.putLong(roundSeed);
+            out.putLong(randomState);
+            out.putLong(roundSeedsState);
+
+            out.putLong(steps);
+            out.putLong(pucksSpawned);
+            out.putLong(heartsCollected);
+            out.putInt(healthPoints);
+            out.putInt(brickCount);
+
+            out.putInt(ballCount);
+            for (int i = 0; i < ballCount; i++) {
+                out.put(ballTypes[i]);
+                for (int value = 0; value < 4; value++) {
+                    out.putFloat(ballValues[i * 4 + value]);
+                }
+            }
+            out.putInt(paddleCount);
+            for (int i = 0; i < paddleCount; i++) {
+                out.putInt(paddleCollisionCounts[i]);
+                for (int value = 0; value < 3; value++) {
+                    out.putFloat(paddleValues[i * 3 + value]);
+                }
+            }
+            out.putInt(pickupCount);
+            for (int i = 0; i < pickupCount; i++) {
+                out.put(pickupTypes[i]);
+                for (int value = 0; value < 3; value++) {
+                    out.putFloat(pickupValues[i * 3 + value]);
+                }
+            }
+            out.putInt(combinationCount);
+            for (int i = 0; i < combinationCount; i++) {
+                out.put(combinationIds[i]);
+                out.put(combinationMasks[i]);
+            }
+
+            out.put(grid.duplicate().clear());
+            out.force();
+        }
+    }
+
+    /**
+     * Reads a snapshot from a file, through a memory-mapped buffer. The grid isn't copied
+     * out of the mapped file; it is read straight from it when the snapshot is restored.
+     *
+     * @param path The path of the snapshot file.
+     * @return The snapshot.
+     * @throws IOException if the file can't be read, or isn't a snapshot this version understands.
+     */
+    public static GameSnapshot read(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            //The mapping stays valid after the channel is closed.
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(in);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot");
+        }
+    }
+
+    private static GameSnapshot read(ByteBuffer in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not a snapshot");
+        }
+        short version = in.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int cols = in.getInt();
+        int rows = in.getInt();
+        if (cols < 0 || rows < 0) {
+            throw new IOException("Malformed grid size " + cols + " x " + rows);
+        }
+        Vector2 windowDimensions = new Vector2(in.getFloat(), in.getFloat());
+        byte[] table = new byte[in.getShort() & 0xFFFF];
+        in.get(table);
+        StrategyWeights strategyWeights;
+        try {
+            strategyWeights = StrategyWeights.parse(new String(table, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed strategy table: " + e.getMessage());
+        }
+
+        long roundSeed = in.getLong();
+        long randomState = in.getLong();
+        long roundSeedsState = in.getLong();
+        long steps = in.getLong();
+        long pucksSpawned = in.getLong();
+        long heartsCollected = in.getLong();
+        int healthPoints = in.getInt();
+        int brickCount = in.getInt();
+
+        GameSnapshot snapshot = new GameSnapshot(cols,
+                rows,
+                windowDimensions,
+                strategyWeights,
+                ByteBuffer.allocate(0));
+        int ballCount = readCount(in, BALL_BYTES);
+        for (int i = 0; i < ballCount; i++) {
+            BallType type = BALL_TYPES[readOrdinal(in, BALL_TYPES.length)];
+            snapshot.addBall(type,
+                    new Vector2(in.getFloat(), in.getFloat()),
+                    new Vector2(in.getFloat(), in.getFloat()));
+        }
+        int paddleCount = readCount(in, PADDLE_BYTES);
+        for (int i = 0; i < paddleCount; i++) {
+            int collisionCount = in.getInt();
+            snapshot.addPaddle(collisionCount, new Vector2(in.getFloat(), in.getFloat()), in.getFloat());
+        }
+        int pickupCount = readCount(in, PICKUP_BYTES);
+        for (int i = 0; i < pickupCount; i++) {
+            PickupType type = PICKUP_TYPES[readOrdinal(in, PICKUP_TYPES.length)];
+            snapshot.addPickup(type, in.getFloat(), in.getFloat(), in.getFloat());
+        }
+        int combinationCount = readCount(in, COMBINATION_BYTES);
+        for (int i = 0; i < combinationCount; i++) {
+            byte id = in.get();
+            int mask = in.get();
+            if (id < StrategyWeights.STRATEGY_COUNT || mask <= 0) {
+                throw new IOException("Malformed snapshot: combination " + mask + " with id " + id);
+            }
+            snapshot.addCombination(id, mask);
+        }
+        if (snapshot.countMainBalls() != 1 || snapshot.countUserPaddles() != 1) {
+            throw new IOException("Malformed snapshot: it must have a single main ball and user paddle");
+        }
+        snapshot.setRandomState(roundSeed, randomState, roundSeedsState);
+        snapshot.setCounters(steps, pucksSpawned, heartsCollected, healthPoints, brickCount);
+
+        //The rest of the file is the grid, which stays in the mapped file.
+        if ((long) cols * rows != in.remaining()) {
+            throw new IOException("The grid doesn't match its size of " + cols + " x " + rows);
+        }
+        snapshot.grid = in.slice();
+
+        try {
+            snapshot.checkGrid();
+        } catch (IllegalStateException e) {
+            throw new IOException(e.getMessage());
+        }
+        return snapshot;
+    }
+
+    private static int readCount(ByteBuffer in, int bytesEach) throws IOException {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining() / bytesEach) {
+            throw new IOException("Malformed snapshot");
+        }
+        return count;
+    }
+
+    private static int readOrdinal(ByteBuffer in, int typeCount) throws IOException {
+        int ordinal = in.get();
+        if (ordinal < 0 || ordinal >= typeCount) {
+            throw new IOException("Malformed snapshot: unknown type " + ordinal);
+        }
+        return ordinal;
+    }
+
+    private int countMainBalls() {
+        int count = 0;
+        for (int i = 0; i < ballCount; i++) {
+            if (getBallType(i) == BallType.MAIN) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int countUserPaddles() {
+        int count = 0;
+        for (int i = 0; i < paddleCount; i++) {
+            if (paddleCollisionCounts[i] == PaddleHandler.MAIN_PADDLE_COUNTER) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void checkGrid() {
+        for (int i = 0; i < grid.capacity(); i++) {
+            byte id = grid.get(i);
+            if (id != BrickHandler.EMPTY_CELL && (id < 0 || id >= StrategyWeights.STRATEGY_COUNT)
+                    && !isCombination(id)) {
+                throw new IllegalStateException("The grid holds a strategy (id " + id +
+                        ") that isn't a predefined one or a combination, which a snapshot can't store");
+            }
+        }
+    }
+
+    private boolean isCombination(byte id) {
+        for (int i = 0; i < combinationCount; i++) {
+            if (combinationIds[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The number of columns of bricks in the round.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return The number of rows of bricks in the round.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The dimensions of the window the round is played in.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * @return The strategy table the round is played with.
+     */
+    public StrategyWeights getStrategyWeights() {
+        return strategyWeights;
+    }
+
+    /**
+     * @return The grid: a byte per cell, row by row, holding the id of the cell's strategy
+     * (a predefined one or a combination) or BrickHandler.EMPTY_CELL. The buffer's position is the first cell, and its
+     * capacity is the amount of cells. Taking the snapshot fills it in.
+     */
+    public ByteBuffer getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return The amount of combinations of strategies.
+     */
+    public int getCombinationCount() {
+        return combinationCount;
+    }
+
+    /**
+     * @param combination The index of a combination.
+     * @return The id the combination's bricks hold in the grid.
+     */
+    public byte getCombinationId(int combination) {
+        return combinationIds[combination];
+    }
+
+    /**
+     * @param combination The index of a combination.
+     * @return The combination's mask (see StrategyHandler.resolveCombination).
+     */
+    public int getCombinationMask(int combination) {
+        return combinationMasks[combination];
+    }
+
+    /**
+     * @return The seed of the round.
+     */
+    public long getRoundSeed() {
+        return roundSeed;
+    }
+
+    /**
+     * @return The state of the game's random generator.
+     */
+    public long getRandomState() {
+        return randomState;
+    }
+
+    /**
+     * @return The state of the generator the seeds of later rounds are drawn from.
+     */
+    public long getRoundSeedsState() {
+        return roundSeedsState;
+    }
+
+    /**
+     * @return The amount of physics steps played so far.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return The amount of pucks spawned so far.
+     */
+    public long getPucksSpawned() {
+        return pucksSpawned;
+    }
+
+    /**
+     * @return The amount of hearts collected so far.
+     */
+    public long getHeartsCollected() {
+        return heartsCollected;
+    }
+
+    /**
+     * @return The player's health points.
+     */
+    public int getHealthPoints() {
+        return healthPoints;
+    }
+
+    /**
+     * @return The value of the brick counter.
+     */
+    public int getBrickCount() {
+        return brickCount;
+    }
+
+    /**
+     * @return The amount of balls.
+     */
+    public int getBallCount() {
+        return ballCount;
+    }
+
+    /**
+     * @param ball The index of a ball.
+     * @return The type of the ball.
+     */
+    public BallType getBallType(int ball) {
+        return BALL_TYPES[ballTypes[ball]];
+    }
+
+    /**
+     * @param ball The index of a ball.
+     * @return The ball's top-left corner.
+     */
+    public Vector2 getBallTopLeftCorner(int ball) {
+        return new Vector2(ballValues[ball * 4], ballValues[ball * 4 + 1]);
+    }
+
+    /**
+     * @param ball The index of a ball.
+     * @return The ball's velocity.
+     */
+    public Vector2 getBallVelocity(int ball) {
+        return new Vector2(ballValues[ball * 4 + 2], ballValues[ball * 4 + 3]);
+    }
+
+    /**
+     * @return The amount of paddles.
+     */
+    public int getPaddleCount() {
+        return paddleCount;
+    }
+
+    /**
+     * @param paddle The index of a paddle.
+     * @return The paddle's collision count.
+     */
+    public int getPaddleCollisionCount(int paddle) {
+        return paddleCollisionCounts[paddle];
+    }
+
+    /**
+     * @param paddle The index of a paddle.
+     * @return The paddle's top-left corner.
+     */
+    public Vector2 getPaddleTopLeftCorner(int paddle) {
+        return new Vector2(paddleValues[paddle * 3], paddleValues[paddle * 3 + 1]);
+    }
+
+    /**
+     * @param paddle The index of a paddle.
+     * @return The paddle's width.
+     */
+    public float getPaddleWidth(int paddle) {
+        return paddleValues[paddle * 3 + 2];
+    }
+
+    /**
+     * @return The amount of falling pickups.
+     */
+    public int getPickupCount() {
+        return pickupCount;
+    }
+
+    /**
+     * @param pickup The index of a pickup.
+     * @return The type of the pickup.
+     */
+    public PickupType getPickupType(int pickup) {
+        return PICKUP_TYPES[pickupTypes[pickup]];
+    }
+
+    /**
+     * @param pickup The index of a pickup.
+     * @return The x coordinate of the pickup's top-left corner.
+     */
+    public float getPickupTopLeftX(int pickup) {
+        return pickupValues[pickup * 3];
+    }
+
+    /**
+     * @param pickup The index of a pickup.
+     * @return The y coordinate of the pickup's top-left corner.
+     */
+    public float getPickupTopLeftY(int pickup) {
+        return pickupValues[pickup * 3 + 1];
+    }
+
+    /**
+     * @param pickup The index of a pickup.
+     * @return The pickup's falling speed.
+     */
+    public float getPickupVelocityY(int pickup) {
+        return pickupValues[pickup * 3 + 2];
+    }
+}